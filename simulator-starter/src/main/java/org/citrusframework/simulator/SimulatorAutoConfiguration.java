@@ -26,13 +26,21 @@ import org.citrusframework.CitrusSpringContextProvider;
 import org.citrusframework.config.CitrusSpringConfig;
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.config.SimulatorImportSelector;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
 import org.citrusframework.simulator.correlation.CorrelationHandlerRegistry;
+import org.citrusframework.simulator.correlation.CorrelationHandlerRegistryMetrics;
 import org.citrusframework.simulator.dictionary.InboundXmlDataDictionary;
 import org.citrusframework.simulator.dictionary.OutboundXmlDataDictionary;
 import org.citrusframework.simulator.repository.RepositoryConfig;
 import org.citrusframework.simulator.scenario.ScenarioBeanNameGenerator;
 import org.citrusframework.variable.dictionary.json.JsonPathMappingDataDictionary;
+import org.citrusframework.simulator.service.ActivityMetrics;
+import org.citrusframework.simulator.service.ActivityService;
 import org.citrusframework.simulator.service.QueryFilterAdapterFactory;
+import org.citrusframework.simulator.service.RetentionMetrics;
+import org.citrusframework.simulator.service.RetentionService;
+import org.citrusframework.simulator.service.ScenarioExecutionMetrics;
+import org.citrusframework.simulator.service.ScenarioExecutionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -72,7 +80,7 @@ import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
         value = {
                 "META-INF/citrus-simulator.properties"
         }, ignoreResourceNotFound = true)
-@EnableConfigurationProperties(SimulatorConfigurationProperties.class)
+@EnableConfigurationProperties({SimulatorConfigurationProperties.class, SimulatorPersistenceConfigurationProperties.class})
 @ConditionalOnProperty(prefix = "citrus.simulator", value = "enabled", havingValue = "true", matchIfMissing = true)
 public class SimulatorAutoConfiguration {
 
@@ -113,7 +121,31 @@ public class SimulatorAutoConfiguration {
 
     @Bean
     public CorrelationHandlerRegistry correlationHandlerRegistry() {
-        return new CorrelationHandlerRegistry();
+        CorrelationHandlerRegistry correlationHandlerRegistry = new CorrelationHandlerRegistry();
+        correlationHandlerRegistry.setQueueCapacity(simulatorConfiguration.getCorrelationCapacity());
+        correlationHandlerRegistry.setTimeToLive(simulatorConfiguration.getCorrelationTtl());
+        correlationHandlerRegistry.setMinTimeToLive(Math.max(CorrelationHandlerRegistry.DEFAULT_MIN_TIME_TO_LIVE, simulatorConfiguration.getDefaultTimeout()));
+        return correlationHandlerRegistry;
+    }
+
+    @Bean
+    public CorrelationHandlerRegistryMetrics correlationHandlerRegistryMetrics(CorrelationHandlerRegistry correlationHandlerRegistry) {
+        return new CorrelationHandlerRegistryMetrics(correlationHandlerRegistry);
+    }
+
+    @Bean
+    public ScenarioExecutionMetrics scenarioExecutionMetrics(ScenarioExecutionService scenarioExecutionService) {
+        return new ScenarioExecutionMetrics(scenarioExecutionService);
+    }
+
+    @Bean
+    public ActivityMetrics activityMetrics(ActivityService activityService) {
+        return new ActivityMetrics(activityService);
+    }
+
+    @Bean
+    public RetentionMetrics retentionMetrics(RetentionService retentionService) {
+        return new RetentionMetrics(retentionService);
     }
 
     @Bean
@@ -46,6 +46,16 @@ public class SimulatorConfigurationProperties implements EnvironmentAware {
     private static final String SIMULATOR_TEMPLATE_VALIDATION_ENV = "CITRUS_SIMULATOR_TEMPLATE_VALIDATION";
     private static final String SIMULATOR_EXCEPTION_DELAY_PROPERTY = "citrus.simulator.exception.delay";
     private static final String SIMULATOR_EXCEPTION_DELAY_ENV = "CITRUS_SIMULATOR_EXCEPTION_DELAY";
+    private static final String SIMULATOR_ENDPOINT_CONSUMERS_PROPERTY = "citrus.simulator.endpoint.consumers";
+    private static final String SIMULATOR_ENDPOINT_CONSUMERS_ENV = "CITRUS_SIMULATOR_ENDPOINT_CONSUMERS";
+    private static final String SIMULATOR_EXECUTOR_MODE_PROPERTY = "citrus.simulator.executor.mode";
+    private static final String SIMULATOR_EXECUTOR_MODE_ENV = "CITRUS_SIMULATOR_EXECUTOR_MODE";
+    private static final String SIMULATOR_EXECUTOR_THREADS_PROPERTY = "citrus.simulator.executor.threads";
+    private static final String SIMULATOR_EXECUTOR_THREADS_ENV = "CITRUS_SIMULATOR_EXECUTOR_THREADS";
+    private static final String SIMULATOR_CORRELATION_CAPACITY_PROPERTY = "citrus.simulator.correlation.capacity";
+    private static final String SIMULATOR_CORRELATION_CAPACITY_ENV = "CITRUS_SIMULATOR_CORRELATION_CAPACITY";
+    private static final String SIMULATOR_CORRELATION_TTL_PROPERTY = "citrus.simulator.correlation.ttl";
+    private static final String SIMULATOR_CORRELATION_TTL_ENV = "CITRUS_SIMULATOR_CORRELATION_TTL";
     private static final String SIMULATOR_INBOUND_XML_DICTIONARY_PROPERTY = "citrus.simulator.inbound.xml.dictionary";
     private static final String SIMULATOR_INBOUND_XML_DICTIONARY_ENV = "CITRUS_SIMULATOR_INBOUND_XML_DICTIONARY";
     private static final String SIMULATOR_OUTBOUND_XML_DICTIONARY_PROPERTY = "citrus.simulator.outbound.xml.dictionary";
@@ -87,6 +97,31 @@ public class SimulatorConfigurationProperties implements EnvironmentAware {
      */
     private Long exceptionDelay = 5000L;
 
+    /**
+     * Number of concurrent consumers polling the inbound endpoint in simulator endpoint poller. Each consumer runs its own receive loop, so this is the number of requests that can be in flight at the same time.
+     */
+    private int endpointConsumers = 1;
+
+    /**
+     * Threading mode of the executor running scenarios. Ignored when a custom executor bean named "scenarioExecutor" is present.
+     */
+    private ExecutorMode executorMode = ExecutorMode.PLATFORM;
+
+    /**
+     * Number of platform threads running scenarios in parallel, only used in platform executor mode.
+     */
+    private int executorThreads = 10;
+
+    /**
+     * Maximum number of active correlation handlers. When exceeded the least recently used handlers are evicted.
+     */
+    private int correlationCapacity = 1000;
+
+    /**
+     * Time in milliseconds after which a correlation handler that has not matched any message expires. When not set the time to live is the scenario endpoint timeout, but at least the default timeout.
+     */
+    private Long correlationTtl;
+
     /**
      * Optional inbound XML data dictionary mapping file which gets automatically loaded when default inbound data dictionaries are enabled. Used in generated scenarios in order to manipulate generated test data.
      */
@@ -124,6 +159,14 @@ public class SimulatorConfigurationProperties implements EnvironmentAware {
         defaultTimeout = Long.valueOf(env.getProperty(SIMULATOR_TIMEOUT_PROPERTY, env.getProperty(SIMULATOR_TIMEOUT_ENV, String.valueOf(defaultTimeout))));
         templateValidation = Boolean.parseBoolean(env.getProperty(SIMULATOR_TEMPLATE_VALIDATION_PROPERTY, env.getProperty(SIMULATOR_TEMPLATE_VALIDATION_ENV, String.valueOf(templateValidation))));
         exceptionDelay = Long.valueOf(env.getProperty(SIMULATOR_EXCEPTION_DELAY_PROPERTY, env.getProperty(SIMULATOR_EXCEPTION_DELAY_ENV, String.valueOf(exceptionDelay))));
+        endpointConsumers = Integer.parseInt(env.getProperty(SIMULATOR_ENDPOINT_CONSUMERS_PROPERTY, env.getProperty(SIMULATOR_ENDPOINT_CONSUMERS_ENV, Integer.toString(endpointConsumers))));
+        executorMode = ExecutorMode.valueOf(env.getProperty(SIMULATOR_EXECUTOR_MODE_PROPERTY, env.getProperty(SIMULATOR_EXECUTOR_MODE_ENV, executorMode.name())).toUpperCase());
+        setExecutorThreads(Integer.parseInt(env.getProperty(SIMULATOR_EXECUTOR_THREADS_PROPERTY, env.getProperty(SIMULATOR_EXECUTOR_THREADS_ENV, Integer.toString(executorThreads)))));
+        correlationCapacity = Integer.parseInt(env.getProperty(SIMULATOR_CORRELATION_CAPACITY_PROPERTY, env.getProperty(SIMULATOR_CORRELATION_CAPACITY_ENV, Integer.toString(correlationCapacity))));
+        String correlationTtlValue = env.getProperty(SIMULATOR_CORRELATION_TTL_PROPERTY, env.getProperty(SIMULATOR_CORRELATION_TTL_ENV));
+        if (correlationTtlValue != null) {
+            correlationTtl = Long.valueOf(correlationTtlValue);
+        }
         inboundXmlDictionary = env.getProperty(SIMULATOR_INBOUND_XML_DICTIONARY_PROPERTY, env.getProperty(SIMULATOR_INBOUND_XML_DICTIONARY_ENV, inboundXmlDictionary));
         outboundXmlDictionary = env.getProperty(SIMULATOR_OUTBOUND_XML_DICTIONARY_PROPERTY, env.getProperty(SIMULATOR_OUTBOUND_XML_DICTIONARY_ENV, outboundXmlDictionary));
         inboundJsonDictionary = env.getProperty(SIMULATOR_INBOUND_JSON_DICTIONARY_PROPERTY, env.getProperty(SIMULATOR_INBOUND_JSON_DICTIONARY_ENV, inboundJsonDictionary));
@@ -241,6 +284,100 @@ public class SimulatorConfigurationProperties implements EnvironmentAware {
         this.exceptionDelay = exceptionDelay;
     }
 
+    /**
+     * Gets the endpointConsumers.
+     *
+     * @return
+     */
+    public int getEndpointConsumers() {
+        return endpointConsumers;
+    }
+
+    /**
+     * Sets the endpointConsumers.
+     *
+     * @param endpointConsumers
+     */
+    public void setEndpointConsumers(int endpointConsumers) {
+        this.endpointConsumers = endpointConsumers;
+    }
+
+    /**
+     * Gets the executorMode.
+     *
+     * @return
+     */
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    /**
+     * Sets the executorMode.
+     *
+     * @param executorMode
+     */
+    public void setExecutorMode(ExecutorMode executorMode) {
+        this.executorMode = executorMode;
+    }
+
+    /**
+     * Gets the executorThreads.
+     *
+     * @return
+     */
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+
+    /**
+     * Sets the executorThreads.
+     *
+     * @param executorThreads
+     * @throws IllegalArgumentException if the number of threads is less than one
+     */
+    public void setExecutorThreads(int executorThreads) {
+        if (executorThreads < 1) {
+            throw new IllegalArgumentException("Number of executor threads must be at least one: " + executorThreads);
+        }
+        this.executorThreads = executorThreads;
+    }
+
+    /**
+     * Gets the correlationCapacity.
+     *
+     * @return
+     */
+    public int getCorrelationCapacity() {
+        return correlationCapacity;
+    }
+
+    /**
+     * Sets the correlationCapacity.
+     *
+     * @param correlationCapacity
+     */
+    public void setCorrelationCapacity(int correlationCapacity) {
+        this.correlationCapacity = correlationCapacity;
+    }
+
+    /**
+     * Gets the correlationTtl.
+     *
+     * @return
+     */
+    public Long getCorrelationTtl() {
+        return correlationTtl;
+    }
+
+    /**
+     * Sets the correlationTtl.
+     *
+     * @param correlationTtl
+     */
+    public void setCorrelationTtl(Long correlationTtl) {
+        this.correlationTtl = correlationTtl;
+    }
+
     /**
      * Gets the inboundXmlDictionary.
      *
@@ -339,6 +476,11 @@ public class SimulatorConfigurationProperties implements EnvironmentAware {
                 ", defaultScenario='" + defaultScenario + '\'' +
                 ", defaultTimeout=" + defaultTimeout +
                 ", exceptionDelay=" + exceptionDelay +
+                ", endpointConsumers=" + endpointConsumers +
+                ", executorMode=" + executorMode +
+                ", executorThreads=" + executorThreads +
+                ", correlationCapacity=" + correlationCapacity +
+                ", correlationTtl=" + correlationTtl +
                 ", templateValidation=" + templateValidation +
                 ", inboundXmlDictionary=" + inboundXmlDictionary +
                 ", outboundXmlDictionary=" + outboundXmlDictionary +
@@ -352,4 +494,14 @@ public class SimulatorConfigurationProperties implements EnvironmentAware {
     public void setEnvironment(Environment environment) {
         this.env = environment;
     }
+
+    /**
+     * Threading modes of the scenario executor.
+     */
+    public enum ExecutorMode {
+        /** Fixed size pool of platform threads */
+        PLATFORM,
+        /** New virtual thread per scenario execution, requires Java 21 */
+        VIRTUAL
+    }
 }
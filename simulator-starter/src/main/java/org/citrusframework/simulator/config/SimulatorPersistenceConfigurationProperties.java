@@ -0,0 +1,608 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.config;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.file.Path;
+import org.citrusframework.simulator.model.MessagePayload.Storage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+/**
+ * Settings controlling how scenario executions, actions and messages are persisted.
+ */
+@ConfigurationProperties(prefix = "citrus.simulator.persistence")
+public class SimulatorPersistenceConfigurationProperties implements EnvironmentAware {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SimulatorPersistenceConfigurationProperties.class);
+
+    /**
+     * System property constants and environment variable names. Post construct callback reads these values and overwrites
+     * settings in this property class in order to add support for environment variables.
+     */
+    private static final String SIMULATOR_PERSISTENCE_POLICY_PROPERTY = "citrus.simulator.persistence.policy";
+    private static final String SIMULATOR_PERSISTENCE_POLICY_ENV = "CITRUS_SIMULATOR_PERSISTENCE_POLICY";
+    private static final String SIMULATOR_PERSISTENCE_SAMPLE_RATE_PROPERTY = "citrus.simulator.persistence.sample.rate";
+    private static final String SIMULATOR_PERSISTENCE_SAMPLE_RATE_ENV = "CITRUS_SIMULATOR_PERSISTENCE_SAMPLE_RATE";
+    private static final String SIMULATOR_PERSISTENCE_RETENTION_MAX_AGE_PROPERTY = "citrus.simulator.persistence.retention.max.age";
+    private static final String SIMULATOR_PERSISTENCE_RETENTION_MAX_AGE_ENV = "CITRUS_SIMULATOR_PERSISTENCE_RETENTION_MAX_AGE";
+    private static final String SIMULATOR_PERSISTENCE_RETENTION_MAX_ROWS_PROPERTY = "citrus.simulator.persistence.retention.max.rows";
+    private static final String SIMULATOR_PERSISTENCE_RETENTION_MAX_ROWS_ENV = "CITRUS_SIMULATOR_PERSISTENCE_RETENTION_MAX_ROWS";
+    private static final String SIMULATOR_PERSISTENCE_RETENTION_INTERVAL_PROPERTY = "citrus.simulator.persistence.retention.interval";
+    private static final String SIMULATOR_PERSISTENCE_RETENTION_INTERVAL_ENV = "CITRUS_SIMULATOR_PERSISTENCE_RETENTION_INTERVAL";
+    private static final String SIMULATOR_PERSISTENCE_RETENTION_CHUNK_SIZE_PROPERTY = "citrus.simulator.persistence.retention.chunk.size";
+    private static final String SIMULATOR_PERSISTENCE_RETENTION_CHUNK_SIZE_ENV = "CITRUS_SIMULATOR_PERSISTENCE_RETENTION_CHUNK_SIZE";
+    private static final String SIMULATOR_PERSISTENCE_PAYLOAD_STORAGE_PROPERTY = "citrus.simulator.persistence.payload.storage";
+    private static final String SIMULATOR_PERSISTENCE_PAYLOAD_STORAGE_ENV = "CITRUS_SIMULATOR_PERSISTENCE_PAYLOAD_STORAGE";
+    private static final String SIMULATOR_PERSISTENCE_PAYLOAD_THRESHOLD_PROPERTY = "citrus.simulator.persistence.payload.threshold";
+    private static final String SIMULATOR_PERSISTENCE_PAYLOAD_THRESHOLD_ENV = "CITRUS_SIMULATOR_PERSISTENCE_PAYLOAD_THRESHOLD";
+    private static final String SIMULATOR_PERSISTENCE_PAYLOAD_DIRECTORY_PROPERTY = "citrus.simulator.persistence.payload.directory";
+    private static final String SIMULATOR_PERSISTENCE_PAYLOAD_DIRECTORY_ENV = "CITRUS_SIMULATOR_PERSISTENCE_PAYLOAD_DIRECTORY";
+    private static final String SIMULATOR_PERSISTENCE_SEARCH_INDEX_ENABLED_PROPERTY = "citrus.simulator.persistence.search.index.enabled";
+    private static final String SIMULATOR_PERSISTENCE_SEARCH_INDEX_ENABLED_ENV = "CITRUS_SIMULATOR_PERSISTENCE_SEARCH_INDEX_ENABLED";
+    private static final String SIMULATOR_PERSISTENCE_SEARCH_INDEX_MAX_POSTINGS_PROPERTY = "citrus.simulator.persistence.search.index.max.postings";
+    private static final String SIMULATOR_PERSISTENCE_SEARCH_INDEX_MAX_POSTINGS_ENV = "CITRUS_SIMULATOR_PERSISTENCE_SEARCH_INDEX_MAX_POSTINGS";
+    private static final String SIMULATOR_PERSISTENCE_SEARCH_INDEX_MAX_CANDIDATES_PROPERTY = "citrus.simulator.persistence.search.index.max.candidates";
+    private static final String SIMULATOR_PERSISTENCE_SEARCH_INDEX_MAX_CANDIDATES_ENV = "CITRUS_SIMULATOR_PERSISTENCE_SEARCH_INDEX_MAX_CANDIDATES";
+    private static final String SIMULATOR_PERSISTENCE_EXPORT_FETCH_SIZE_PROPERTY = "citrus.simulator.persistence.export.fetch.size";
+    private static final String SIMULATOR_PERSISTENCE_EXPORT_FETCH_SIZE_ENV = "CITRUS_SIMULATOR_PERSISTENCE_EXPORT_FETCH_SIZE";
+    private static final String SIMULATOR_PERSISTENCE_WRITE_BEHIND_PROPERTY = "citrus.simulator.persistence.write.behind";
+    private static final String SIMULATOR_PERSISTENCE_WRITE_BEHIND_ENV = "CITRUS_SIMULATOR_PERSISTENCE_WRITE_BEHIND";
+    private static final String SIMULATOR_PERSISTENCE_FLUSH_INTERVAL_PROPERTY = "citrus.simulator.persistence.flush.interval";
+    private static final String SIMULATOR_PERSISTENCE_FLUSH_INTERVAL_ENV = "CITRUS_SIMULATOR_PERSISTENCE_FLUSH_INTERVAL";
+    private static final String SIMULATOR_PERSISTENCE_BATCH_SIZE_PROPERTY = "citrus.simulator.persistence.batch.size";
+    private static final String SIMULATOR_PERSISTENCE_BATCH_SIZE_ENV = "CITRUS_SIMULATOR_PERSISTENCE_BATCH_SIZE";
+    private static final String SIMULATOR_PERSISTENCE_QUEUE_CAPACITY_PROPERTY = "citrus.simulator.persistence.queue.capacity";
+    private static final String SIMULATOR_PERSISTENCE_QUEUE_CAPACITY_ENV = "CITRUS_SIMULATOR_PERSISTENCE_QUEUE_CAPACITY";
+    private static final String SIMULATOR_PERSISTENCE_OVERFLOW_POLICY_PROPERTY = "citrus.simulator.persistence.overflow.policy";
+    private static final String SIMULATOR_PERSISTENCE_OVERFLOW_POLICY_ENV = "CITRUS_SIMULATOR_PERSISTENCE_OVERFLOW_POLICY";
+    private static final String SIMULATOR_PERSISTENCE_OVERFLOW_SAMPLE_RATE_PROPERTY = "citrus.simulator.persistence.overflow.sample.rate";
+    private static final String SIMULATOR_PERSISTENCE_OVERFLOW_SAMPLE_RATE_ENV = "CITRUS_SIMULATOR_PERSISTENCE_OVERFLOW_SAMPLE_RATE";
+
+    /**
+     * Policy deciding which scenario executions get persisted along with their actions and messages. By default all executions are persisted.
+     */
+    private PersistencePolicy policy = PersistencePolicy.FULL;
+
+    /**
+     * With the sampling persistence policy every n-th scenario execution gets persisted.
+     */
+    private int sampleRate = 10;
+
+    /**
+     * Maximum age in milliseconds of finished scenario executions, older executions and their messages get deleted. Not set by default, so executions are kept regardless of their age.
+     */
+    private Long retentionMaxAge;
+
+    /**
+     * Maximum number of finished scenario executions to keep, the oldest executions and their messages get deleted first. Not set by default.
+     */
+    private Integer retentionMaxRows;
+
+    /**
+     * Time in milliseconds between two retention runs.
+     */
+    private long retentionInterval = 60000L;
+
+    /**
+     * Maximum number of scenario executions deleted in one transaction.
+     */
+    private int retentionChunkSize = 500;
+
+    /**
+     * Storage of message payloads exceeding the payload threshold. Payloads are stored inline by default, compressed payloads are kept as deflate compressed bytes in the database and external payloads in content-addressed files within the payload directory.
+     */
+    private Storage payloadStorage = Storage.INLINE;
+
+    /**
+     * Minimum number of characters of a message payload to apply the payload storage, smaller payloads are always stored inline.
+     */
+    private int payloadThreshold = 4096;
+
+    /**
+     * Base directory of external message payload files.
+     */
+    private String payloadDirectory = Path.of(System.getProperty("java.io.tmpdir"), "citrus-simulator", "payloads").toString();
+
+    /**
+     * En-/Disable the in-memory word index narrowing text searches on inline message payloads. By default this option is enabled.
+     */
+    private boolean searchIndexEnabled = true;
+
+    /**
+     * Maximum number of word occurrences held by the search index. Once exceeded the index is dropped and text searches are run on the database.
+     */
+    private long searchIndexMaxPostings = 5000000L;
+
+    /**
+     * Maximum number of candidate messages a text search resolves to in the search index, searches with more candidates are run on the database.
+     */
+    private int searchIndexMaxCandidates = 1000;
+
+    /**
+     * Number of rows fetched from the database per round trip when streaming exports, also the number of entities kept in the persistence context.
+     */
+    private int exportFetchSize = 500;
+
+    /**
+     * En-/Disable asynchronous write-behind of scenario actions, messages and execution results. When enabled these audit events are queued in memory and written in batches by a background writer instead of within the scenario thread. By default this option is disabled.
+     */
+    private boolean writeBehind = false;
+
+    /**
+     * Maximum time in milliseconds the write-behind writer waits for further audit events before it writes a batch.
+     */
+    private long flushInterval = 500L;
+
+    /**
+     * Maximum number of audit events the write-behind writer writes in one transaction.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum number of audit events waiting to be written. The overflow policy decides what happens when the queue is full.
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Policy applied when the write-behind queue is full, default is to block the scenario until the writer catches up.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * With the sample overflow policy every n-th scenario execution keeps all of its audit events when the write-behind queue is full.
+     */
+    private int overflowSampleRate = 10;
+
+    /**
+     * The Spring application context environment auto injected by environment aware mechanism.
+     */
+    private Environment env;
+
+    @PostConstruct
+    private void loadProperties() {
+        policy = PersistencePolicy.valueOf(env.getProperty(SIMULATOR_PERSISTENCE_POLICY_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_POLICY_ENV, policy.name())).toUpperCase());
+        sampleRate = Integer.parseInt(env.getProperty(SIMULATOR_PERSISTENCE_SAMPLE_RATE_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_SAMPLE_RATE_ENV, Integer.toString(sampleRate))));
+        String retentionMaxAgeValue = env.getProperty(SIMULATOR_PERSISTENCE_RETENTION_MAX_AGE_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_RETENTION_MAX_AGE_ENV));
+        if (retentionMaxAgeValue != null) {
+            retentionMaxAge = Long.valueOf(retentionMaxAgeValue);
+        }
+        String retentionMaxRowsValue = env.getProperty(SIMULATOR_PERSISTENCE_RETENTION_MAX_ROWS_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_RETENTION_MAX_ROWS_ENV));
+        if (retentionMaxRowsValue != null) {
+            retentionMaxRows = Integer.valueOf(retentionMaxRowsValue);
+        }
+        retentionInterval = Long.parseLong(env.getProperty(SIMULATOR_PERSISTENCE_RETENTION_INTERVAL_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_RETENTION_INTERVAL_ENV, Long.toString(retentionInterval))));
+        retentionChunkSize = Integer.parseInt(env.getProperty(SIMULATOR_PERSISTENCE_RETENTION_CHUNK_SIZE_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_RETENTION_CHUNK_SIZE_ENV, Integer.toString(retentionChunkSize))));
+        payloadStorage = Storage.valueOf(env.getProperty(SIMULATOR_PERSISTENCE_PAYLOAD_STORAGE_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_PAYLOAD_STORAGE_ENV, payloadStorage.name())).toUpperCase());
+        payloadThreshold = Integer.parseInt(env.getProperty(SIMULATOR_PERSISTENCE_PAYLOAD_THRESHOLD_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_PAYLOAD_THRESHOLD_ENV, Integer.toString(payloadThreshold))));
+        payloadDirectory = env.getProperty(SIMULATOR_PERSISTENCE_PAYLOAD_DIRECTORY_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_PAYLOAD_DIRECTORY_ENV, payloadDirectory));
+        searchIndexEnabled = Boolean.parseBoolean(env.getProperty(SIMULATOR_PERSISTENCE_SEARCH_INDEX_ENABLED_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_SEARCH_INDEX_ENABLED_ENV, String.valueOf(searchIndexEnabled))));
+        searchIndexMaxPostings = Long.parseLong(env.getProperty(SIMULATOR_PERSISTENCE_SEARCH_INDEX_MAX_POSTINGS_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_SEARCH_INDEX_MAX_POSTINGS_ENV, Long.toString(searchIndexMaxPostings))));
+        searchIndexMaxCandidates = Integer.parseInt(env.getProperty(SIMULATOR_PERSISTENCE_SEARCH_INDEX_MAX_CANDIDATES_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_SEARCH_INDEX_MAX_CANDIDATES_ENV, Integer.toString(searchIndexMaxCandidates))));
+        exportFetchSize = Integer.parseInt(env.getProperty(SIMULATOR_PERSISTENCE_EXPORT_FETCH_SIZE_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_EXPORT_FETCH_SIZE_ENV, Integer.toString(exportFetchSize))));
+        writeBehind = Boolean.parseBoolean(env.getProperty(SIMULATOR_PERSISTENCE_WRITE_BEHIND_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_WRITE_BEHIND_ENV, String.valueOf(writeBehind))));
+        flushInterval = Long.parseLong(env.getProperty(SIMULATOR_PERSISTENCE_FLUSH_INTERVAL_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_FLUSH_INTERVAL_ENV, Long.toString(flushInterval))));
+        batchSize = Integer.parseInt(env.getProperty(SIMULATOR_PERSISTENCE_BATCH_SIZE_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_BATCH_SIZE_ENV, Integer.toString(batchSize))));
+        queueCapacity = Integer.parseInt(env.getProperty(SIMULATOR_PERSISTENCE_QUEUE_CAPACITY_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_QUEUE_CAPACITY_ENV, Integer.toString(queueCapacity))));
+        overflowPolicy = OverflowPolicy.valueOf(env.getProperty(SIMULATOR_PERSISTENCE_OVERFLOW_POLICY_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_OVERFLOW_POLICY_ENV, overflowPolicy.name())).toUpperCase());
+        overflowSampleRate = Integer.parseInt(env.getProperty(SIMULATOR_PERSISTENCE_OVERFLOW_SAMPLE_RATE_PROPERTY, env.getProperty(SIMULATOR_PERSISTENCE_OVERFLOW_SAMPLE_RATE_ENV, Integer.toString(overflowSampleRate))));
+
+        log.info("Using the simulator persistence configuration: {}", this.toString());
+    }
+
+    /**
+     * Gets the policy.
+     *
+     * @return
+     */
+    public PersistencePolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Sets the policy.
+     *
+     * @param policy
+     */
+    public void setPolicy(PersistencePolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Gets the sampleRate.
+     *
+     * @return
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Sets the sampleRate.
+     *
+     * @param sampleRate
+     */
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Gets the retentionMaxAge.
+     *
+     * @return
+     */
+    public Long getRetentionMaxAge() {
+        return retentionMaxAge;
+    }
+
+    /**
+     * Sets the retentionMaxAge.
+     *
+     * @param retentionMaxAge
+     */
+    public void setRetentionMaxAge(Long retentionMaxAge) {
+        this.retentionMaxAge = retentionMaxAge;
+    }
+
+    /**
+     * Gets the retentionMaxRows.
+     *
+     * @return
+     */
+    public Integer getRetentionMaxRows() {
+        return retentionMaxRows;
+    }
+
+    /**
+     * Sets the retentionMaxRows.
+     *
+     * @param retentionMaxRows
+     */
+    public void setRetentionMaxRows(Integer retentionMaxRows) {
+        this.retentionMaxRows = retentionMaxRows;
+    }
+
+    /**
+     * Gets the retentionInterval.
+     *
+     * @return
+     */
+    public long getRetentionInterval() {
+        return retentionInterval;
+    }
+
+    /**
+     * Sets the retentionInterval.
+     *
+     * @param retentionInterval
+     */
+    public void setRetentionInterval(long retentionInterval) {
+        this.retentionInterval = retentionInterval;
+    }
+
+    /**
+     * Gets the retentionChunkSize.
+     *
+     * @return
+     */
+    public int getRetentionChunkSize() {
+        return retentionChunkSize;
+    }
+
+    /**
+     * Sets the retentionChunkSize.
+     *
+     * @param retentionChunkSize
+     */
+    public void setRetentionChunkSize(int retentionChunkSize) {
+        this.retentionChunkSize = retentionChunkSize;
+    }
+
+    /**
+     * Gets the payloadStorage.
+     *
+     * @return
+     */
+    public Storage getPayloadStorage() {
+        return payloadStorage;
+    }
+
+    /**
+     * Sets the payloadStorage.
+     *
+     * @param payloadStorage
+     */
+    public void setPayloadStorage(Storage payloadStorage) {
+        this.payloadStorage = payloadStorage;
+    }
+
+    /**
+     * Gets the payloadThreshold.
+     *
+     * @return
+     */
+    public int getPayloadThreshold() {
+        return payloadThreshold;
+    }
+
+    /**
+     * Sets the payloadThreshold.
+     *
+     * @param payloadThreshold
+     */
+    public void setPayloadThreshold(int payloadThreshold) {
+        this.payloadThreshold = payloadThreshold;
+    }
+
+    /**
+     * Gets the payloadDirectory.
+     *
+     * @return
+     */
+    public String getPayloadDirectory() {
+        return payloadDirectory;
+    }
+
+    /**
+     * Sets the payloadDirectory.
+     *
+     * @param payloadDirectory
+     */
+    public void setPayloadDirectory(String payloadDirectory) {
+        this.payloadDirectory = payloadDirectory;
+    }
+
+    /**
+     * Gets the searchIndexEnabled.
+     *
+     * @return
+     */
+    public boolean isSearchIndexEnabled() {
+        return searchIndexEnabled;
+    }
+
+    /**
+     * Sets the searchIndexEnabled.
+     *
+     * @param searchIndexEnabled
+     */
+    public void setSearchIndexEnabled(boolean searchIndexEnabled) {
+        this.searchIndexEnabled = searchIndexEnabled;
+    }
+
+    /**
+     * Gets the searchIndexMaxPostings.
+     *
+     * @return
+     */
+    public long getSearchIndexMaxPostings() {
+        return searchIndexMaxPostings;
+    }
+
+    /**
+     * Sets the searchIndexMaxPostings.
+     *
+     * @param searchIndexMaxPostings
+     */
+    public void setSearchIndexMaxPostings(long searchIndexMaxPostings) {
+        this.searchIndexMaxPostings = searchIndexMaxPostings;
+    }
+
+    /**
+     * Gets the searchIndexMaxCandidates.
+     *
+     * @return
+     */
+    public int getSearchIndexMaxCandidates() {
+        return searchIndexMaxCandidates;
+    }
+
+    /**
+     * Sets the searchIndexMaxCandidates.
+     *
+     * @param searchIndexMaxCandidates
+     */
+    public void setSearchIndexMaxCandidates(int searchIndexMaxCandidates) {
+        this.searchIndexMaxCandidates = searchIndexMaxCandidates;
+    }
+
+    /**
+     * Gets the exportFetchSize.
+     *
+     * @return
+     */
+    public int getExportFetchSize() {
+        return exportFetchSize;
+    }
+
+    /**
+     * Sets the exportFetchSize.
+     *
+     * @param exportFetchSize
+     */
+    public void setExportFetchSize(int exportFetchSize) {
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    /**
+     * Gets the writeBehind.
+     *
+     * @return
+     */
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Sets the writeBehind.
+     *
+     * @param writeBehind
+     */
+    public void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Gets the flushInterval.
+     *
+     * @return
+     */
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the flushInterval.
+     *
+     * @param flushInterval
+     */
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Gets the batchSize.
+     *
+     * @return
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the batchSize.
+     *
+     * @param batchSize
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the queueCapacity.
+     *
+     * @return
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the queueCapacity.
+     *
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the overflowPolicy.
+     *
+     * @return
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Sets the overflowPolicy.
+     *
+     * @param overflowPolicy
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Gets the overflowSampleRate.
+     *
+     * @return
+     */
+    public int getOverflowSampleRate() {
+        return overflowSampleRate;
+    }
+
+    /**
+     * Sets the overflowSampleRate.
+     *
+     * @param overflowSampleRate
+     */
+    public void setOverflowSampleRate(int overflowSampleRate) {
+        this.overflowSampleRate = overflowSampleRate;
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + "{" +
+                "policy=" + policy +
+                ", sampleRate=" + sampleRate +
+                ", retentionMaxAge=" + retentionMaxAge +
+                ", retentionMaxRows=" + retentionMaxRows +
+                ", retentionInterval=" + retentionInterval +
+                ", retentionChunkSize=" + retentionChunkSize +
+                ", payloadStorage=" + payloadStorage +
+                ", payloadThreshold=" + payloadThreshold +
+                ", payloadDirectory=" + payloadDirectory +
+                ", searchIndexEnabled=" + searchIndexEnabled +
+                ", searchIndexMaxPostings=" + searchIndexMaxPostings +
+                ", searchIndexMaxCandidates=" + searchIndexMaxCandidates +
+                ", exportFetchSize=" + exportFetchSize +
+                ", writeBehind=" + writeBehind +
+                ", flushInterval=" + flushInterval +
+                ", batchSize=" + batchSize +
+                ", queueCapacity=" + queueCapacity +
+                ", overflowPolicy=" + overflowPolicy +
+                ", overflowSampleRate=" + overflowSampleRate +
+                '}';
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.env = environment;
+    }
+
+    /**
+     * Policies deciding which scenario executions get persisted.
+     */
+    public enum PersistencePolicy {
+        /** Persist all executions */
+        FULL,
+        /** Persist failed executions only, audit events are kept in memory until the execution has finished */
+        FAILURES_ONLY,
+        /** Persist every n-th execution, decided when the execution starts */
+        SAMPLING,
+        /** Do not persist any execution */
+        OFF
+    }
+
+    /**
+     * Policies applied when the write-behind queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Block the scenario until the writer has caught up */
+        BLOCK,
+        /** Drop action and message events, execution results are always kept */
+        DROP,
+        /** Keep all events of every n-th execution and drop action and message events of the others */
+        SAMPLE
+    }
+}
@@ -9,6 +9,11 @@ public abstract class AbstractCorrelationHandler implements CorrelationHandler {
 
     private final ScenarioEndpoint scenarioEndpoint;
 
+    /**
+     * Resolve test variables on every message instead of once on registration
+     */
+    private boolean lateBinding = false;
+
     /**
      * Default constructor using scenario.
      * @param scenarioEndpoint
@@ -21,4 +26,21 @@ public abstract class AbstractCorrelationHandler implements CorrelationHandler {
     public ScenarioEndpoint getScenarioEndpoint() {
         return scenarioEndpoint;
     }
+
+    /**
+     * Gets the lateBinding.
+     * @return
+     */
+    public boolean isLateBinding() {
+        return lateBinding;
+    }
+
+    /**
+     * Sets the lateBinding. Late bound handlers resolve test variables on every message, so the correlation key
+     * follows variable changes made after the correlation has been started.
+     * @param lateBinding
+     */
+    public void setLateBinding(boolean lateBinding) {
+        this.lateBinding = lateBinding;
+    }
 }
@@ -35,6 +35,14 @@ public interface CorrelationHandler {
         return false;
     }
 
+    /**
+     * Resolves test variables in the correlation key once when the handler gets registered, so matching messages
+     * does not need to evaluate the test context again.
+     * @param context
+     */
+    default void resolve(TestContext context) {
+    }
+
     /**
      * Gets the scenario endpoint that this handler is handling messages for.
      * @return
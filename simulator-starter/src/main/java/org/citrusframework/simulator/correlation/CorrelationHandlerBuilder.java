@@ -40,6 +40,8 @@ public class CorrelationHandlerBuilder
 
     private ApplicationContext applicationContext;
 
+    private boolean lateBinding = false;
+
     /**
      * Default constructor with correlation handler.
      */
@@ -54,6 +56,10 @@ public class CorrelationHandlerBuilder
             ((XPathPayloadCorrelationHandler) correlationHandler).lookupNamespaceContextBuilder(applicationContext);
         }
 
+        if (lateBinding && correlationHandler instanceof AbstractCorrelationHandler) {
+            ((AbstractCorrelationHandler) correlationHandler).setLateBinding(true);
+        }
+
         return new StartCorrelationHandlerAction(this);
     }
 
@@ -73,6 +79,15 @@ public class CorrelationHandlerBuilder
         return withHandler(new XPathPayloadCorrelationHandler(scenarioEndpoint, expression, value));
     }
 
+    /**
+     * Resolve test variables in the correlation key on every message instead of once when the correlation starts.
+     * Use this when the key references variables that change while the scenario is running.
+     */
+    public CorrelationHandlerBuilder lateBinding() {
+        this.lateBinding = true;
+        return this;
+    }
+
     public CorrelationHandlerBuilder withHandler(CorrelationHandler handler) {
         correlationHandler = handler;
         stopCorrelationAction.setCorrelationHandler(handler);
@@ -3,41 +3,142 @@ package org.citrusframework.simulator.correlation;
 import org.citrusframework.context.TestContext;
 import org.citrusframework.message.Message;
 
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
 
 /**
+ * Registry of active correlation handlers. Header mapping and XPath payload handlers are indexed by the correlation key
+ * they resolved on registration, so a lookup evaluates each distinct header name and XPath expression once per message and then
+ * probes a hash index. All other handlers, including late bound handlers and subclasses that may override the matching
+ * logic, are checked one by one.
+ * <p>
+ * The registry is bounded: handlers expire when they have not been registered or matched within their time to live,
+ * and the least recently used handlers are evicted as soon as the total weight of all handlers exceeds the capacity.
+ * This cleans up handlers of scenarios that never reached their stop correlation action.
+ *
  * @author Christoph Deppisch
  */
 public class CorrelationHandlerRegistry {
 
     /**
-     * Map of active handlers
+     * Minimum interval in milliseconds between two full sweeps for expired handlers
      */
-    private ConcurrentMap<CorrelationHandler, TestContext> registeredHandlers = new ConcurrentHashMap<>();
+    private static final long EXPIRY_SWEEP_INTERVAL = 1000L;
 
     /**
-     * Maximum capacity of active tests
+     * Default minimum time to live in milliseconds, generous enough for scenarios waiting on slow or manually
+     * triggered follow-up messages far beyond the scenario endpoint timeout
+     */
+    public static final long DEFAULT_MIN_TIME_TO_LIVE = 300_000L;
+
+    /**
+     * Active handlers in least recently used order, guarded by this registry
+     */
+    private final LinkedHashMap<CorrelationHandler, Registration> registeredHandlers = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Header mapping handlers by header name and expected header value
+     */
+    private final CorrelationIndex<String> headerIndex = new CorrelationIndex<>();
+
+    /**
+     * XPath payload handlers by expression and expected expression result
+     */
+    private final CorrelationIndex<XPathPayloadCorrelationHandler> payloadIndex = new CorrelationIndex<>();
+
+    /**
+     * Handlers that can not be indexed
+     */
+    private final ConcurrentMap<CorrelationHandler, TestContext> unindexedHandlers = new ConcurrentHashMap<>();
+
+    /**
+     * Maximum total weight of active handlers
      */
     private int queueCapacity = 1000;
 
+    /**
+     * Fixed time to live in milliseconds, when not set the time to live derives from the scenario endpoint timeout
+     */
+    private Long timeToLive;
+
+    /**
+     * Minimum time to live in milliseconds for handlers with a derived time to live
+     */
+    private long minTimeToLive = DEFAULT_MIN_TIME_TO_LIVE;
+
+    /**
+     * Calculates the weight a handler takes from the capacity
+     */
+    private ToIntFunction<CorrelationHandler> weigher = handler -> 1;
+
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Sum of all handler weights
+     */
+    private long totalWeight = 0L;
+
+    /**
+     * Time of the last full sweep for expired handlers
+     */
+    private long lastExpirySweep = 0L;
+
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expirationCount = new AtomicLong();
+
     /**
      * Add new correlation manager to registry.
      * @param handler
      */
-    public void register(CorrelationHandler handler, TestContext context) {
-        if (!registeredHandlers.keySet().contains(handler)) {
-            registeredHandlers.put(handler, context);
+    public synchronized void register(CorrelationHandler handler, TestContext context) {
+        long now = clock.millis();
+        expireHandlers(now);
+
+        Registration existing = registeredHandlers.get(handler);
+        if (existing != null) {
+            // registering again counts as access, the lookup above already moved the handler to the most recently used end
+            existing.lastAccess = now;
+            return;
         }
 
-        while (registeredHandlers.size() > queueCapacity) {
-            Stream.of(registeredHandlers.keySet()).limit(queueCapacity / 10)
-                    .toList()
-                    .parallelStream()
-                    .forEach(toDelete -> registeredHandlers.remove(toDelete));
+        Registration registration;
+        if (handler.getClass().equals(HeaderMappingCorrelationHandler.class)
+                && ((HeaderMappingCorrelationHandler) handler).getResolvedValue() != null) {
+            HeaderMappingCorrelationHandler headerHandler = (HeaderMappingCorrelationHandler) handler;
+            registration = new Registration(headerIndex, headerHandler.getResolvedHeaderName(), headerHandler.getResolvedValue());
+            headerIndex.add(registration.indexName, registration.indexName, registration.indexValue, handler);
+        } else if (handler.getClass().equals(XPathPayloadCorrelationHandler.class)
+                && ((XPathPayloadCorrelationHandler) handler).getResolvedValue() != null) {
+            XPathPayloadCorrelationHandler payloadHandler = (XPathPayloadCorrelationHandler) handler;
+            registration = new Registration(payloadIndex, payloadHandler.getExpression(), payloadHandler.getResolvedValue());
+            payloadIndex.add(registration.indexName, payloadHandler, registration.indexValue, handler);
+        } else {
+            registration = new Registration(null, null, null);
+            unindexedHandlers.put(handler, context);
+        }
+
+        registration.weight = Math.max(0, weigher.applyAsInt(handler));
+        registration.timeToLive = getTimeToLive(handler);
+        registration.lastAccess = now;
+
+        registeredHandlers.put(handler, registration);
+        totalWeight += registration.weight;
+
+        Iterator<Map.Entry<CorrelationHandler, Registration>> leastRecentlyUsed = registeredHandlers.entrySet().iterator();
+        while (totalWeight > queueCapacity && leastRecentlyUsed.hasNext()) {
+            Map.Entry<CorrelationHandler, Registration> eldest = leastRecentlyUsed.next();
+            if (eldest.getKey() != handler) {
+                leastRecentlyUsed.remove();
+                unindex(eldest.getKey(), eldest.getValue());
+                evictionCount.incrementAndGet();
+            }
         }
     }
 
@@ -45,8 +146,11 @@ public class CorrelationHandlerRegistry {
      * Remove registered handler from registry.
      * @param handler
      */
-    public void remove(CorrelationHandler handler) {
-        registeredHandlers.remove(handler);
+    public synchronized void remove(CorrelationHandler handler) {
+        Registration registration = registeredHandlers.remove(handler);
+        if (registration != null) {
+            unindex(handler, registration);
+        }
     }
 
     /**
@@ -56,12 +160,251 @@ public class CorrelationHandlerRegistry {
      * @return
      */
     public CorrelationHandler findHandlerFor(Message request) {
-        for (Map.Entry<CorrelationHandler, TestContext> handlerEntry : registeredHandlers.entrySet()) {
-            if (handlerEntry.getKey().isHandlerFor(request, handlerEntry.getValue())) {
+        for (Map.Entry<String, IndexBucket<String>> bucket : headerIndex.buckets()) {
+            if (request.getHeader(bucket.getKey()) instanceof String headerValue) {
+                CorrelationHandler handler = findActive(bucket.getValue().find(headerValue));
+                if (handler != null) {
+                    return handler;
+                }
+            }
+        }
+
+        for (Map.Entry<String, IndexBucket<XPathPayloadCorrelationHandler>> bucket : payloadIndex.buckets()) {
+            String payloadValue = bucket.getValue().evaluator().extractValue(request);
+            if (payloadValue != null) {
+                CorrelationHandler handler = findActive(bucket.getValue().find(payloadValue));
+                if (handler != null) {
+                    return handler;
+                }
+            }
+        }
+
+        for (Map.Entry<CorrelationHandler, TestContext> handlerEntry : unindexedHandlers.entrySet()) {
+            if (handlerEntry.getKey().isHandlerFor(request, handlerEntry.getValue()) && touch(handlerEntry.getKey())) {
                 return handlerEntry.getKey();
             }
         }
 
         return null;
     }
+
+    /**
+     * Gets the number of active handlers.
+     * @return
+     */
+    public synchronized int getActiveHandlerCount() {
+        return registeredHandlers.size();
+    }
+
+    /**
+     * Gets the number of handlers evicted because the capacity was exceeded.
+     * @return
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Gets the number of handlers removed because their time to live has passed.
+     * @return
+     */
+    public long getExpirationCount() {
+        return expirationCount.get();
+    }
+
+    /**
+     * Sets the maximum total weight of active handlers.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Sets a fixed time to live in milliseconds for all handlers. Values less or equal to zero disable expiry.
+     * @param timeToLive
+     */
+    public void setTimeToLive(Long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Sets the minimum time to live in milliseconds for handlers with a time to live derived from the scenario endpoint timeout,
+     * defaults to {@link #DEFAULT_MIN_TIME_TO_LIVE}.
+     * @param minTimeToLive
+     */
+    public void setMinTimeToLive(long minTimeToLive) {
+        this.minTimeToLive = minTimeToLive;
+    }
+
+    /**
+     * Sets the function calculating the weight a handler takes from the capacity, by default each handler weighs 1.
+     * @param weigher
+     */
+    public void setWeigher(ToIntFunction<CorrelationHandler> weigher) {
+        this.weigher = weigher;
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    private CorrelationHandler findActive(Set<CorrelationHandler> candidates) {
+        for (CorrelationHandler candidate : candidates) {
+            if (touch(candidate)) {
+                return candidate;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Marks the handler as recently used unless it has expired in the meantime.
+     */
+    private synchronized boolean touch(CorrelationHandler handler) {
+        Registration registration = registeredHandlers.get(handler);
+        if (registration == null) {
+            return false;
+        }
+
+        long now = clock.millis();
+        if (registration.isExpired(now)) {
+            registeredHandlers.remove(handler);
+            unindex(handler, registration);
+            expirationCount.incrementAndGet();
+            return false;
+        }
+
+        registration.lastAccess = now;
+        return true;
+    }
+
+    private void expireHandlers(long now) {
+        if (now - lastExpirySweep < EXPIRY_SWEEP_INTERVAL) {
+            return;
+        }
+
+        lastExpirySweep = now;
+        Iterator<Map.Entry<CorrelationHandler, Registration>> handlers = registeredHandlers.entrySet().iterator();
+        while (handlers.hasNext()) {
+            Map.Entry<CorrelationHandler, Registration> handlerEntry = handlers.next();
+            if (handlerEntry.getValue().isExpired(now)) {
+                handlers.remove();
+                unindex(handlerEntry.getKey(), handlerEntry.getValue());
+                expirationCount.incrementAndGet();
+            }
+        }
+    }
+
+    private void unindex(CorrelationHandler handler, Registration registration) {
+        totalWeight -= registration.weight;
+
+        if (registration.index != null) {
+            registration.index.remove(registration.indexName, registration.indexValue, handler);
+        } else {
+            unindexedHandlers.remove(handler);
+        }
+    }
+
+    private long getTimeToLive(CorrelationHandler handler) {
+        if (timeToLive != null) {
+            return timeToLive;
+        }
+
+        long scenarioTimeout = 0L;
+        if (handler.getScenarioEndpoint() != null) {
+            scenarioTimeout = handler.getScenarioEndpoint().getEndpointConfiguration().getTimeout();
+        }
+
+        return Math.max(minTimeToLive, scenarioTimeout);
+    }
+
+    /**
+     * Registration of an active handler together with the index entry it has been added to.
+     */
+    private static class Registration {
+
+        private final CorrelationIndex<?> index;
+        private final String indexName;
+        private final String indexValue;
+
+        private int weight;
+        private long timeToLive;
+        private volatile long lastAccess;
+
+        Registration(CorrelationIndex<?> index, String indexName, String indexValue) {
+            this.index = index;
+            this.indexName = indexName;
+            this.indexValue = indexValue;
+        }
+
+        boolean isExpired(long now) {
+            return timeToLive > 0 && now - lastAccess > timeToLive;
+        }
+    }
+    /**
+     * Two level index of handlers by correlation name, e.g. header name or XPath expression, and expected value.
+     * Each name holds an evaluator that extracts the value to look up from a message.
+     */
+    private static class CorrelationIndex<T> {
+
+        private final ConcurrentMap<String, IndexBucket<T>> buckets = new ConcurrentHashMap<>();
+
+        void add(String name, T evaluator, String value, CorrelationHandler handler) {
+            buckets.computeIfAbsent(name, key -> new IndexBucket<>(evaluator)).add(value, handler);
+        }
+
+        void remove(String name, String value, CorrelationHandler handler) {
+            IndexBucket<T> bucket = buckets.get(name);
+            if (bucket != null && bucket.remove(value, handler)) {
+                buckets.remove(name);
+            }
+        }
+
+        Set<Map.Entry<String, IndexBucket<T>>> buckets() {
+            return buckets.entrySet();
+        }
+    }
+
+    /**
+     * Handlers sharing the same correlation name by expected value.
+     */
+    private static class IndexBucket<T> {
+
+        private final T evaluator;
+
+        private final ConcurrentMap<String, Set<CorrelationHandler>> handlers = new ConcurrentHashMap<>();
+
+        IndexBucket(T evaluator) {
+            this.evaluator = evaluator;
+        }
+
+        T evaluator() {
+            return evaluator;
+        }
+
+        void add(String value, CorrelationHandler handler) {
+            handlers.computeIfAbsent(value, key -> ConcurrentHashMap.newKeySet()).add(handler);
+        }
+
+        /**
+         * Removes the handler and reports whether the bucket is empty afterwards.
+         */
+        boolean remove(String value, CorrelationHandler handler) {
+            Set<CorrelationHandler> matching = handlers.get(value);
+            if (matching != null) {
+                matching.remove(handler);
+                if (matching.isEmpty()) {
+                    handlers.remove(value);
+                }
+            }
+
+            return handlers.isEmpty();
+        }
+
+        Set<CorrelationHandler> find(String value) {
+            return handlers.getOrDefault(value, Set.of());
+        }
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.correlation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds active handler, eviction and expiration metrics of the {@link CorrelationHandlerRegistry} to the
+ * actuator meter registry.
+ */
+public class CorrelationHandlerRegistryMetrics implements MeterBinder {
+
+    private final CorrelationHandlerRegistry handlerRegistry;
+
+    public CorrelationHandlerRegistryMetrics(CorrelationHandlerRegistry handlerRegistry) {
+        this.handlerRegistry = handlerRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("citrus.simulator.correlation.handlers.active", handlerRegistry, CorrelationHandlerRegistry::getActiveHandlerCount)
+                .description("Number of active correlation handlers")
+                .register(registry);
+
+        FunctionCounter.builder("citrus.simulator.correlation.handlers.evictions", handlerRegistry, CorrelationHandlerRegistry::getEvictionCount)
+                .description("Number of correlation handlers evicted because the registry capacity was exceeded")
+                .register(registry);
+
+        FunctionCounter.builder("citrus.simulator.correlation.handlers.expirations", handlerRegistry, CorrelationHandlerRegistry::getExpirationCount)
+                .description("Number of correlation handlers removed because their time to live has passed")
+                .register(registry);
+    }
+}
@@ -31,6 +31,12 @@ public class HeaderMappingCorrelationHandler extends AbstractCorrelationHandler
     private final String headerName;
     private final String value;
 
+    /**
+     * Header name and value with resolved test variables
+     */
+    private String resolvedHeaderName;
+    private String resolvedValue;
+
     /**
      * Constructor using header name property.
      *
@@ -46,7 +52,56 @@ public class HeaderMappingCorrelationHandler extends AbstractCorrelationHandler
 
     @Override
     public boolean isHandlerFor(Message message, TestContext context) {
+        if (resolvedValue != null) {
+            Object header = message.getHeader(resolvedHeaderName);
+            return header != null && header.equals(resolvedValue);
+        }
+
         Object header = message.getHeader(context.replaceDynamicContentInString(headerName));
         return header != null && header.equals(context.replaceDynamicContentInString(value));
     }
+
+    @Override
+    public void resolve(TestContext context) {
+        if (!isLateBinding()) {
+            resolvedHeaderName = context.replaceDynamicContentInString(headerName);
+            resolvedValue = context.replaceDynamicContentInString(value);
+        }
+    }
+
+    /**
+     * Gets the name of the header to match on, may contain test variables.
+     *
+     * @return
+     */
+    public String getHeaderName() {
+        return headerName;
+    }
+
+    /**
+     * Gets the expected header value, may contain test variables.
+     *
+     * @return
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the header name resolved on registration.
+     *
+     * @return the resolved header name or {@code null} if not resolved yet or late bound
+     */
+    public String getResolvedHeaderName() {
+        return resolvedHeaderName;
+    }
+
+    /**
+     * Gets the expected header value resolved on registration.
+     *
+     * @return the resolved value or {@code null} if not resolved yet or late bound
+     */
+    public String getResolvedValue() {
+        return resolvedValue;
+    }
 }
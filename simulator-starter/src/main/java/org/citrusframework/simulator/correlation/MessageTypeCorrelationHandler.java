@@ -29,6 +29,11 @@ public class MessageTypeCorrelationHandler extends AbstractCorrelationHandler {
     private XPathPayloadMappingKeyExtractor xPathPayloadMappingKeyExtractor = new XPathPayloadMappingKeyExtractor();
     private final String value;
 
+    /**
+     * Expected message type with resolved test variables
+     */
+    private String resolvedValue;
+
     /**
      * Default constructor.
      *
@@ -42,6 +47,14 @@ public class MessageTypeCorrelationHandler extends AbstractCorrelationHandler {
 
     @Override
     public boolean isHandlerFor(Message message, TestContext context) {
-        return xPathPayloadMappingKeyExtractor.extractMappingKey(message).equals(context.replaceDynamicContentInString(value));
+        String expectedValue = resolvedValue != null ? resolvedValue : context.replaceDynamicContentInString(value);
+        return xPathPayloadMappingKeyExtractor.extractMappingKey(message).equals(expectedValue);
+    }
+
+    @Override
+    public void resolve(TestContext context) {
+        if (!isLateBinding()) {
+            resolvedValue = context.replaceDynamicContentInString(value);
+        }
     }
 }
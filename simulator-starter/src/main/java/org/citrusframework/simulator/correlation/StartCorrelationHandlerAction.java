@@ -45,6 +45,7 @@ public class StartCorrelationHandlerAction extends AbstractTestAction {
             .resolve(CorrelationHandlerRegistry.class);
 
         if (handlerRegistry != null) {
+            correlationHandler.resolve(context);
             handlerRegistry.register(correlationHandler, context);
         } else {
             throw new SimulatorException("Failed to get correlation handler registry in application context");
@@ -32,8 +32,14 @@ import org.springframework.context.ApplicationContext;
 public class XPathPayloadCorrelationHandler extends AbstractCorrelationHandler {
     private static final Logger LOG = LoggerFactory.getLogger(XPathPayloadCorrelationHandler.class);
     private final XPathPayloadMappingKeyExtractor xPathPayloadMappingKeyExtractor = new XPathPayloadMappingKeyExtractor();
+    private final String expression;
     private final String value;
 
+    /**
+     * Expected value with resolved test variables
+     */
+    private String resolvedValue;
+
     /**
      * Default constructor using expression value to match.
      *
@@ -44,20 +50,66 @@ public class XPathPayloadCorrelationHandler extends AbstractCorrelationHandler {
     public XPathPayloadCorrelationHandler(ScenarioEndpoint scenarioEndpoint, String expression, String value) {
         super(scenarioEndpoint);
         this.xPathPayloadMappingKeyExtractor.setXpathExpression(expression);
+        this.expression = expression;
         this.value = value;
     }
 
     @Override
     public boolean isHandlerFor(Message message, TestContext context) {
-        boolean isIntermediateMessage;
+        String payloadValue = extractValue(message);
+        String expectedValue = resolvedValue != null ? resolvedValue : context.replaceDynamicContentInString(value);
+        boolean isIntermediateMessage = payloadValue != null && payloadValue.equals(expectedValue);
+        LOG.debug("Intermediate message({}): {}", message.getId(), isIntermediateMessage);
+        return isIntermediateMessage;
+    }
+
+    @Override
+    public void resolve(TestContext context) {
+        if (!isLateBinding()) {
+            resolvedValue = context.replaceDynamicContentInString(value);
+        }
+    }
+
+    /**
+     * Evaluates the XPath expression on the message payload.
+     *
+     * @param message
+     * @return the evaluation result or {@code null} if the expression cannot be evaluated on the payload
+     */
+    public String extractValue(Message message) {
         try {
-            isIntermediateMessage = xPathPayloadMappingKeyExtractor.extractMappingKey(message).equals(context.replaceDynamicContentInString(value));
+            return xPathPayloadMappingKeyExtractor.extractMappingKey(message);
         } catch (RuntimeException e) {
             LOG.debug("Error checking whether message({}) is an intermediate message: {}", message.getId(), e.getMessage());
-            isIntermediateMessage = false;
+            return null;
         }
-        LOG.debug("Intermediate message({}): {}", message.getId(), isIntermediateMessage);
-        return isIntermediateMessage;
+    }
+
+    /**
+     * Gets the XPath expression evaluated on the message payload.
+     *
+     * @return
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Gets the expected expression result, may contain test variables.
+     *
+     * @return
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the expected expression result resolved on registration.
+     *
+     * @return the resolved value or {@code null} if not resolved yet or late bound
+     */
+    public String getResolvedValue() {
+        return resolvedValue;
     }
 
     public void lookupNamespaceContextBuilder(ApplicationContext applicationContext) {
@@ -53,8 +53,13 @@ public class EndpointMessageHandler {
 
     private void saveScenarioMessage(Message message, TestContext context, Direction direction) {
         Optional<Long> executionId = extractExecutionId(context);
+        if (executionId.isEmpty() || !activityService.isRecording(executionId.get())) {
+            // skip payload conversion for executions that are not persisted
+            return;
+        }
+
         Optional<String> citrusMessageId = extractCitrusMessageId(message);
-        if (executionId.isPresent() && citrusMessageId.isPresent()) {
+        if (citrusMessageId.isPresent()) {
             activityService.saveScenarioMessage(executionId.get(), direction,
                     message.getPayload(String.class), citrusMessageId.get(), message.getHeaders());
         }
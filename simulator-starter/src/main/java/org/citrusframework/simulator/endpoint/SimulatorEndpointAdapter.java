@@ -22,6 +22,7 @@ import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.correlation.CorrelationHandler;
 import org.citrusframework.simulator.correlation.CorrelationHandlerRegistry;
 import org.citrusframework.simulator.exception.SimulatorException;
+import org.citrusframework.simulator.scenario.ScenarioEndpoint;
 import org.citrusframework.simulator.scenario.SimulatorScenario;
 import org.citrusframework.simulator.service.ScenarioExecutionService;
 import org.slf4j.Logger;
@@ -67,24 +68,7 @@ public class SimulatorEndpointAdapter extends RequestDispatchingEndpointAdapter
     protected Message handleMessageInternal(Message request) {
         CorrelationHandler handler = handlerRegistry.findHandlerFor(request);
         if (handler != null) {
-            CompletableFuture<Message> responseFuture = new CompletableFuture<>();
-            handler.getScenarioEndpoint().add(request, responseFuture);
-
-            try {
-                if (handleResponse) {
-                    return responseFuture.get(configuration.getDefaultTimeout(), TimeUnit.MILLISECONDS);
-                } else {
-                    return null;
-                }
-            } catch (TimeoutException e) {
-                LOG.warn(String.format("No response for scenario '%s'", handler.getScenarioEndpoint().getName()));
-                return null;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new SimulatorException(e);
-            } catch (ExecutionException e) {
-                throw new SimulatorException(e);
-            }
+            return awaitResponse(handleCorrelatedMessage(handler, request), handler.getScenarioEndpoint().getName());
         } else {
             return super.handleMessageInternal(request);
         }
@@ -92,22 +76,71 @@ public class SimulatorEndpointAdapter extends RequestDispatchingEndpointAdapter
 
     @Override
     public Message dispatchMessage(Message request, String mappingName) {
-        String scenarioName = mappingName;
-        CompletableFuture<Message> responseFuture = new CompletableFuture<>();
-        SimulatorScenario scenario;
-        if (StringUtils.hasText(scenarioName) && applicationContext.containsBean(scenarioName)) {
-            scenario = applicationContext.getBean(scenarioName, SimulatorScenario.class);
+        String scenarioName = getScenarioName(mappingName);
+        return awaitResponse(runScenario(request, scenarioName), scenarioName);
+    }
+
+    /**
+     * Handles the request message without blocking the calling thread. The returned future completes as soon as
+     * the correlated or newly started scenario sends its response. Responses without payload are handed over to the
+     * fallback endpoint adapter in the same way as {@link #handleMessage(Message)} does. The caller is responsible
+     * for applying a timeout.
+     *
+     * @param request
+     * @return
+     */
+    public CompletableFuture<Message> handleMessageAsync(Message request) {
+        CompletableFuture<Message> responseFuture;
+
+        CorrelationHandler handler = handlerRegistry.findHandlerFor(request);
+        if (handler != null) {
+            responseFuture = handleCorrelatedMessage(handler, request);
         } else {
-            scenarioName = configuration.getDefaultScenario();
-            LOG.info("Unable to find scenario for mapping '{}' - " +
-                    "using default scenario '{}'", mappingName, scenarioName);
-            scenario = applicationContext.getBean(scenarioName, SimulatorScenario.class);
+            responseFuture = runScenario(request, getScenarioName(getMappingKeyExtractor().extractMappingKey(request)));
         }
 
-        scenario.getScenarioEndpoint().setName(scenarioName);
-        scenario.getScenarioEndpoint().add(request, responseFuture);
-        scenarioExecutionService.run(scenario, scenarioName, Collections.emptyList());
+        if (!handleResponse) {
+            responseFuture = CompletableFuture.completedFuture(null);
+        }
+
+        return responseFuture.thenApply(response -> {
+            if ((response == null || response.getPayload() == null) && getFallbackEndpointAdapter() != null) {
+                return getFallbackEndpointAdapter().handleMessage(request);
+            }
+
+            return response;
+        });
+    }
+
+    private CompletableFuture<Message> handleCorrelatedMessage(CorrelationHandler handler, Message request) {
+        CompletableFuture<Message> responseFuture = new CompletableFuture<>();
+        handler.getScenarioEndpoint().add(request, responseFuture);
+        return responseFuture;
+    }
+
+    private String getScenarioName(String mappingName) {
+        if (StringUtils.hasText(mappingName) && applicationContext.containsBean(mappingName)) {
+            return mappingName;
+        }
+
+        String scenarioName = configuration.getDefaultScenario();
+        LOG.info("Unable to find scenario for mapping '{}' - " +
+                "using default scenario '{}'", mappingName, scenarioName);
+        return scenarioName;
+    }
+
+    private CompletableFuture<Message> runScenario(Message request, String scenarioName) {
+        CompletableFuture<Message> responseFuture = new CompletableFuture<>();
+        SimulatorScenario scenario = applicationContext.getBean(scenarioName, SimulatorScenario.class);
+
+        ScenarioEndpoint scenarioEndpoint = scenarioExecutionService.createScenarioEndpoint(scenarioName);
+        scenarioEndpoint.add(request, responseFuture);
+        scenarioExecutionService.run(scenario, scenarioName, Collections.emptyList(), scenarioEndpoint);
+
+        return responseFuture;
+    }
 
+    private Message awaitResponse(CompletableFuture<Message> responseFuture, String scenarioName) {
         try {
             if (handleResponse) {
                 return responseFuture.get(configuration.getDefaultTimeout(), TimeUnit.MILLISECONDS);
@@ -90,6 +90,7 @@ public class SimulatorEndpointAutoConfiguration {
         endpointAdapter.setFallbackEndpointAdapter(simulatorFallbackEndpointAdapter());
 
         endpointPoller.setExceptionDelay(exceptionDelay());
+        endpointPoller.setConsumers(simulatorConfiguration.getEndpointConsumers());
 
         endpointPoller.setEndpointAdapter(endpointAdapter);
 
@@ -23,6 +23,7 @@ import org.citrusframework.endpoint.EndpointAdapter;
 import org.citrusframework.exceptions.ActionTimeoutException;
 import org.citrusframework.exceptions.CitrusRuntimeException;
 import org.citrusframework.message.Message;
+import org.citrusframework.messaging.Consumer;
 import org.citrusframework.messaging.Producer;
 import org.citrusframework.messaging.ReplyProducer;
 import org.citrusframework.simulator.exception.SimulatorException;
@@ -35,7 +36,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
 
-import java.util.concurrent.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Christoph Deppisch
@@ -61,9 +68,9 @@ public class SimulatorEndpointPoller implements InitializingBean, Runnable, Disp
             .build();
 
     /**
-     * Thread running the server
+     * Threads running the server, one per consumer
      */
-    private ExecutorService taskExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    private ExecutorService taskExecutor;
 
     /**
      * Message handler for incoming simulator request messages
@@ -85,13 +92,26 @@ public class SimulatorEndpointPoller implements InitializingBean, Runnable, Disp
      */
     private long exceptionDelay = 10000L;
 
+    /**
+     * Number of concurrent consumers polling the inbound endpoint.
+     */
+    private int consumers = 1;
+
+    /**
+     * Point in time (epoch millis) until which all consumers pause polling after an uncategorized exception.
+     */
+    private final AtomicLong pausedUntil = new AtomicLong();
+
     @Override
     public void run() {
         LOG.info("Simulator endpoint waiting for requests on endpoint '{}'", inboundEndpoint.getName());
 
-        long delay = 0L;
+        Consumer consumer = inboundEndpoint.createConsumer();
+        Producer producer = null;
+
         while (running.getNow(true)) {
             try {
+                long delay = pausedUntil.get() - System.currentTimeMillis();
                 if (delay > 0) {
                     try {
                         if (!running.get(delay, TimeUnit.MILLISECONDS)) {
@@ -99,19 +119,20 @@ public class SimulatorEndpointPoller implements InitializingBean, Runnable, Disp
                         }
                     } catch (TimeoutException e) {
                         LOG.info("Continue simulator endpoint polling after uncategorized exception");
-                    } finally {
-                        delay = 0;
                     }
                 }
 
                 TestContext context = testContextFactory.getObject();
-                Message message = inboundEndpoint.createConsumer().receive(context, inboundEndpoint.getEndpointConfiguration().getTimeout());
+                Message message = consumer.receive(context, inboundEndpoint.getEndpointConfiguration().getTimeout());
                 if (message != null) {
                     LOG.debug("Processing inbound message '{}'", message.getId());
                     Message response = endpointAdapter.handleMessage(processRequestMessage(message));
 
                     if (response != null) {
-                        Producer producer = inboundEndpoint.createProducer();
+                        if (producer == null) {
+                            producer = inboundEndpoint.createProducer();
+                        }
+
                         if (producer instanceof ReplyProducer) {
                             LOG.debug("Sending response message for inbound message '{}'", message.getId());
                             producer.send(processResponseMessage(response), context);
@@ -126,7 +147,7 @@ public class SimulatorEndpointPoller implements InitializingBean, Runnable, Disp
                     LOG.debug(e.getMessage(), e);
                 }
             } catch (Exception e) {
-                delay = exceptionDelay;
+                pausedUntil.accumulateAndGet(System.currentTimeMillis() + exceptionDelay, Math::max);
                 LOG.error("Unexpected error while processing: {}", e.getMessage());
                 if (LOG.isDebugEnabled()) {
                     LOG.debug(e.getMessage(), e);
@@ -159,19 +180,28 @@ public class SimulatorEndpointPoller implements InitializingBean, Runnable, Disp
     }
 
     /**
-     * Start up runnable in separate thread.
+     * Start up runnable in separate threads, one for each consumer.
      */
     public void start() {
-        taskExecutor.execute(this);
+        taskExecutor = Executors.newFixedThreadPool(consumers, threadFactory);
+
+        for (int i = 0; i < consumers; i++) {
+            taskExecutor.execute(this);
+        }
     }
 
     /**
-     * Stop runnable execution.
+     * Stop runnable execution on all consumer threads.
      */
     public void stop() {
+        if (taskExecutor == null || taskExecutor.isTerminated()) {
+            return;
+        }
+
         LOG.info("Simulator endpoint poller terminating ...");
 
         running.complete(false);
+        taskExecutor.shutdown();
 
         try {
             taskExecutor.awaitTermination(exceptionDelay, TimeUnit.MILLISECONDS);
@@ -242,6 +272,28 @@ public class SimulatorEndpointPoller implements InitializingBean, Runnable, Disp
         return exceptionDelay;
     }
 
+    /**
+     * Sets the number of concurrent consumers.
+     *
+     * @param consumers
+     */
+    public void setConsumers(int consumers) {
+        if (consumers < 1) {
+            throw new SimulatorException(String.format("Invalid number of endpoint consumers '%s' - must be at least 1", consumers));
+        }
+
+        this.consumers = consumers;
+    }
+
+    /**
+     * Gets the number of concurrent consumers.
+     *
+     * @return
+     */
+    public int getConsumers() {
+        return consumers;
+    }
+
     @Override
     public void onApplicationEvent(ContextClosedEvent event) {
         stop();
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.http;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Route table compiled once from the paths of a list of {@link HttpOperationScenario}. Routes are grouped by request
+ * method, each group holds a hash map of the exact request paths and a trie over the path segments of the parsed
+ * {@link PathPattern}s. Literal segments are looked up by name, all other segments are followed for any request
+ * segment. Candidates reached in the trie are confirmed with the path pattern.
+ * <p>
+ * A scenario with a path equal to the request path wins. Otherwise the most specific matching path pattern wins
+ * according to {@link PathPattern#SPECIFICITY_COMPARATOR}, the first scenario in the list wins between patterns of the
+ * same specificity.
+ */
+final class HttpOperationRouteTable {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private final List<HttpOperationScenario> scenarios;
+
+    /**
+     * Routes by request method name
+     */
+    private final Map<String, MethodRoutes> methodRoutes = new HashMap<>();
+
+    private HttpOperationRouteTable(List<HttpOperationScenario> scenarios) {
+        this.scenarios = scenarios;
+
+        PathPatternParser parser = new PathPatternParser();
+        Map<String, MethodRoutes.Builder> builders = new HashMap<>();
+        for (int order = 0; order < scenarios.size(); order++) {
+            HttpOperationScenario scenario = scenarios.get(order);
+            if (scenario.getPath() == null || scenario.getMethod() == null) {
+                continue;
+            }
+
+            PathPattern pattern;
+            try {
+                pattern = parser.parse(scenario.getPath());
+            } catch (IllegalArgumentException e) {
+                pattern = null;
+            }
+
+            builders.computeIfAbsent(scenario.getMethod().name(), method -> new MethodRoutes.Builder())
+                    .add(new Route(order, scenario, pattern));
+        }
+
+        builders.forEach((method, builder) -> methodRoutes.put(method, builder.build()));
+    }
+
+    /**
+     * Compiles the route table of the given scenarios.
+     *
+     * @param scenarios the scenarios
+     * @return the route table
+     */
+    static HttpOperationRouteTable compile(List<HttpOperationScenario> scenarios) {
+        return new HttpOperationRouteTable(scenarios);
+    }
+
+    /**
+     * Gets the scenarios this route table has been compiled from.
+     *
+     * @return
+     */
+    List<HttpOperationScenario> getScenarios() {
+        return scenarios;
+    }
+
+    /**
+     * Finds the scenario matching the given request method and path.
+     *
+     * @param method the request method name
+     * @param path   the request path
+     * @return the scenario or {@code null} if no scenario matches
+     */
+    HttpOperationScenario lookup(String method, String path) {
+        MethodRoutes routes = methodRoutes.get(method);
+        if (routes == null) {
+            return null;
+        }
+
+        Route route = routes.exactRoutes.get(path);
+        if (route == null) {
+            route = routes.findPattern(path);
+        }
+
+        return route != null ? route.scenario : null;
+    }
+
+    /**
+     * Routes of a single request method.
+     */
+    private static final class MethodRoutes {
+
+        private final Map<String, Route> exactRoutes;
+        private final PatternNode patterns;
+
+        private MethodRoutes(Map<String, Route> exactRoutes, PatternNode patterns) {
+            this.exactRoutes = exactRoutes;
+            this.patterns = patterns;
+        }
+
+        Route findPattern(String path) {
+            List<Route> candidates = new ArrayList<>();
+            patterns.collect(path.split(PATH_SEPARATOR), 0, candidates);
+            if (candidates.isEmpty()) {
+                return null;
+            }
+
+            PathContainer pathContainer = PathContainer.parsePath(path);
+            Route route = null;
+            for (Route candidate : candidates) {
+                if (candidate.pattern.matches(pathContainer) && (route == null || candidate.precedes(route))) {
+                    route = candidate;
+                }
+            }
+            return route;
+        }
+
+        private static final class Builder {
+
+            private final Map<String, Route> exactRoutes = new HashMap<>();
+            private final PatternNode patterns = new PatternNode();
+
+            void add(Route route) {
+                exactRoutes.putIfAbsent(route.scenario.getPath(), route);
+                if (route.pattern != null) {
+                    patterns.add(route, route.scenario.getPath().split(PATH_SEPARATOR));
+                }
+            }
+
+            MethodRoutes build() {
+                return new MethodRoutes(Map.copyOf(exactRoutes), patterns);
+            }
+        }
+    }
+
+    /**
+     * Trie node over path segments. Each node holds the routes whose pattern ends at this node and the routes whose
+     * pattern captures the remaining path from this node on.
+     */
+    private static final class PatternNode {
+
+        private final Map<String, PatternNode> literalChildren = new HashMap<>();
+        private PatternNode variableChild;
+        private final List<Route> routes = new ArrayList<>();
+        private final List<Route> remainingPathRoutes = new ArrayList<>();
+
+        void add(Route route, String[] segments) {
+            PatternNode node = this;
+            for (String segment : segments) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if (isRemainingPath(segment)) {
+                    node.remainingPathRoutes.add(route);
+                    return;
+                }
+                if (isLiteral(segment)) {
+                    node = node.literalChildren.computeIfAbsent(segment, key -> new PatternNode());
+                } else {
+                    if (node.variableChild == null) {
+                        node.variableChild = new PatternNode();
+                    }
+                    node = node.variableChild;
+                }
+            }
+            node.routes.add(route);
+        }
+
+        void collect(String[] segments, int index, List<Route> candidates) {
+            candidates.addAll(remainingPathRoutes);
+
+            while (index < segments.length && segments[index].isEmpty()) {
+                index++;
+            }
+            if (index == segments.length) {
+                candidates.addAll(routes);
+                return;
+            }
+
+            PatternNode literalChild = literalChildren.get(segments[index]);
+            if (literalChild != null) {
+                literalChild.collect(segments, index + 1, candidates);
+            }
+            if (variableChild != null) {
+                variableChild.collect(segments, index + 1, candidates);
+            }
+        }
+
+        private static boolean isRemainingPath(String segment) {
+            return segment.equals("**") || segment.startsWith("{*");
+        }
+
+        private static boolean isLiteral(String segment) {
+            return segment.indexOf('*') < 0 && segment.indexOf('?') < 0 && segment.indexOf('{') < 0;
+        }
+    }
+
+    /**
+     * Scenario route with its parsed path pattern.
+     */
+    private static final class Route {
+
+        private final int order;
+        private final HttpOperationScenario scenario;
+        private final PathPattern pattern;
+
+        private Route(int order, HttpOperationScenario scenario, PathPattern pattern) {
+            this.order = order;
+            this.scenario = scenario;
+            this.pattern = pattern;
+        }
+
+        /**
+         * Whether this route takes precedence over the given route, both matching the same path.
+         */
+        boolean precedes(Route other) {
+            int specificity = PathPattern.SPECIFICITY_COMPARATOR.compare(pattern, other.pattern);
+            return specificity < 0 || (specificity == 0 && order < other.order);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.http;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.citrusframework.http.message.HttpMessage;
+import org.citrusframework.simulator.scenario.Scenario;
+import org.citrusframework.simulator.scenario.SimulatorScenario;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+/**
+ * Route table compiled once from the {@link RequestMapping} annotations of a list of scenarios. Routes are grouped by
+ * request method, each group holds a hash map of the exact request paths and a trie over the literal leading segments
+ * of the path patterns. Query parameter constraints are parsed upfront.
+ * <p>
+ * The lookup follows the precedence of {@link HttpRequestAnnotationMatcher}: scenarios with a request path equal to
+ * the request win over scenarios with a matching path pattern, within each of these the first scenario in the list
+ * wins. Scenarios without request paths match any path.
+ */
+final class HttpRequestAnnotationRouteTable {
+
+    private static final Route[] NO_ROUTES = new Route[0];
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private final List<SimulatorScenario> scenarios;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Routes by request method name
+     */
+    private final Map<String, MethodRoutes> methodRoutes = new HashMap<>();
+
+    /**
+     * Routes of scenarios accepting all request methods, used for request methods not known to {@link RequestMethod}
+     */
+    private final MethodRoutes anyMethodRoutes;
+
+    private HttpRequestAnnotationRouteTable(List<SimulatorScenario> scenarios) {
+        this.scenarios = scenarios;
+
+        Map<String, MethodRoutes.Builder> builders = new HashMap<>();
+        for (RequestMethod method : RequestMethod.values()) {
+            builders.put(method.name(), new MethodRoutes.Builder());
+        }
+        MethodRoutes.Builder anyMethod = new MethodRoutes.Builder();
+
+        for (int order = 0; order < scenarios.size(); order++) {
+            SimulatorScenario scenario = scenarios.get(order);
+            RequestMapping requestMapping = AnnotationUtils.findAnnotation(scenario.getClass(), RequestMapping.class);
+            Scenario scenarioAnnotation = scenario.getClass().getAnnotation(Scenario.class);
+            if (requestMapping == null || scenarioAnnotation == null) {
+                continue;
+            }
+
+            Route route = new Route(order, scenarioAnnotation.value(), requestMapping.params());
+            if (requestMapping.method().length == 0) {
+                builders.values().forEach(builder -> builder.add(route, requestMapping.value()));
+                anyMethod.add(route, requestMapping.value());
+            } else {
+                for (RequestMethod method : requestMapping.method()) {
+                    builders.get(method.name()).add(route, requestMapping.value());
+                }
+            }
+        }
+
+        builders.forEach((method, builder) -> methodRoutes.put(method, builder.build()));
+        anyMethodRoutes = anyMethod.build();
+    }
+
+    /**
+     * Compiles the route table of the given scenarios.
+     *
+     * @param scenarios the scenarios, scenarios without request mapping are ignored
+     * @return the route table
+     */
+    static HttpRequestAnnotationRouteTable compile(List<SimulatorScenario> scenarios) {
+        return new HttpRequestAnnotationRouteTable(scenarios);
+    }
+
+    /**
+     * Gets the scenarios this route table has been compiled from.
+     *
+     * @return
+     */
+    List<SimulatorScenario> getScenarios() {
+        return scenarios;
+    }
+
+    /**
+     * Finds the name of the scenario matching the given request.
+     *
+     * @param request the http request
+     * @return the scenario name or {@code null} if no scenario matches
+     */
+    String lookup(HttpMessage request) {
+        String path = request.getPath() != null ? request.getPath() : "";
+        String method = request.getRequestMethod() != null ? request.getRequestMethod().name() : RequestMethod.POST.name();
+        Map<String, ?> queryParams = request.getQueryParams();
+
+        MethodRoutes routes = methodRoutes.getOrDefault(method, anyMethodRoutes);
+        Route route = routes.findExact(path, queryParams);
+        if (route == null) {
+            route = routes.findPattern(path, queryParams, pathMatcher);
+        }
+
+        return route != null ? route.name : null;
+    }
+
+    /**
+     * Routes of a single request method.
+     */
+    private static final class MethodRoutes {
+
+        private final Map<String, Route[]> exactRoutes;
+        private final Route[] anyPathRoutes;
+        private final PatternNode patterns;
+
+        private MethodRoutes(Map<String, Route[]> exactRoutes, Route[] anyPathRoutes, PatternNode patterns) {
+            this.exactRoutes = exactRoutes;
+            this.anyPathRoutes = anyPathRoutes;
+            this.patterns = patterns;
+        }
+
+        Route findExact(String path, Map<String, ?> queryParams) {
+            Route route = first(exactRoutes.getOrDefault(path, NO_ROUTES), queryParams, null);
+            return first(anyPathRoutes, queryParams, route);
+        }
+
+        Route findPattern(String path, Map<String, ?> queryParams, PathMatcher pathMatcher) {
+            Route route = first(anyPathRoutes, queryParams, null);
+
+            PatternNode node = patterns;
+            int segmentStart = 0;
+            while (node != null) {
+                route = firstMatching(node.patterns, node.routes, path, queryParams, pathMatcher, route);
+
+                while (segmentStart < path.length() && path.charAt(segmentStart) == '/') {
+                    segmentStart++;
+                }
+                if (segmentStart == path.length()) {
+                    break;
+                }
+                int segmentEnd = path.indexOf('/', segmentStart);
+                if (segmentEnd < 0) {
+                    segmentEnd = path.length();
+                }
+
+                node = node.child(path, segmentStart, segmentEnd);
+                segmentStart = segmentEnd;
+            }
+
+            return route;
+        }
+
+        /**
+         * Gets the first of the given routes accepting the query parameters, unless the current route comes first.
+         */
+        private static Route first(Route[] routes, Map<String, ?> queryParams, Route current) {
+            for (Route route : routes) {
+                if (current != null && current.order <= route.order) {
+                    break;
+                }
+                if (route.acceptsQueryParams(queryParams)) {
+                    return route;
+                }
+            }
+            return current;
+        }
+
+        /**
+         * Gets the first of the given routes with its path pattern matching the path and accepting the query
+         * parameters, unless the current route comes first.
+         */
+        private static Route firstMatching(String[] patterns, Route[] routes, String path, Map<String, ?> queryParams,
+                                           PathMatcher pathMatcher, Route current) {
+            for (int i = 0; i < routes.length; i++) {
+                Route route = routes[i];
+                if (current != null && current.order <= route.order) {
+                    break;
+                }
+                if (pathMatcher.match(patterns[i], path) && route.acceptsQueryParams(queryParams)) {
+                    return route;
+                }
+            }
+            return current;
+        }
+
+        private static final class Builder {
+
+            private final Map<String, List<Route>> exactRoutes = new HashMap<>();
+            private final List<Route> anyPathRoutes = new ArrayList<>();
+            private final PatternNode.Builder patterns = new PatternNode.Builder();
+
+            void add(Route route, String[] paths) {
+                if (paths.length == 0) {
+                    anyPathRoutes.add(route);
+                    return;
+                }
+
+                for (String path : paths) {
+                    List<Route> routes = exactRoutes.computeIfAbsent(path, key -> new ArrayList<>());
+                    if (routes.isEmpty() || routes.get(routes.size() - 1) != route) {
+                        routes.add(route);
+                    }
+                    patterns.add(route, path);
+                }
+            }
+
+            MethodRoutes build() {
+                Map<String, Route[]> exact = new HashMap<>();
+                exactRoutes.forEach((path, routes) -> exact.put(path, routes.toArray(NO_ROUTES)));
+                return new MethodRoutes(exact, anyPathRoutes.toArray(NO_ROUTES), patterns.build());
+            }
+        }
+    }
+
+    /**
+     * Trie node over literal path segments. Each node holds the path patterns whose literal leading segments end at
+     * this node, ordered by scenario order. Candidates collected along the request path are confirmed with the path
+     * matcher, so the trie only narrows down the patterns to match.
+     */
+    private static final class PatternNode {
+
+        private final String[] segments;
+        private final PatternNode[] children;
+        private final String[] patterns;
+        private final Route[] routes;
+
+        private PatternNode(String[] segments, PatternNode[] children, String[] patterns, Route[] routes) {
+            this.segments = segments;
+            this.children = children;
+            this.patterns = patterns;
+            this.routes = routes;
+        }
+
+        PatternNode child(String path, int start, int end) {
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.length() == end - start && path.regionMatches(start, segment, 0, segment.length())) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private static final class Builder {
+
+            private final Map<String, Builder> children = new HashMap<>();
+            private final List<String> patterns = new ArrayList<>();
+            private final List<Route> routes = new ArrayList<>();
+
+            void add(Route route, String pattern) {
+                Builder node = this;
+                for (String segment : pattern.split(PATH_SEPARATOR)) {
+                    if (segment.isEmpty()) {
+                        continue;
+                    }
+                    if (isWildcard(segment)) {
+                        break;
+                    }
+                    node = node.children.computeIfAbsent(segment, key -> new Builder());
+                }
+                node.patterns.add(pattern);
+                node.routes.add(route);
+            }
+
+            PatternNode build() {
+                String[] segments = children.keySet().toArray(new String[0]);
+                PatternNode[] nodes = new PatternNode[segments.length];
+                for (int i = 0; i < segments.length; i++) {
+                    nodes[i] = children.get(segments[i]).build();
+                }
+                return new PatternNode(segments, nodes, patterns.toArray(new String[0]), routes.toArray(NO_ROUTES));
+            }
+
+            private static boolean isWildcard(String segment) {
+                return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+            }
+        }
+    }
+
+    /**
+     * Scenario route with its parsed query parameter constraints.
+     */
+    private static final class Route {
+
+        private static final String CANNOT_CONTAIN_KEY_PREFIX = "!";
+
+        private final int order;
+        private final String name;
+        private final String[] requiredParams;
+        private final String[] forbiddenParams;
+
+        private Route(int order, String name, String[] params) {
+            this.order = order;
+            this.name = name;
+            this.requiredParams = Arrays.stream(params)
+                    .filter(param -> !param.startsWith(CANNOT_CONTAIN_KEY_PREFIX))
+                    .toArray(String[]::new);
+            this.forbiddenParams = Arrays.stream(params)
+                    .filter(param -> param.startsWith(CANNOT_CONTAIN_KEY_PREFIX))
+                    .map(param -> param.substring(CANNOT_CONTAIN_KEY_PREFIX.length()))
+                    .toArray(String[]::new);
+        }
+
+        boolean acceptsQueryParams(Map<String, ?> queryParams) {
+            for (String param : requiredParams) {
+                if (!queryParams.containsKey(param)) {
+                    return false;
+                }
+            }
+            for (String param : forbiddenParams) {
+                if (queryParams.containsKey(param)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
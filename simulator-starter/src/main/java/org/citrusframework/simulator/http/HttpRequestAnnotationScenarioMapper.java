@@ -18,24 +18,19 @@ package org.citrusframework.simulator.http;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import org.citrusframework.http.message.HttpMessage;
 import org.citrusframework.message.Message;
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
-import org.citrusframework.simulator.scenario.Scenario;
 import org.citrusframework.simulator.scenario.ScenarioListAware;
 import org.citrusframework.simulator.scenario.SimulatorScenario;
 import org.citrusframework.simulator.scenario.mapper.AbstractScenarioMapper;
-import lombok.Builder;
-import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.annotation.AnnotationUtils;
-import org.springframework.web.bind.annotation.RequestMapping;
 
 /**
  * Scenario mapper performs mapping logic on request mapping annotations on given scenarios. Scenarios match on request method as well as
- * request path pattern matching.
+ * request path pattern matching. The request mappings are compiled into a route table once per scenario list, so requests are not matched
+ * against every scenario.
  *
  * @author Christoph Deppisch
  */
@@ -44,7 +39,10 @@ public class HttpRequestAnnotationScenarioMapper extends AbstractScenarioMapper
     @Autowired(required = false)
     private List<SimulatorScenario> scenarioList = new ArrayList<>();
 
-    private final HttpRequestAnnotationMatcher httpRequestAnnotationMatcher = HttpRequestAnnotationMatcher.instance();
+    /**
+     * Route table compiled from the request mappings of the scenario list
+     */
+    private volatile HttpRequestAnnotationRouteTable routeTable;
 
     @Override
     protected String getMappingKey(Message request) {
@@ -55,51 +53,22 @@ public class HttpRequestAnnotationScenarioMapper extends AbstractScenarioMapper
         return super.getMappingKey(request);
     }
 
-    @Data
-    @Builder
-    private static final class EnrichedScenarioWithRequestMapping {
-        final SimulatorScenario scenario;
-        final RequestMapping requestMapping;
-
-        public boolean hasRequestMapping() {
-            return requestMapping != null;
-        }
-
-        public String name() {
-            return scenario.getClass().getAnnotation(Scenario.class).value();
-        }
-    }
-
     protected String getMappingKeyForHttpMessage(HttpMessage httpMessage) {
-        Optional<String> mapping = scenarioList.stream()
-                .map(scenario -> EnrichedScenarioWithRequestMapping.builder()
-                        .scenario(scenario)
-                        .requestMapping(AnnotationUtils.findAnnotation(scenario.getClass(), RequestMapping.class))
-                        .build()
-                )
-                .filter(EnrichedScenarioWithRequestMapping::hasRequestMapping)
-                .filter(swrm -> httpRequestAnnotationMatcher.checkRequestPathSupported(httpMessage, swrm.getRequestMapping(), true))
-                .filter(swrm -> httpRequestAnnotationMatcher.checkRequestMethodSupported(httpMessage, swrm.getRequestMapping()))
-                .filter(swrm -> httpRequestAnnotationMatcher.checkRequestQueryParamsSupported(httpMessage, swrm.getRequestMapping()))
-                .map(EnrichedScenarioWithRequestMapping::name)
-                .findFirst();
+        String mapping = getRouteTable().lookup(httpMessage);
+        return mapping != null ? mapping : super.getMappingKey(httpMessage);
+    }
 
-        if (!mapping.isPresent()) {
-            mapping = scenarioList.stream()
-                    .map(scenario -> EnrichedScenarioWithRequestMapping.builder()
-                            .scenario(scenario)
-                            .requestMapping(AnnotationUtils.findAnnotation(scenario.getClass(), RequestMapping.class))
-                            .build()
-                    )
-                    .filter(EnrichedScenarioWithRequestMapping::hasRequestMapping)
-                    .filter(swrm -> httpRequestAnnotationMatcher.checkRequestPathSupported(httpMessage, swrm.getRequestMapping(), false))
-                    .filter(swrm -> httpRequestAnnotationMatcher.checkRequestMethodSupported(httpMessage, swrm.getRequestMapping()))
-                    .filter(swrm -> httpRequestAnnotationMatcher.checkRequestQueryParamsSupported(httpMessage, swrm.getRequestMapping()))
-                    .map(EnrichedScenarioWithRequestMapping::name)
-                    .findFirst();
+    /**
+     * Gets the route table of the current scenario list, compiling it in case the list has been injected or replaced
+     * since the last request.
+     */
+    private HttpRequestAnnotationRouteTable getRouteTable() {
+        HttpRequestAnnotationRouteTable routes = routeTable;
+        if (routes == null || routes.getScenarios() != scenarioList) {
+            routes = HttpRequestAnnotationRouteTable.compile(scenarioList);
+            routeTable = routes;
         }
-
-        return mapping.orElseGet(() -> super.getMappingKey(httpMessage));
+        return routes;
     }
 
     /**
@@ -117,12 +86,13 @@ public class HttpRequestAnnotationScenarioMapper extends AbstractScenarioMapper
      * @param scenarios
      */
     public void setScenarios(List<SimulatorScenario> scenarios) {
-        this.scenarioList = scenarios;
+        setScenarioList(scenarios);
     }
 
     @Override
     public void setScenarioList(List<SimulatorScenario> scenarioList) {
         this.scenarioList = scenarioList;
+        this.routeTable = HttpRequestAnnotationRouteTable.compile(scenarioList);
     }
 
     /**
@@ -18,7 +18,6 @@ package org.citrusframework.simulator.http;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.citrusframework.http.message.HttpMessage;
 import org.citrusframework.message.Message;
@@ -27,11 +26,11 @@ import org.citrusframework.simulator.scenario.ScenarioListAware;
 import org.citrusframework.simulator.scenario.SimulatorScenario;
 import org.citrusframework.simulator.scenario.mapper.AbstractScenarioMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.util.AntPathMatcher;
-import org.springframework.util.PathMatcher;
 
 /**
- * Scenario mapper supports path pattern matching on request path.
+ * Scenario mapper supports path pattern matching on request path. The scenario paths are parsed with
+ * {@link org.springframework.web.util.pattern.PathPatternParser} and compiled into a route table once per scenario
+ * list, where a scenario path equal to the request path wins over the most specific matching path pattern.
  *
  * @author Christoph Deppisch
  */
@@ -40,29 +39,20 @@ public class HttpRequestPathScenarioMapper extends AbstractScenarioMapper implem
     @Autowired(required = false)
     private List<HttpOperationScenario> scenarioList = new ArrayList<>();
 
-    /** Request path matcher */
-    private PathMatcher pathMatcher = new AntPathMatcher();
+    /**
+     * Route table compiled from the paths of the scenario list
+     */
+    private volatile HttpOperationRouteTable routeTable;
 
     @Override
     protected String getMappingKey(Message request) {
-        if (request instanceof HttpMessage) {
-            String requestPath = ((HttpMessage) request).getPath();
+        if (request instanceof HttpMessage httpMessage) {
+            String requestPath = httpMessage.getPath();
 
-            if (requestPath != null) {
-                for (HttpOperationScenario scenario : scenarioList) {
-                    if (scenario.getPath().equals(requestPath)) {
-                        if (scenario.getMethod().name().equals(((HttpMessage) request).getRequestMethod().name())) {
-                            return scenario.getOperation().getOperationId();
-                        }
-                    }
-                }
-
-                for (HttpOperationScenario scenario : scenarioList) {
-                    if (pathMatcher.match(scenario.getPath(), requestPath)) {
-                        if (scenario.getMethod().name().equals(((HttpMessage) request).getRequestMethod().name())) {
-                            return scenario.getOperation().getOperationId();
-                        }
-                    }
+            if (requestPath != null && httpMessage.getRequestMethod() != null) {
+                HttpOperationScenario scenario = getRouteTable().lookup(httpMessage.getRequestMethod().name(), requestPath);
+                if (scenario != null) {
+                    return scenario.getOperation().getOperationId();
                 }
             }
         }
@@ -70,6 +60,19 @@ public class HttpRequestPathScenarioMapper extends AbstractScenarioMapper implem
         return super.getMappingKey(request);
     }
 
+    /**
+     * Gets the route table of the current scenario list, compiling it in case the list has been injected or replaced
+     * since the last request.
+     */
+    private HttpOperationRouteTable getRouteTable() {
+        HttpOperationRouteTable routes = routeTable;
+        if (routes == null || routes.getScenarios() != scenarioList) {
+            routes = HttpOperationRouteTable.compile(scenarioList);
+            routeTable = routes;
+        }
+        return routes;
+    }
+
     /**
      * Gets the httpScenarios.
      *
@@ -86,6 +89,7 @@ public class HttpRequestPathScenarioMapper extends AbstractScenarioMapper implem
      */
     public void setHttpScenarios(List<HttpOperationScenario> httpScenarios) {
         this.scenarioList = httpScenarios;
+        this.routeTable = HttpOperationRouteTable.compile(httpScenarios);
     }
 
     @Override
@@ -94,6 +98,7 @@ public class HttpRequestPathScenarioMapper extends AbstractScenarioMapper implem
                                         .filter(scenario -> scenario instanceof HttpOperationScenario)
                                         .map(scenario -> (HttpOperationScenario) scenario)
                                         .toList();
+        this.routeTable = HttpOperationRouteTable.compile(this.scenarioList);
     }
 
     /**
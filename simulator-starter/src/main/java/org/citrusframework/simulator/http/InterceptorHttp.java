@@ -18,32 +18,69 @@ package org.citrusframework.simulator.http;
 
 import org.citrusframework.http.controller.HttpMessageController;
 import org.citrusframework.message.RawMessage;
+import org.citrusframework.report.MessageListener;
 import org.citrusframework.report.MessageListeners;
-import org.citrusframework.util.FileUtils;
+import org.citrusframework.simulator.listener.SimulatorMessageListener;
 import org.citrusframework.util.TypeConversionUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Interceptor for {@literal <citrus-http:server />} endpoints. Adding this interceptor to a http-endpoint ensures that
  * {@code MessageListeners} are notified when a http message is sent or received.
+ * <p>
+ * Request and response payloads are only captured when a listener consumes them: the {@link SimulatorMessageListener}
+ * does so with debug logging enabled only, the reporters of the Citrus framework are notified along with it and never
+ * require payloads on their own, any other listener always does. Payloads are truncated to the configured payload
+ * limit, if any, which counts bytes of the request body and binary response bodies and characters of text response
+ * bodies. Truncation never splits a character. The request body is read from the cached request of the
+ * {@link org.citrusframework.http.servlet.RequestCachingServletFilter}, reading no more than the payload limit.
  */
 public class InterceptorHttp implements HandlerInterceptor {
 
+    /** Payload limit disabling truncation */
+    public static final int UNLIMITED = 0;
+
+    /** Package of the Citrus framework listeners, which only log payloads on debug level */
+    private static final String CITRUS_PACKAGE = "org.citrusframework.";
+
+    private static final String SIMULATOR_PACKAGE = "org.citrusframework.simulator.";
+
+    private static final String TRUNCATED_SUFFIX = "...";
+
     private final MessageListeners messageListeners;
 
+    private final int payloadLimit;
+
     public InterceptorHttp(MessageListeners messageListeners) {
+        this(messageListeners, UNLIMITED);
+    }
+
+    public InterceptorHttp(MessageListeners messageListeners, int payloadLimit) {
+        if (payloadLimit < 0) {
+            throw new IllegalArgumentException("Payload limit must not be negative: " + payloadLimit);
+        }
+
         this.messageListeners = messageListeners;
+        this.payloadLimit = payloadLimit;
     }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        if (messageListeners != null) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC && isPayloadRequired()) {
             messageListeners.onInboundMessage(new RawMessage(getRequestContent(request)), null);
         }
         return true;
@@ -51,7 +88,7 @@ public class InterceptorHttp implements HandlerInterceptor {
 
     @Override
     public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        if (messageListeners != null) {
+        if (isPayloadRequired()) {
             messageListeners.onOutboundMessage(new RawMessage(getResponseContent(request, response, handler)), null);
         }
     }
@@ -61,8 +98,49 @@ public class InterceptorHttp implements HandlerInterceptor {
 
     }
 
+    /**
+     * Checks whether any of the message listeners consumes message payloads. The {@link SimulatorMessageListener} does
+     * so when enabled, listeners of the Citrus framework never do on their own and all other listeners always do.
+     *
+     * @return
+     */
+    private boolean isPayloadRequired() {
+        if (messageListeners == null || messageListeners.isEmpty()) {
+            return false;
+        }
+
+        for (MessageListener listener : messageListeners.getMessageListener()) {
+            if (listener instanceof SimulatorMessageListener simulatorMessageListener) {
+                if (simulatorMessageListener.isEnabled()) {
+                    return true;
+                }
+            } else if (!isCitrusListener(listener)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isCitrusListener(MessageListener listener) {
+        String className = listener.getClass().getName();
+        return className.startsWith(CITRUS_PACKAGE) && !className.startsWith(SIMULATOR_PACKAGE);
+    }
+
     private String getRequestContent(HttpServletRequest request) throws IOException {
-        return FileUtils.readToString(request.getInputStream());
+        Charset charset = request.getCharacterEncoding() != null ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+
+        InputStream inputStream = request.getInputStream();
+        if (payloadLimit == UNLIMITED) {
+            return new String(inputStream.readAllBytes(), charset);
+        }
+
+        byte[] content = inputStream.readNBytes(payloadLimit);
+        if (content.length == payloadLimit && inputStream.read() != -1) {
+            return decodeTruncated(content, payloadLimit, charset) + TRUNCATED_SUFFIX;
+        }
+
+        return new String(content, charset);
     }
 
     private String getResponseContent(HttpServletRequest request, HttpServletResponse response, Object handler) {
@@ -70,9 +148,55 @@ public class InterceptorHttp implements HandlerInterceptor {
             HttpMessageController handlerController = (HttpMessageController) handler;
             ResponseEntity<?> responseEntity = handlerController.getResponseCache(request);
             if (responseEntity != null) {
-                return TypeConversionUtils.convertIfNecessary(responseEntity.getBody(), String.class);
+                return truncate(responseEntity.getBody());
+            }
+        } else if (handler instanceof SimulatorAsyncHttpMessageController) {
+            SimulatorAsyncHttpMessageController handlerController = (SimulatorAsyncHttpMessageController) handler;
+            ResponseEntity<?> responseEntity = handlerController.getResponseCache(request);
+            if (responseEntity != null) {
+                return truncate(responseEntity.getBody());
             }
         }
         return "Could not extract Http Response";
     }
+
+    private String truncate(Object body) {
+        if (payloadLimit == UNLIMITED) {
+            return TypeConversionUtils.convertIfNecessary(body, String.class);
+        }
+
+        if (body instanceof byte[] bytes && bytes.length > payloadLimit) {
+            return decodeTruncated(bytes, payloadLimit, StandardCharsets.UTF_8) + TRUNCATED_SUFFIX;
+        }
+
+        String payload = TypeConversionUtils.convertIfNecessary(body, String.class);
+        if (payload == null || payload.length() <= payloadLimit) {
+            return payload;
+        }
+
+        int end = payloadLimit;
+        if (Character.isHighSurrogate(payload.charAt(end - 1))) {
+            end--;
+        }
+        return payload.substring(0, end) + TRUNCATED_SUFFIX;
+    }
+
+    /**
+     * Decodes the first bytes of a truncated payload. A multibyte character cut off by the limit is dropped instead of
+     * being decoded into a replacement character.
+     *
+     * @param bytes
+     * @param length
+     * @param charset
+     * @return
+     */
+    private static String decodeTruncated(byte[] bytes, int length, Charset charset) {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate((int) Math.ceil(length * (double) decoder.maxCharsPerByte()));
+        // Without end of input the decoder leaves an incomplete trailing sequence undecoded
+        decoder.decode(ByteBuffer.wrap(bytes, 0, length), chars, false);
+        return chars.flip().toString();
+    }
 }
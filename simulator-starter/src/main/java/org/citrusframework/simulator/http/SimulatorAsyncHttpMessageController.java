@@ -0,0 +1,185 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.http;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.citrusframework.http.client.HttpEndpointConfiguration;
+import org.citrusframework.http.message.HttpMessage;
+import org.citrusframework.message.Message;
+import org.citrusframework.simulator.endpoint.SimulatorEndpointAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.Enumeration;
+import java.util.Optional;
+
+/**
+ * Asynchronous variant of the Citrus {@link org.citrusframework.http.controller.HttpMessageController}. Instead of
+ * blocking the servlet container thread until the scenario has produced its response, the request is handed over to
+ * the {@link SimulatorEndpointAdapter} and the container thread is released immediately. The response is written as
+ * soon as the scenario sends it, or when the async request timeout elapses.
+ */
+public class SimulatorAsyncHttpMessageController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulatorAsyncHttpMessageController.class);
+
+    /**
+     * Request attribute holding the response entity once the scenario has responded
+     */
+    public static final String RESPONSE_ENTITY_ATTRIBUTE = SimulatorAsyncHttpMessageController.class.getName() + ".RESPONSE_ENTITY";
+
+    /**
+     * Endpoint adapter dispatching requests to simulator scenarios
+     */
+    private SimulatorEndpointAdapter endpointAdapter;
+
+    /**
+     * Endpoint configuration providing message converter and default status code
+     */
+    private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+
+    /**
+     * Async request timeout in milliseconds, applied by the servlet container
+     */
+    private Long timeout;
+
+    @RequestMapping(value = "**")
+    public DeferredResult<ResponseEntity<?>> handleRequest(HttpEntity<Object> requestEntity, HttpServletRequest servletRequest, HttpServletResponse servletResponse) {
+        HttpMessage request = createRequestMessage(requestEntity, servletRequest);
+
+        DeferredResult<ResponseEntity<?>> deferredResult = new DeferredResult<>(timeout);
+        deferredResult.onTimeout(() -> {
+            logger.warn("No response for request '{} {}'", servletRequest.getMethod(), request.getPath());
+            deferredResult.setResult(createResponseEntity(endpointAdapter.getFallbackEndpointAdapter() != null ?
+                    endpointAdapter.getFallbackEndpointAdapter().handleMessage(request) : null, servletRequest, servletResponse));
+        });
+
+        endpointAdapter.handleMessageAsync(request)
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        deferredResult.setErrorResult(e);
+                    } else {
+                        deferredResult.setResult(createResponseEntity(response, servletRequest, servletResponse));
+                    }
+                });
+
+        return deferredResult;
+    }
+
+    private HttpMessage createRequestMessage(HttpEntity<?> requestEntity, HttpServletRequest servletRequest) {
+        HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration, null);
+
+        for (String name : CollectionUtils.toArray(servletRequest.getHeaderNames(), new String[]{})) {
+            if (request.getHeader(name) == null) {
+                String value = servletRequest.getHeader(name);
+                request.header(name, value != null ? value : "");
+            }
+        }
+
+        if (endpointConfiguration.isHandleCookies()) {
+            request.setCookies(servletRequest.getCookies());
+        }
+
+        if (endpointConfiguration.isHandleAttributeHeaders()) {
+            Enumeration<String> attributeNames = servletRequest.getAttributeNames();
+            while (attributeNames.hasMoreElements()) {
+                String name = attributeNames.nextElement();
+                request.setHeader(name, servletRequest.getAttribute(name));
+            }
+        }
+
+        UrlPathHelper urlPathHelper = new UrlPathHelper();
+        request.path(urlPathHelper.getRequestUri(servletRequest))
+                .uri(urlPathHelper.getRequestUri(servletRequest))
+                .contextPath(urlPathHelper.getContextPath(servletRequest))
+                .queryParams(Optional.ofNullable(urlPathHelper.getOriginatingQueryString(servletRequest))
+                        .map(queryString -> queryString.replaceAll("&", ","))
+                        .orElse(""))
+                .version(servletRequest.getProtocol())
+                .method(HttpMethod.valueOf(servletRequest.getMethod()));
+
+        return request;
+    }
+
+    private ResponseEntity<?> createResponseEntity(Message response, HttpServletRequest servletRequest, HttpServletResponse servletResponse) {
+        ResponseEntity<?> responseEntity;
+
+        if (response == null) {
+            responseEntity = new ResponseEntity<>(HttpStatus.valueOf(endpointConfiguration.getDefaultStatusCode()));
+        } else {
+            HttpMessage httpResponse = response instanceof HttpMessage ? (HttpMessage) response : new HttpMessage(response);
+            if (httpResponse.getStatusCode() == null) {
+                httpResponse.status(HttpStatus.valueOf(endpointConfiguration.getDefaultStatusCode()));
+            }
+
+            responseEntity = (ResponseEntity<?>) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration, null);
+
+            if (endpointConfiguration.isHandleCookies() && httpResponse.getCookies() != null) {
+                for (Cookie cookie : httpResponse.getCookies()) {
+                    servletResponse.addCookie(cookie);
+                }
+            }
+        }
+
+        servletRequest.setAttribute(RESPONSE_ENTITY_ATTRIBUTE, responseEntity);
+        return responseEntity;
+    }
+
+    /**
+     * Gets the response entity that has been sent for the given request.
+     *
+     * @param request
+     * @return the response entity or {@code null} if the scenario did not respond yet
+     */
+    public ResponseEntity<?> getResponseCache(HttpServletRequest request) {
+        return (ResponseEntity<?>) request.getAttribute(RESPONSE_ENTITY_ATTRIBUTE);
+    }
+
+    public SimulatorEndpointAdapter getEndpointAdapter() {
+        return endpointAdapter;
+    }
+
+    public void setEndpointAdapter(SimulatorEndpointAdapter endpointAdapter) {
+        this.endpointAdapter = endpointAdapter;
+    }
+
+    public HttpEndpointConfiguration getEndpointConfiguration() {
+        return endpointConfiguration;
+    }
+
+    public void setEndpointConfiguration(HttpEndpointConfiguration endpointConfiguration) {
+        this.endpointConfiguration = endpointConfiguration;
+    }
+
+    public Long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Long timeout) {
+        this.timeout = timeout;
+    }
+}
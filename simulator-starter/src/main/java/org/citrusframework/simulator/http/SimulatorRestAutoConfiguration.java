@@ -32,6 +32,7 @@ import org.citrusframework.http.message.DelegatingHttpEntityMessageConverter;
 import org.citrusframework.http.servlet.RequestCachingServletFilter;
 import org.citrusframework.report.MessageListeners;
 import org.citrusframework.simulator.SimulatorAutoConfiguration;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.endpoint.SimulatorEndpointAdapter;
 import org.citrusframework.simulator.listener.SimulatorMessageListener;
 import org.citrusframework.simulator.scenario.mapper.ScenarioMapper;
@@ -82,11 +83,19 @@ public class SimulatorRestAutoConfiguration {
     @Autowired
     private SimulatorRestConfigurationProperties simulatorRestConfiguration;
 
+    @Autowired
+    private SimulatorConfigurationProperties simulatorConfiguration;
+
     /**
      * Target Citrus Http controller
      */
     private HttpMessageController restController;
 
+    /**
+     * Target asynchronous Http controller
+     */
+    private SimulatorAsyncHttpMessageController asyncRestController;
+
     @Bean
     public FilterRegistrationBean<RequestCachingServletFilter> requestCachingFilter() {
         FilterRegistrationBean<RequestCachingServletFilter> filterRegistrationBean = new FilterRegistrationBean<>(new RequestCachingServletFilter());
@@ -107,7 +116,7 @@ public class SimulatorRestAutoConfiguration {
         handlerMapping.setAlwaysUseFullPath(true);
 
         Map<String, Object> mappings = new HashMap<>();
-        mappings.put(getUrlMapping(), createRestController(applicationContext));
+        mappings.put(getUrlMapping(), getRestController(applicationContext));
 
         handlerMapping.setUrlMap(mappings);
         handlerMapping.setInterceptors(interceptors());
@@ -120,7 +129,7 @@ public class SimulatorRestAutoConfiguration {
         final RequestMappingHandlerMapping handlerMapping = new RequestMappingHandlerMapping() {
             @Override
             protected void initHandlerMethods() {
-                detectHandlerMethods(createRestController(applicationContext));
+                detectHandlerMethods(getRestController(applicationContext));
                 super.initHandlerMethods();
             }
 
@@ -140,7 +149,7 @@ public class SimulatorRestAutoConfiguration {
         return new SimpleControllerHandlerAdapter() {
             @Override
             public boolean supports(Object handler) {
-                return handler instanceof HttpMessageController;
+                return handler instanceof HttpMessageController || handler instanceof SimulatorAsyncHttpMessageController;
             }
 
             @Override
@@ -164,6 +173,43 @@ public class SimulatorRestAutoConfiguration {
         return new EmptyResponseEndpointAdapter();
     }
 
+    /**
+     * Gets the Http REST controller to map inbound requests to. Depending on the configuration this is either the
+     * synchronous Citrus Http REST controller or the asynchronous simulator controller.
+     *
+     * @param applicationContext
+     * @return
+     */
+    protected Object getRestController(ApplicationContext applicationContext) {
+        if (isAsync()) {
+            return createAsyncRestController(applicationContext);
+        }
+
+        return createRestController(applicationContext);
+    }
+
+    /**
+     * Gets the asynchronous Http REST controller.
+     *
+     * @param applicationContext
+     * @return
+     */
+    protected SimulatorAsyncHttpMessageController createAsyncRestController(ApplicationContext applicationContext) {
+        if (asyncRestController == null) {
+            asyncRestController = new SimulatorAsyncHttpMessageController();
+
+            SimulatorEndpointAdapter endpointAdapter = simulatorRestEndpointAdapter();
+            endpointAdapter.setApplicationContext(applicationContext);
+            endpointAdapter.setMappingKeyExtractor(simulatorRestScenarioMapper());
+            endpointAdapter.setFallbackEndpointAdapter(simulatorRestFallbackEndpointAdapter());
+
+            asyncRestController.setEndpointAdapter(endpointAdapter);
+            asyncRestController.setTimeout(simulatorConfiguration.getDefaultTimeout());
+        }
+
+        return asyncRestController;
+    }
+
     /**
      * Gets the Citrus Http REST controller.
      *
@@ -197,7 +243,7 @@ public class SimulatorRestAutoConfiguration {
     @Bean
     protected HandlerInterceptor httpInterceptor() {
         messageListeners.addMessageListener(simulatorMessageListener);
-        return new InterceptorHttp(messageListeners);
+        return new InterceptorHttp(messageListeners, simulatorRestConfiguration.getMessagePayloadLimit());
     }
 
     @Bean
@@ -221,6 +267,15 @@ public class SimulatorRestAutoConfiguration {
         return simulatorRestConfiguration.getUrlMapping();
     }
 
+    /**
+     * Should the REST controller handle requests asynchronously.
+     *
+     * @return
+     */
+    protected boolean isAsync() {
+        return simulatorRestConfiguration.isAsync();
+    }
+
     /**
      * Provides list of endpoint interceptors.
      *
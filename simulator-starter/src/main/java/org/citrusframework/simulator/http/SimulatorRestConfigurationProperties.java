@@ -24,6 +24,10 @@ public class SimulatorRestConfigurationProperties implements EnvironmentAware {
      */
     private static final String SIMULATOR_URL_MAPPING_PROPERTY = "citrus.simulator.rest.url.mapping";
     private static final String SIMULATOR_URL_MAPPING_ENV = "CITRUS_SIMULATOR_REST_URL_MAPPING";
+    private static final String SIMULATOR_ASYNC_PROPERTY = "citrus.simulator.rest.async";
+    private static final String SIMULATOR_ASYNC_ENV = "CITRUS_SIMULATOR_REST_ASYNC";
+    private static final String SIMULATOR_MESSAGE_PAYLOAD_LIMIT_PROPERTY = "citrus.simulator.rest.message.payload.limit";
+    private static final String SIMULATOR_MESSAGE_PAYLOAD_LIMIT_ENV = "CITRUS_SIMULATOR_REST_MESSAGE_PAYLOAD_LIMIT";
 
     /**
      * Global option to enable/disable REST support, default is true.
@@ -36,6 +40,19 @@ public class SimulatorRestConfigurationProperties implements EnvironmentAware {
      */
     private String urlMapping = "/services/rest/**";
 
+    /**
+     * En-/Disable asynchronous request handling. When enabled the servlet container thread is released while the
+     * scenario is running and the response is written once the scenario sends it. By default this option is disabled.
+     */
+    private boolean async = false;
+
+    /**
+     * Maximum payload size passed to the message listeners for each request and response, in bytes of the request
+     * body and binary response bodies and in characters of text response bodies. Longer payloads are truncated on a
+     * character boundary. Must not be negative, default is 0, which passes payloads unlimited.
+     */
+    private int messagePayloadLimit = InterceptorHttp.UNLIMITED;
+
     /**
      * The Spring application context environment auto injected by environment aware mechanism.
      */
@@ -44,6 +61,8 @@ public class SimulatorRestConfigurationProperties implements EnvironmentAware {
     @PostConstruct
     private void loadProperties() {
         urlMapping = env.getProperty(SIMULATOR_URL_MAPPING_PROPERTY, env.getProperty(SIMULATOR_URL_MAPPING_ENV, urlMapping));
+        async = Boolean.parseBoolean(env.getProperty(SIMULATOR_ASYNC_PROPERTY, env.getProperty(SIMULATOR_ASYNC_ENV, String.valueOf(async))));
+        setMessagePayloadLimit(Integer.parseInt(env.getProperty(SIMULATOR_MESSAGE_PAYLOAD_LIMIT_PROPERTY, env.getProperty(SIMULATOR_MESSAGE_PAYLOAD_LIMIT_ENV, String.valueOf(messagePayloadLimit)))));
 
         log.info("Using the simulator configuration: {}", this.toString());
     }
@@ -84,11 +103,53 @@ public class SimulatorRestConfigurationProperties implements EnvironmentAware {
         this.urlMapping = urlMapping;
     }
 
+    /**
+     * Gets the async.
+     *
+     * @return
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Sets the async.
+     *
+     * @param async
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Gets the messagePayloadLimit.
+     *
+     * @return
+     */
+    public int getMessagePayloadLimit() {
+        return messagePayloadLimit;
+    }
+
+    /**
+     * Sets the messagePayloadLimit.
+     *
+     * @param messagePayloadLimit
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public void setMessagePayloadLimit(int messagePayloadLimit) {
+        if (messagePayloadLimit < 0) {
+            throw new IllegalArgumentException("Message payload limit must not be negative: " + messagePayloadLimit);
+        }
+        this.messagePayloadLimit = messagePayloadLimit;
+    }
+
     @Override
     public String toString() {
         return this.getClass().getSimpleName() + "{" +
                 "enabled='" + enabled + '\'' +
                 ", urlMapping='" + urlMapping + '\'' +
+                ", async='" + async + '\'' +
+                ", messagePayloadLimit='" + messagePayloadLimit + '\'' +
                 '}';
     }
 
@@ -129,6 +129,7 @@ public class SimulatorJmsAutoConfiguration {
         }
 
         endpointPoller.setExceptionDelay(exceptionDelay(simulatorConfiguration));
+        endpointPoller.setConsumers(simulatorConfiguration.getEndpointConsumers());
 
         endpointPoller.setEndpointAdapter(endpointAdapter);
 
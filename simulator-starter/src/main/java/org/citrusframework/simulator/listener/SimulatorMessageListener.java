@@ -44,6 +44,15 @@ public class SimulatorMessageListener implements MessageListener {
         messageListeners.addMessageListener(this);
     }
 
+    /**
+     * Gets whether this listener logs the message payloads, i.e. whether debug logging is enabled.
+     *
+     * @return
+     */
+    public boolean isEnabled() {
+        return LOG.isDebugEnabled();
+    }
+
     @Override
     public void onInboundMessage(Message message, TestContext context) {
         String payload = message.getPayload(String.class);
@@ -16,18 +16,24 @@
 
 package org.citrusframework.simulator.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
 import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.validation.constraints.NotEmpty;
+import org.citrusframework.simulator.repository.MessageSearchIndexListener;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -38,6 +44,7 @@ import java.util.Collection;
  * JPA entity for representing inbound and outbound messages
  */
 @Entity
+@EntityListeners(MessageSearchIndexListener.class)
 public class Message extends AbstractAuditingEntity<Message, Long> implements Serializable {
 
     @Serial
@@ -45,7 +52,8 @@ public class Message extends AbstractAuditingEntity<Message, Long> implements Se
 
     @Id
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "message_seq")
+    @SequenceGenerator(name = "message_seq", sequenceName = "message_seq", allocationSize = 50)
     private Long messageId;
 
     /**
@@ -54,9 +62,12 @@ public class Message extends AbstractAuditingEntity<Message, Long> implements Se
     @Column(nullable = false, updatable = false)
     private Integer direction;
 
-    @Lob
-    @Column(columnDefinition = "CLOB", updatable = false)
-    private String payload;
+    /**
+     * Payload stored in its own table and loaded lazily, so that message queries do not read the payload content
+     */
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "payload_id", updatable = false)
+    private MessagePayload messagePayload;
 
     @NotEmpty
     @Column(unique = true, nullable = false, updatable = false)
@@ -86,12 +97,31 @@ public class Message extends AbstractAuditingEntity<Message, Long> implements Se
         this.direction = direction.id;
     }
 
+    /**
+     * Gets the payload content, loading the lazy payload if necessary. The payload is not serialized along with the
+     * message, so that listing messages does not read their payloads.
+     *
+     * @return the payload content or null if the message has no payload
+     */
+    @JsonIgnore
     public String getPayload() {
-        return payload;
+        if (messagePayload != null) {
+            return messagePayload.getContent();
+        }
+        return null;
     }
 
     public void setPayload(String payload) {
-        this.payload = payload;
+        setMessagePayload(payload != null ? MessagePayload.inline(payload) : null);
+    }
+
+    @JsonIgnore
+    public MessagePayload getMessagePayload() {
+        return messagePayload;
+    }
+
+    public void setMessagePayload(MessagePayload messagePayload) {
+        this.messagePayload = messagePayload;
     }
 
     public String getCitrusMessageId() {
@@ -140,7 +170,6 @@ public class Message extends AbstractAuditingEntity<Message, Long> implements Se
                 "messageId='" + getMessageId() + "'" +
                 ", createdDate='" + getCreatedDate() + "'" +
                 ", direction='" + getDirection() + "'" +
-                ", payload='" + getPayload() + "'" +
                 ", citrusMessageId='" + getCitrusMessageId() + "'" +
                 "}";
     }
@@ -41,6 +41,12 @@ public class MessageFilter {
      */
     private String headerFilter;
 
+    /**
+     * Opaque cursor as returned with the previous page. When set the results continue right after the last entry of
+     * the previous page and the page number is ignored, so deep pages do not get slower.
+     */
+    private String cursor;
+
     public Instant getFromDate() {
         return fromDate;
     }
@@ -104,4 +110,12 @@ public class MessageFilter {
     public void setHeaderFilter(String headerFilter) {
         this.headerFilter = headerFilter;
     }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
 }
@@ -23,6 +23,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.io.Serial;
@@ -41,7 +42,8 @@ public class MessageHeader extends AbstractAuditingEntity<MessageHeader, Long> i
 
     @Id
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "message_header_seq")
+    @SequenceGenerator(name = "message_header_seq", sequenceName = "message_header_seq", allocationSize = 50)
     private Long headerId;
 
     @NotEmpty
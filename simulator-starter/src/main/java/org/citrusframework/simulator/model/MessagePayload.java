@@ -0,0 +1,296 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Transient;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.citrusframework.simulator.exception.SimulatorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity holding the payload of a {@link Message}. Payloads are stored in their own table, so that messages can be
+ * queried without reading the payload content. Depending on the {@link Storage} the content is kept inline, as deflate
+ * compressed bytes or in a content-addressed file outside the database.
+ */
+@Entity
+public class MessagePayload implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger logger = LoggerFactory.getLogger(MessagePayload.class);
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "message_payload_seq")
+    @SequenceGenerator(name = "message_payload_seq", sequenceName = "message_payload_seq", allocationSize = 50)
+    private Long payloadId;
+
+    /**
+     * Actual storage as a numerical representation of {@link Storage}
+     */
+    @Column(nullable = false, updatable = false)
+    private Integer storage;
+
+    /**
+     * Payload content, only set for inline payloads
+     */
+    @Lob
+    @Column(columnDefinition = "CLOB", updatable = false)
+    private String content;
+
+    /**
+     * Deflate compressed payload content, only set for compressed payloads
+     */
+    @Lob
+    @Column(updatable = false)
+    private byte[] data;
+
+    /**
+     * Path of the content-addressed file holding the compressed payload, only set for external payloads
+     */
+    @Column(length = 1024, updatable = false)
+    private String location;
+
+    /**
+     * Number of characters of the payload content
+     */
+    @Column(nullable = false, updatable = false)
+    private Integer size;
+
+    /**
+     * Compressed content of an external payload, written to its location once the payload has been committed
+     */
+    @Transient
+    private transient byte[] pendingData;
+
+    public static MessagePayload inline(String content) {
+        MessagePayload payload = new MessagePayload(Storage.INLINE, content.length());
+        payload.content = content;
+        return payload;
+    }
+
+    public static MessagePayload compressed(String content) {
+        MessagePayload payload = new MessagePayload(Storage.COMPRESSED, content.length());
+        payload.data = deflate(content);
+        return payload;
+    }
+
+    /**
+     * Creates an external payload located in the given directory. The file name is the SHA-256 hash of the content, so
+     * that equal payloads share the same file. The file is written after the transaction persisting the payload has
+     * been committed.
+     *
+     * @param content   the payload content
+     * @param directory the base directory of external payload files
+     * @return the external payload
+     */
+    public static MessagePayload external(String content, Path directory) {
+        String hash = sha256(content);
+        MessagePayload payload = new MessagePayload(Storage.EXTERNAL, content.length());
+        payload.location = directory.resolve(hash.substring(0, 2)).resolve(hash).toAbsolutePath().toString();
+        payload.pendingData = deflate(content);
+        return payload;
+    }
+
+    protected MessagePayload() {
+        // used by JPA
+    }
+
+    private MessagePayload(Storage storage, int size) {
+        this.storage = storage.id;
+        this.size = size;
+    }
+
+    public Long getPayloadId() {
+        return payloadId;
+    }
+
+    public Storage getStorage() {
+        return Storage.fromId(storage);
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the payload content, decompressing it or reading it from its file if necessary.
+     *
+     * @return the payload content
+     */
+    public String getContent() {
+        return switch (getStorage()) {
+            case COMPRESSED -> inflate(data);
+            case EXTERNAL -> inflate(pendingData != null ? pendingData : readLocation());
+            default -> content;
+        };
+    }
+
+    /**
+     * Writes the file of an external payload after the surrounding transaction has been committed, or immediately when
+     * there is no transaction. A rolled back payload therefore never leaves an orphaned file behind.
+     */
+    @PrePersist
+    void writeExternalContent() {
+        if (pendingData == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        writeLocation();
+                    } catch (SimulatorException e) {
+                        logger.error("Message payload {} has been committed without its content", payloadId, e);
+                    }
+                }
+            });
+        } else {
+            writeLocation();
+        }
+    }
+
+    /**
+     * Writes the file unless a file with the same content already exists. Existing files get their modification time
+     * updated, so that they are not considered orphaned while being referenced again.
+     */
+    private void writeLocation() {
+        Path file = Path.of(location);
+        try {
+            Files.createDirectories(file.getParent());
+            if (!touch(file)) {
+                Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                Files.write(temp, pendingData);
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new SimulatorException(String.format("Failed to write message payload to file %s", location), e);
+        }
+        pendingData = null;
+    }
+
+    private static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private byte[] readLocation() {
+        try {
+            return Files.readAllBytes(Path.of(location));
+        } catch (IOException e) {
+            throw new SimulatorException(String.format("Failed to read message payload from file %s", location), e);
+        }
+    }
+
+    private static byte[] deflate(String content) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new SimulatorException("Failed to compress message payload", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String inflate(byte[] data) {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SimulatorException("Failed to decompress message payload", e);
+        }
+    }
+
+    private static String sha256(String content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new SimulatorException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MessagePayload{" +
+                "payloadId='" + getPayloadId() + "'" +
+                ", storage='" + getStorage() + "'" +
+                ", size='" + getSize() + "'" +
+                ", location='" + getLocation() + "'" +
+                "}";
+    }
+
+    public enum Storage {
+
+        INLINE(0), COMPRESSED(1), EXTERNAL(2);
+
+        private final int id;
+
+        Storage(int i) {
+            this.id = i;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public static Storage fromId(int id) {
+            return Arrays.stream(values())
+                .filter(storage -> storage.id == id)
+                .findFirst()
+                .orElse(Storage.INLINE);
+        }
+    }
+}
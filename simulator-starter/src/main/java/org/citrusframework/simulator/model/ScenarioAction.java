@@ -23,6 +23,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.validation.constraints.NotEmpty;
 import java.io.Serial;
 import java.io.Serializable;
@@ -39,7 +40,8 @@ public class ScenarioAction implements Serializable {
 
     @Id
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scenario_action_seq")
+    @SequenceGenerator(name = "scenario_action_seq", sequenceName = "scenario_action_seq", allocationSize = 50)
     private Long actionId;
 
     @NotEmpty
@@ -25,6 +25,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
 import java.io.Serial;
@@ -49,7 +50,8 @@ public class ScenarioExecution implements Serializable {
 
     @Id
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scenario_execution_seq")
+    @SequenceGenerator(name = "scenario_execution_seq", sequenceName = "scenario_execution_seq", allocationSize = 50)
     private Long executionId;
 
     @Column(nullable = false, updatable = false)
@@ -89,6 +91,10 @@ public class ScenarioExecution implements Serializable {
         return executionId;
     }
 
+    public void setExecutionId(Long executionId) {
+        this.executionId = executionId;
+    }
+
     public Instant getEndDate() {
         return endDate;
     }
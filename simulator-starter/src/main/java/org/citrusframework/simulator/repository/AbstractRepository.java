@@ -1,6 +1,8 @@
 package org.citrusframework.simulator.repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -10,6 +12,7 @@ import jakarta.persistence.criteria.From;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import org.citrusframework.simulator.model.KeysetCursor;
 import org.citrusframework.simulator.model.Message;
 import org.citrusframework.simulator.model.Message.Direction;
 import org.citrusframework.simulator.model.MessageFilter;
@@ -44,6 +47,47 @@ public abstract class AbstractRepository {
         }
     }
 
+    /**
+     * Adds the keyset predicate continuing after the cursor of the filter, if set. Entities must be ordered by the given
+     * date and id attributes, both descending.
+     *
+     * @param filter
+     * @param criteriaBuilder
+     * @param path
+     * @param dateAttribute
+     * @param idAttribute
+     * @param predicates
+     */
+    protected void addCursorPredicate(MessageFilter filter, CriteriaBuilder criteriaBuilder, Path<?> path,
+                                      String dateAttribute, String idAttribute, List<Predicate> predicates) {
+        if (filter.getCursor() == null) {
+            return;
+        }
+
+        KeysetCursor cursor = KeysetCursor.decode(filter.getCursor());
+        Path<Instant> date = path.get(dateAttribute);
+        Path<Long> id = path.get(idAttribute);
+        predicates.add(criteriaBuilder.or(
+                criteriaBuilder.lessThan(date, cursor.date()),
+                criteriaBuilder.and(criteriaBuilder.equal(date, cursor.date()), criteriaBuilder.lessThan(id, cursor.id()))));
+    }
+
+    /**
+     * Restricts the messages to the candidate ids resolved by the {@link MessageSearchIndex}. The number of candidates is
+     * capped by the index, so the ids fit into a single in-list.
+     *
+     * @param criteriaBuilder
+     * @param path
+     * @param messageIds
+     * @return
+     */
+    protected Predicate messageIdPredicate(CriteriaBuilder criteriaBuilder, Path<Message> path, Set<Long> messageIds) {
+        if (messageIds.isEmpty()) {
+            return criteriaBuilder.disjunction();
+        }
+        return path.get("messageId").in(messageIds);
+    }
+
     /**
      * Join {@link MessageHeader} to the {@link From} using the provided joinFunction.
      *
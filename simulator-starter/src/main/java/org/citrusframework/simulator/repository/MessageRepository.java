@@ -16,6 +16,8 @@
 
 package org.citrusframework.simulator.repository;
 
+import java.util.Optional;
+
 import org.citrusframework.simulator.model.Message;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
@@ -25,4 +27,8 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface MessageRepository extends CrudRepository<Message, Long>, MessageRepositoryCustom {
+
+    Optional<Message> findByCitrusMessageId(String citrusMessageId);
+
+    boolean existsByMessagePayloadLocation(String location);
 }
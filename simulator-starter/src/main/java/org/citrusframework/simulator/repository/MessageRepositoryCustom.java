@@ -4,8 +4,52 @@ import org.citrusframework.simulator.model.Message;
 import org.citrusframework.simulator.model.MessageFilter;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MessageRepositoryCustom {
     List<Message> find(@Param("filter") MessageFilter filter);
+
+    /**
+     * Streams all messages that correspond to the given filter along with their payloads and scenario executions,
+     * ignoring the paging of the filter. Headers are not fetched, see {@link #fetchHeaders(Collection)}. Rows are fetched from the database in chunks of the given fetch size while the stream is consumed, the
+     * stream must be closed within the surrounding transaction.
+     *
+     * @param filter
+     * @param fetchSize number of rows fetched from the database per round trip
+     * @return the matching messages
+     */
+    Stream<Message> stream(MessageFilter filter, int fetchSize);
+
+    /**
+     * Initializes the headers of the given managed messages with a single query.
+     *
+     * @param messages
+     */
+    void fetchHeaders(Collection<Message> messages);
+
+    /**
+     * Finds the file locations of the external payloads referenced by messages of the given scenario executions.
+     *
+     * @param executionIds
+     * @return the distinct payload file locations
+     */
+    List<String> findPayloadLocationsByScenarioExecutionIds(Collection<Long> executionIds);
+
+    /**
+     * Deletes the messages of the given scenario executions along with their headers and payloads using bulk statements, so the
+     * messages are not loaded into the persistence context.
+     *
+     * @param executionIds
+     * @return the number of deleted messages
+     */
+    int deleteByScenarioExecutionIds(Collection<Long> executionIds);
+
+    /**
+     * Deletes all messages along with their headers and payloads using bulk statements.
+     *
+     * @return the number of deleted messages
+     */
+    int deleteAllInBulk();
 }
@@ -1,7 +1,9 @@
 package org.citrusframework.simulator.repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
@@ -12,6 +14,7 @@ import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import org.citrusframework.simulator.model.Message;
 import org.citrusframework.simulator.model.MessageFilter;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.StringUtils;
 
@@ -20,32 +23,111 @@ public class MessageRepositoryImpl extends AbstractRepository implements Message
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private MessageSearchIndex messageSearchIndex;
+
+    @Override
+    public List<String> findPayloadLocationsByScenarioExecutionIds(Collection<Long> executionIds) {
+        return em.createQuery("SELECT DISTINCT p.location FROM Message m JOIN m.messagePayload p "
+                        + "WHERE m.scenarioExecution.executionId IN :executionIds AND p.location IS NOT NULL", String.class)
+                .setParameter("executionIds", executionIds)
+                .getResultList();
+    }
+
+    @Override
+    public int deleteByScenarioExecutionIds(Collection<Long> executionIds) {
+        List<Long> messageIds = new ArrayList<>();
+        List<Long> payloadIds = new ArrayList<>();
+        em.createQuery("SELECT m.messageId, p.payloadId FROM Message m LEFT JOIN m.messagePayload p "
+                        + "WHERE m.scenarioExecution.executionId IN :executionIds", Object[].class)
+                .setParameter("executionIds", executionIds)
+                .getResultList()
+                .forEach(ids -> {
+                    messageIds.add((Long) ids[0]);
+                    if (ids[1] != null) {
+                        payloadIds.add((Long) ids[1]);
+                    }
+                });
+        em.createQuery("DELETE FROM MessageHeader h WHERE h.message.messageId IN "
+                        + "(SELECT m.messageId FROM Message m WHERE m.scenarioExecution.executionId IN :executionIds)")
+                .setParameter("executionIds", executionIds)
+                .executeUpdate();
+        int deletedMessages = em.createQuery("DELETE FROM Message m WHERE m.scenarioExecution.executionId IN :executionIds")
+                .setParameter("executionIds", executionIds)
+                .executeUpdate();
+        if (!payloadIds.isEmpty()) {
+            em.createQuery("DELETE FROM MessagePayload p WHERE p.payloadId IN :payloadIds")
+                    .setParameter("payloadIds", payloadIds)
+                    .executeUpdate();
+        }
+        messageSearchIndex.remove(messageIds);
+        return deletedMessages;
+    }
+
+    @Override
+    public int deleteAllInBulk() {
+        em.createQuery("DELETE FROM MessageHeader").executeUpdate();
+        int deletedMessages = em.createQuery("DELETE FROM Message").executeUpdate();
+        em.createQuery("DELETE FROM MessagePayload").executeUpdate();
+        messageSearchIndex.clear();
+        return deletedMessages;
+    }
+
     @Override
     public List<Message> find(MessageFilter queryFilter) {
+        TypedQuery<Message> messageQuery = createQuery(queryFilter, false);
+        addPagingRestrictions(queryFilter, messageQuery);
+
+        return messageQuery.getResultList();
+    }
+
+    @Override
+    public Stream<Message> stream(MessageFilter queryFilter, int fetchSize) {
+        return createQuery(queryFilter, true)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public void fetchHeaders(Collection<Message> messages) {
+        if (!messages.isEmpty()) {
+            em.createQuery("SELECT DISTINCT m FROM Message m LEFT JOIN FETCH m.headers WHERE m IN :messages", Message.class)
+                    .setParameter("messages", messages)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultList();
+        }
+    }
 
+    private TypedQuery<Message> createQuery(MessageFilter queryFilter, boolean fetchAssociations) {
         CriteriaBuilder criteriaBuilder = em.getCriteriaBuilder();
         CriteriaQuery<Message> criteriaQuery = criteriaBuilder.createQuery(Message.class);
 
         Root<Message> message = criteriaQuery.from(Message.class);
+        if (fetchAssociations) {
+            message.fetch("messagePayload", JoinType.LEFT);
+            message.fetch("scenarioExecution", JoinType.LEFT);
+        }
 
         List<Predicate> predicates = new ArrayList<>();
 
         addDatePredicates(queryFilter, criteriaBuilder, message, predicates);
         addDirectionPredicate(queryFilter, criteriaBuilder, message, predicates);
-        addPayloadPredicate(queryFilter, criteriaBuilder, message, predicates);
+        addContainingTextPredicate(queryFilter, criteriaBuilder, message, predicates);
         addHeaderPredicates(queryFilter, criteriaBuilder, message);
+        addCursorPredicate(queryFilter, criteriaBuilder, message, "createdDate", "messageId", predicates);
 
         criteriaQuery.where(predicates.toArray(new Predicate[0]));
+        criteriaQuery.orderBy(criteriaBuilder.desc(message.get("createdDate")), criteriaBuilder.desc(message.get("messageId")));
 
-        TypedQuery<Message> messageQuery = em.createQuery(criteriaQuery);
-        addPagingRestrictions(queryFilter, messageQuery);
-
-        return messageQuery.getResultList();
+        return em.createQuery(criteriaQuery);
     }
 
     private void addPagingRestrictions(MessageFilter queryFilter, TypedQuery<Message> messageQuery) {
         if (queryFilter != null) {
-            messageQuery.setFirstResult(queryFilter.getPageNumber() * queryFilter.getPageSize());
+            if (queryFilter.getCursor() == null) {
+                messageQuery.setFirstResult(queryFilter.getPageNumber() * queryFilter.getPageSize());
+            }
             messageQuery.setMaxResults(queryFilter.getPageSize());
         }
     }
@@ -57,10 +139,14 @@ public class MessageRepositoryImpl extends AbstractRepository implements Message
         }
     }
 
-    private void addPayloadPredicate(MessageFilter filter, CriteriaBuilder criteriaBuilder,
+    private void addContainingTextPredicate(MessageFilter filter, CriteriaBuilder criteriaBuilder,
                     Root<Message> message, List<Predicate> predicates) {
         if (StringUtils.hasText(filter.getContainingText())) {
-            predicates.add(criteriaBuilder.like(criteriaBuilder.upper(criteriaBuilder.toString(message.get("payload"))),
+            messageSearchIndex.find(filter.getContainingText())
+                    .ifPresent(messageIds -> predicates.add(messageIdPredicate(criteriaBuilder, message, messageIds)));
+
+            // only inline payloads are searchable, compressed and external payload content is not readable by the database
+            predicates.add(criteriaBuilder.like(criteriaBuilder.upper(criteriaBuilder.toString(message.join("messagePayload", JoinType.LEFT).get("content"))),
                             filter.getContainingText().toUpperCase()));
         }
     }
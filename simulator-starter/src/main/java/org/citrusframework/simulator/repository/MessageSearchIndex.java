@@ -0,0 +1,446 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessagePayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory inverted index over the words of inline message payloads. Text searches resolve to candidate message ids
+ * through this index, the relational query then applies the search pattern to the candidates only instead of scanning
+ * the payload of every message in the database.
+ * <p>
+ * The index only answers searches for which it is guaranteed to return a superset of the matching messages: every
+ * word of the search pattern must have at least {@value #MIN_TOKEN_LENGTH} characters. Words at the start of a word in
+ * the pattern are looked up by prefix, words following a wildcard, e.g. {@code %word%}, may match within a word of the
+ * payload and are looked up by scanning the distinct indexed words. Searches without such words, searches with too
+ * many candidates and all searches while the index is loading, disabled or has exceeded its size limit are run on the
+ * database.
+ * <p>
+ * Only payloads are indexed, because text searches only match payloads. Header filters are answered by the database
+ * index on header name and value. Compressed and external payloads are not indexed, the database is not able to search
+ * their content either.
+ */
+@Component
+public class MessageSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageSearchIndex.class);
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final boolean enabled;
+    private final long maxPostings;
+    private final int maxCandidates;
+    private final MessagePayload.Storage payloadStorage;
+    private final int payloadThreshold;
+
+    private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+
+    /**
+     * Total number of message ids held by all postings
+     */
+    private final AtomicLong size = new AtomicLong();
+
+    private volatile boolean ready = false;
+    private volatile boolean exceeded = false;
+
+    private final AtomicBoolean unsearchablePayloadsWarned = new AtomicBoolean();
+
+    public MessageSearchIndex(EntityManagerFactory entityManagerFactory, SimulatorPersistenceConfigurationProperties persistenceConfiguration) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = persistenceConfiguration.isSearchIndexEnabled();
+        this.maxPostings = persistenceConfiguration.getSearchIndexMaxPostings();
+        this.maxCandidates = persistenceConfiguration.getSearchIndexMaxCandidates();
+        this.payloadStorage = persistenceConfiguration.getPayloadStorage();
+        this.payloadThreshold = persistenceConfiguration.getPayloadThreshold();
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            logger.debug("Message search index disabled, text searches are run on the database");
+            return;
+        }
+
+        Thread loader = new Thread(() -> {
+            try {
+                long loaded = loadMessages();
+                if (!exceeded) {
+                    markReady();
+                    logger.debug("Indexed {} existing messages", loaded);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to index existing messages, text searches are run on the database", e);
+            }
+        }, "message-search-index");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Adds the inline payload of the given message to the index.
+     *
+     * @param message the persisted message
+     */
+    public void add(Message message) {
+        MessagePayload payload = message.getMessagePayload();
+        if (payload != null && payload.getStorage() == MessagePayload.Storage.INLINE) {
+            add(message.getMessageId(), payload.getContent());
+        }
+    }
+
+    /**
+     * Finds the ids of all messages possibly matching the given SQL like pattern. The result contains every message
+     * whose payload matches the pattern, but may contain other messages too, so the pattern must still be applied.
+     * <p>
+     * Neither the index nor the database are able to search compressed or external payloads, the first search with
+     * such a payload storage configured logs a warning.
+     *
+     * @param likePattern the SQL like pattern
+     * @return the ids of the candidate messages, empty if the index is not able to answer the search
+     */
+    public Optional<Set<Long>> find(String likePattern) {
+        if (payloadStorage != MessagePayload.Storage.INLINE && unsearchablePayloadsWarned.compareAndSet(false, true)) {
+            logger.warn("Text searches only match inline payloads, payloads of {} characters or more are stored {} and never match", payloadThreshold, payloadStorage);
+        }
+
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        Optional<Set<PatternToken>> tokens = patternTokens(likePattern);
+        if (tokens.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Collection<Postings>> matches = new ArrayList<>(tokens.get().size());
+        for (PatternToken token : tokens.get()) {
+            matches.add(token.infix() ? postingsContaining(token.text())
+                    : postings.subMap(token.text(), true, token.text() + Character.MAX_VALUE, true).values());
+        }
+        matches.sort(Comparator.comparingLong(MessageSearchIndex::count));
+        if (count(matches.get(0)) > maxCandidates) {
+            return Optional.empty();
+        }
+
+        Set<Long> result = new HashSet<>();
+        for (Postings tokenPostings : matches.get(0)) {
+            tokenPostings.addTo(result);
+        }
+        for (Collection<Postings> tokenMatches : matches.subList(1, matches.size())) {
+            Set<Long> retained = new HashSet<>();
+            for (Postings tokenPostings : tokenMatches) {
+                tokenPostings.addContained(result, retained);
+            }
+            result = retained;
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Removes the given messages from the index. Within a transaction the messages are removed once it has been
+     * committed, so that messages of a rolled back deletion remain searchable.
+     *
+     * @param messageIds the ids of the deleted messages
+     */
+    public void remove(Collection<Long> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> removed = new HashSet<>(messageIds);
+        afterCommit(() -> postings.forEach((token, tokenPostings) -> {
+            size.addAndGet(-tokenPostings.removeAll(removed));
+            if (tokenPostings.isEmpty()) {
+                postings.remove(token, tokenPostings);
+            }
+        }));
+    }
+
+    /**
+     * Removes all messages from the index. Within a transaction the index is cleared once it has been committed.
+     */
+    public void clear() {
+        afterCommit(this::clearPostings);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    void add(Long messageId, String text) {
+        if (!enabled || exceeded) {
+            return;
+        }
+
+        for (String token : tokenize(text)) {
+            if (postings.computeIfAbsent(token, key -> new Postings()).add(messageId)
+                    && size.incrementAndGet() > maxPostings) {
+                exceed();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops the index once it holds more than the maximum number of postings, further searches are run on the database.
+     */
+    private void exceed() {
+        exceeded = true;
+        ready = false;
+        clearPostings();
+        logger.warn("Message search index exceeded {} postings and has been dropped, text searches are run on the database", maxPostings);
+    }
+
+    private long loadMessages() {
+        long loaded = 0;
+        long lastMessageId = Long.MIN_VALUE;
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<Object[]> payloads;
+            do {
+                payloads = entityManager.createQuery("SELECT m.messageId, p.content FROM Message m JOIN m.messagePayload p "
+                                + "WHERE p.storage = :storage AND m.messageId > :lastMessageId ORDER BY m.messageId", Object[].class)
+                        .setParameter("storage", MessagePayload.Storage.INLINE.getId())
+                        .setParameter("lastMessageId", lastMessageId)
+                        .setMaxResults(LOAD_CHUNK_SIZE)
+                        .getResultList();
+
+                for (Object[] payload : payloads) {
+                    add((Long) payload[0], (String) payload[1]);
+                }
+                if (exceeded) {
+                    break;
+                }
+
+                loaded += payloads.size();
+                if (!payloads.isEmpty()) {
+                    lastMessageId = (Long) payloads.get(payloads.size() - 1)[0];
+                }
+            } while (payloads.size() == LOAD_CHUNK_SIZE);
+        } finally {
+            entityManager.close();
+        }
+        return loaded;
+    }
+
+    private void clearPostings() {
+        postings.clear();
+        size.set(0);
+    }
+
+    /**
+     * Gets the postings of all indexed words containing the given text. Words truncated to the maximum word length
+     * are included as well, because the text may be contained in their truncated part.
+     */
+    private Collection<Postings> postingsContaining(String text) {
+        List<Postings> result = new ArrayList<>();
+        postings.forEach((token, tokenPostings) -> {
+            if (token.length() >= MAX_TOKEN_LENGTH || token.contains(text)) {
+                result.add(tokenPostings);
+            }
+        });
+        return result;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long count(Collection<Postings> tokenPostings) {
+        long count = 0;
+        for (Postings each : tokenPostings) {
+            count += each.size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the words a text matching the given SQL like pattern must contain, in the same form as {@link #tokenize}
+     * produces them. Words following a wildcard may match within a word of the text. Returns empty in case the pattern
+     * has no words or a word shorter than the minimum word length.
+     */
+    static Optional<Set<PatternToken>> patternTokens(String likePattern) {
+        Set<PatternToken> tokens = new LinkedHashSet<>();
+        if (likePattern == null) {
+            return Optional.empty();
+        }
+
+        int start = -1;
+        for (int i = 0; i <= likePattern.length(); i++) {
+            boolean wordCharacter = i < likePattern.length() && Character.isLetterOrDigit(likePattern.charAt(i));
+            if (wordCharacter && start < 0) {
+                start = i;
+            } else if (!wordCharacter && start >= 0) {
+                if (i - start < MIN_TOKEN_LENGTH) {
+                    return Optional.empty();
+                }
+                tokens.add(new PatternToken(token(likePattern, start, i), start > 0 && isWildcard(likePattern.charAt(start - 1))));
+                start = -1;
+            }
+        }
+        return tokens.isEmpty() ? Optional.empty() : Optional.of(tokens);
+    }
+
+    /**
+     * Splits the given text into lower case words. Any character other than a letter or digit separates words.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordCharacter && start < 0) {
+                start = i;
+            } else if (!wordCharacter && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    tokens.add(token(text, start, i));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Folds the word the same way the upper case comparison of the database does, e.g. 'ß' and 'ss' are the same word,
+     * and truncates it to the maximum word length.
+     */
+    private static String token(String text, int start, int end) {
+        String token = text.substring(start, end).toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+        return token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token;
+    }
+
+    /**
+     * Wildcards and the default escape character, a word following any of these may start in the middle of a word.
+     */
+    private static boolean isWildcard(char character) {
+        return character == '%' || character == '_' || character == '\\';
+    }
+
+    /**
+     * Word of a search pattern, either matching at the start of a word or, following a wildcard, anywhere within a word.
+     */
+    record PatternToken(String text, boolean infix) {
+    }
+
+    /**
+     * Ids of the messages containing a word. Ids are appended in the order messages get indexed.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        /**
+         * Adds the given id and returns whether it has been added.
+         */
+        synchronized boolean add(long id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return false;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+            return true;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized boolean isEmpty() {
+            return size == 0;
+        }
+
+        synchronized void addTo(Set<Long> result) {
+            for (int i = 0; i < size; i++) {
+                result.add(ids[i]);
+            }
+        }
+
+        /**
+         * Adds the ids contained in the given candidates to the result.
+         */
+        synchronized void addContained(Set<Long> candidates, Set<Long> result) {
+            for (int i = 0; i < size; i++) {
+                if (candidates.contains(ids[i])) {
+                    result.add(ids[i]);
+                }
+            }
+        }
+
+        /**
+         * Removes the given ids and returns the number of removed ids.
+         */
+        synchronized int removeAll(Set<Long> removed) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removed.contains(ids[i])) {
+                    ids[kept++] = ids[i];
+                }
+            }
+            int removedCount = size - kept;
+            size = kept;
+            return removedCount;
+        }
+    }
+}
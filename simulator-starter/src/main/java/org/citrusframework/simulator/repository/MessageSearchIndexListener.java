@@ -0,0 +1,38 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.repository;
+
+import jakarta.persistence.PostPersist;
+import org.citrusframework.simulator.model.Message;
+
+/**
+ * JPA entity listener adding persisted messages to the {@link MessageSearchIndex}. Instantiated by Hibernate through
+ * the Spring bean container, so the index gets injected.
+ */
+public class MessageSearchIndexListener {
+
+    private final MessageSearchIndex messageSearchIndex;
+
+    public MessageSearchIndexListener(MessageSearchIndex messageSearchIndex) {
+        this.messageSearchIndex = messageSearchIndex;
+    }
+
+    @PostPersist
+    public void index(Message message) {
+        messageSearchIndex.add(message);
+    }
+}
@@ -4,7 +4,10 @@ import org.citrusframework.simulator.model.ScenarioExecution;
 import org.citrusframework.simulator.model.ScenarioExecutionFilter;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ScenarioExecutionRepositoryCustom {
     
@@ -15,4 +18,41 @@ public interface ScenarioExecutionRepositoryCustom {
      * @return
      */
     List<ScenarioExecution> find(@Param("filter") ScenarioExecutionFilter filter);
+
+    /**
+     * Streams all {@link ScenarioExecution} that correspond to the given filter, ignoring the paging of the filter. Rows
+     * are fetched from the database in chunks of the given fetch size while the stream is consumed, the stream must be
+     * closed within the surrounding transaction.
+     *
+     * @param filter
+     * @param fetchSize number of rows fetched from the database per round trip
+     * @return the matching executions
+     */
+    Stream<ScenarioExecution> stream(ScenarioExecutionFilter filter, int fetchSize);
+
+    /**
+     * Finds the ids of finished {@link ScenarioExecution}, oldest first.
+     *
+     * @param startedBefore only executions started before this date, all finished executions if {@code null}
+     * @param limit         maximum number of ids
+     * @return
+     */
+    List<Long> findFinishedExecutionIds(Instant startedBefore, int limit);
+
+    /**
+     * Deletes the {@link ScenarioExecution} along with their parameters and actions using bulk statements, so the
+     * executions are not loaded into the persistence context. Messages must be deleted beforehand.
+     *
+     * @param executionIds
+     * @return the number of deleted executions
+     */
+    int deleteByExecutionIds(Collection<Long> executionIds);
+
+    /**
+     * Deletes all {@link ScenarioExecution} along with their parameters and actions using bulk statements. Messages
+     * must be deleted beforehand.
+     *
+     * @return the number of deleted executions
+     */
+    int deleteAllInBulk();
 }
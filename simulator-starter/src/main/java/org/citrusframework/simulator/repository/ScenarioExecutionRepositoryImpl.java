@@ -1,9 +1,12 @@
 package org.citrusframework.simulator.repository;
 
 import ch.qos.logback.classic.spi.Configurator.ExecutionStatus;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
@@ -14,9 +17,11 @@ import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessagePayload;
 import org.citrusframework.simulator.model.ScenarioExecution;
 import org.citrusframework.simulator.model.ScenarioExecution.Status;
 import org.citrusframework.simulator.model.ScenarioExecutionFilter;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.StringUtils;
 
@@ -25,8 +30,60 @@ public class ScenarioExecutionRepositoryImpl extends AbstractRepository implemen
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private MessageSearchIndex messageSearchIndex;
+
+    @Override
+    public List<Long> findFinishedExecutionIds(Instant startedBefore, int limit) {
+        TypedQuery<Long> query = entityManager.createQuery("SELECT e.executionId FROM ScenarioExecution e WHERE e.status <> :running"
+                        + (startedBefore != null ? " AND e.startDate < :startedBefore" : "")
+                        + " ORDER BY e.executionId", Long.class)
+                .setParameter("running", Status.RUNNING.getId())
+                .setMaxResults(limit);
+        if (startedBefore != null) {
+            query.setParameter("startedBefore", startedBefore);
+        }
+
+        return query.getResultList();
+    }
+
+    @Override
+    public int deleteByExecutionIds(Collection<Long> executionIds) {
+        entityManager.createQuery("DELETE FROM ScenarioParameter p WHERE p.scenarioExecution.executionId IN :executionIds")
+                .setParameter("executionIds", executionIds)
+                .executeUpdate();
+        entityManager.createQuery("DELETE FROM ScenarioAction a WHERE a.scenarioExecution.executionId IN :executionIds")
+                .setParameter("executionIds", executionIds)
+                .executeUpdate();
+        return entityManager.createQuery("DELETE FROM ScenarioExecution e WHERE e.executionId IN :executionIds")
+                .setParameter("executionIds", executionIds)
+                .executeUpdate();
+    }
+
+    @Override
+    public int deleteAllInBulk() {
+        entityManager.createQuery("DELETE FROM ScenarioParameter").executeUpdate();
+        entityManager.createQuery("DELETE FROM ScenarioAction").executeUpdate();
+        return entityManager.createQuery("DELETE FROM ScenarioExecution").executeUpdate();
+    }
+
     @Override
     public List<ScenarioExecution> find(ScenarioExecutionFilter filter) {
+        TypedQuery<ScenarioExecution> messageQuery = createQuery(filter);
+        addPagingRestrictions(filter, messageQuery);
+
+        return messageQuery.getResultList();
+    }
+
+    @Override
+    public Stream<ScenarioExecution> stream(ScenarioExecutionFilter filter, int fetchSize) {
+        return createQuery(filter)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<ScenarioExecution> createQuery(ScenarioExecutionFilter filter) {
         CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
         CriteriaQuery<ScenarioExecution> criteriaQuery = criteriaBuilder.createQuery(ScenarioExecution.class);
 
@@ -36,15 +93,13 @@ public class ScenarioExecutionRepositoryImpl extends AbstractRepository implemen
         addScenarioNamePredicate(filter, criteriaBuilder, scenarioExecution, predicates);
         addScenarioStatusPredicate(filter, criteriaBuilder, scenarioExecution, predicates);
         addDatePredicates(filter, criteriaBuilder, scenarioExecution, predicates);
+        addCursorPredicate(filter, criteriaBuilder, scenarioExecution, "startDate", "executionId", predicates);
         joinMessage(filter, criteriaBuilder, scenarioExecution);
         criteriaQuery.where(predicates.toArray(new Predicate[0]));
 
-        criteriaQuery.orderBy(criteriaBuilder.desc(scenarioExecution.get("startDate")));
-
-        TypedQuery<ScenarioExecution> messageQuery = entityManager.createQuery(criteriaQuery.distinct(true));
-        addPagingRestrictions(filter, messageQuery);
+        criteriaQuery.orderBy(criteriaBuilder.desc(scenarioExecution.get("startDate")), criteriaBuilder.desc(scenarioExecution.get("executionId")));
 
-        return messageQuery.getResultList();
+        return entityManager.createQuery(criteriaQuery.distinct(true));
     }
 
     /**
@@ -81,13 +136,16 @@ public class ScenarioExecutionRepositoryImpl extends AbstractRepository implemen
     }
 
     /**
-     * Adds the paging restrictions to the query.
+     * Adds the paging restrictions to the query. With a cursor the page starts right after the cursor position, so
+     * no offset is applied.
      *
      * @param filter
      * @param query
      */
     private void addPagingRestrictions(ScenarioExecutionFilter filter, TypedQuery<?> query) {
-        query.setFirstResult(filter.getPageNumber() * filter.getPageSize());
+        if (filter.getCursor() == null) {
+            query.setFirstResult(filter.getPageNumber() * filter.getPageSize());
+        }
         query.setMaxResults(filter.getPageSize());
     }
 
@@ -119,7 +177,9 @@ public class ScenarioExecutionRepositoryImpl extends AbstractRepository implemen
     }
 
     /**
-     * Adds the payload predicate if respective filter is active.
+     * Adds the payload predicate if respective filter is active. The candidate messages are narrowed down by the
+     * {@link MessageSearchIndex} if it is able to answer the search, the inline payloads of the candidates are matched
+     * in the database.
      *
      * @param filter
      * @param criteriaBuilder
@@ -129,7 +189,11 @@ public class ScenarioExecutionRepositoryImpl extends AbstractRepository implemen
     private void addPayloadPredicate(ScenarioExecutionFilter filter, CriteriaBuilder criteriaBuilder,
                                      Join<ScenarioExecution, Message> parentJoin, List<Predicate> predicates) {
         if (StringUtils.hasText(filter.getContainingText())) {
-            predicates.add(criteriaBuilder.like(criteriaBuilder.upper(criteriaBuilder.toString(parentJoin.get("payload"))),
+            messageSearchIndex.find(filter.getContainingText())
+                    .ifPresent(messageIds -> predicates.add(messageIdPredicate(criteriaBuilder, parentJoin, messageIds)));
+
+            Join<Message, MessagePayload> payloadJoin = parentJoin.join("messagePayload");
+            payloadJoin.on(criteriaBuilder.like(criteriaBuilder.upper(criteriaBuilder.toString(payloadJoin.get("content"))),
                     filter.getContainingText().toUpperCase()));
         }
     }
@@ -1,12 +1,15 @@
 package org.citrusframework.simulator.repository;
 
 import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.service.dto.TestResultByScenario;
 import org.citrusframework.simulator.service.dto.TestResultByStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Spring Data JPA repository for the TestResult entity.
  */
@@ -19,4 +22,10 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long>, J
         "sum(case when t.status = 2 then 1 else 0 end)) " +
         "from TestResult t")
     TestResultByStatus countByStatus();
+
+    @Query("select new org.citrusframework.simulator.service.dto.TestResultByScenario(t.testName, " +
+        "sum(case when t.status = 1 then 1 else 0 end), " +
+        "sum(case when t.status = 2 then 1 else 0 end)) " +
+        "from TestResult t group by t.testName")
+    List<TestResultByScenario> countByScenario();
 }
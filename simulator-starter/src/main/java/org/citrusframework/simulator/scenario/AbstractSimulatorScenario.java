@@ -42,11 +42,22 @@ public abstract class AbstractSimulatorScenario implements SimulatorScenario, Co
      * @return
      */
     public CorrelationHandlerBuilder correlation() {
-        return new CorrelationHandlerBuilder(scenarioEndpoint);
+        return new CorrelationHandlerBuilder(getScenarioEndpoint());
     }
 
+    /**
+     * Gets the scenario endpoint. Within a running execution this is the endpoint bound to that execution so
+     * correlation handlers receive follow-up messages for the very execution that started them.
+     *
+     * @return
+     */
     @Override
     public ScenarioEndpoint getScenarioEndpoint() {
+        ScenarioEndpoint executionEndpoint = ScenarioRunner.currentScenarioEndpoint();
+        if (executionEndpoint != null) {
+            return executionEndpoint;
+        }
+
         return scenarioEndpoint;
     }
 }
@@ -24,12 +24,16 @@ import org.citrusframework.messaging.Producer;
 import org.citrusframework.simulator.endpoint.EndpointMessageHandler;
 import org.citrusframework.simulator.exception.SimulatorException;
 
-import java.util.Stack;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * In memory endpoint used as request/response mailbox of a scenario. Each scenario execution gets its own instance
+ * so concurrent executions of the same scenario never share inbound messages or response futures.
+ *
  * @author Christoph Deppisch
  */
 public class ScenarioEndpoint extends AbstractEndpoint implements Producer, Consumer {
@@ -40,9 +44,9 @@ public class ScenarioEndpoint extends AbstractEndpoint implements Producer, Cons
     private final LinkedBlockingQueue<Message> channel = new LinkedBlockingQueue<>();
 
     /**
-     * Stack of response futures to complete
+     * Response futures to complete, in the order of the inbound messages
      */
-    private final Stack<CompletableFuture<Message>> responseFutures = new Stack<>();
+    private final Queue<CompletableFuture<Message>> responseFutures = new ConcurrentLinkedQueue<>();
 
     /**
      * Default constructor using endpoint configuration.
@@ -59,7 +63,7 @@ public class ScenarioEndpoint extends AbstractEndpoint implements Producer, Cons
      * @param request
      */
     public void add(Message request, CompletableFuture<Message> future) {
-        responseFutures.push(future);
+        responseFutures.add(future);
         channel.add(request);
     }
 
@@ -96,10 +100,11 @@ public class ScenarioEndpoint extends AbstractEndpoint implements Producer, Cons
     @Override
     public void send(Message message, TestContext context) {
         messageSent(message, context);
-        if (responseFutures.isEmpty()) {
+        CompletableFuture<Message> responseFuture = responseFutures.poll();
+        if (responseFuture == null) {
             throw new SimulatorException("Failed to process scenario response message - missing response consumer");
         } else {
-            responseFutures.pop().complete(message);
+            responseFuture.complete(message);
         }
     }
 
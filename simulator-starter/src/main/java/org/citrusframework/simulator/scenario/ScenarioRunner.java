@@ -37,6 +37,11 @@ import static org.citrusframework.container.FinallySequence.Builder.doFinally;
  */
 public class ScenarioRunner implements GherkinTestActionRunner {
 
+    /**
+     * Scenario endpoint of the execution running on the current thread
+     */
+    private static final ThreadLocal<ScenarioEndpoint> CURRENT_SCENARIO_ENDPOINT = new ThreadLocal<>();
+
     private final TestCaseRunner delegate;
 
     /**
@@ -113,11 +118,25 @@ public class ScenarioRunner implements GherkinTestActionRunner {
     }
 
     public void start() {
+        CURRENT_SCENARIO_ENDPOINT.set(scenarioEndpoint);
         delegate.start();
     }
 
     public void stop() {
-        delegate.stop();
+        try {
+            delegate.stop();
+        } finally {
+            CURRENT_SCENARIO_ENDPOINT.remove();
+        }
+    }
+
+    /**
+     * Gets the scenario endpoint of the execution running on the current thread.
+     *
+     * @return the endpoint or {@code null} when no scenario is running on the current thread
+     */
+    static ScenarioEndpoint currentScenarioEndpoint() {
+        return CURRENT_SCENARIO_ENDPOINT.get();
     }
 
     public void name(String name) {
@@ -17,10 +17,17 @@
 package org.citrusframework.simulator.scenario.mapper;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.ParseContext;
 import org.citrusframework.endpoint.adapter.mapping.JsonPayloadMappingKeyExtractor;
 import org.citrusframework.message.Message;
 import org.slf4j.Logger;
@@ -33,10 +40,22 @@ import org.springframework.util.StringUtils;
  * <br/> This {@link ScenarioMapper} is similar to the {@link JsonPayloadMappingKeyExtractor} with the
  * added advantage that multiple jsonPath expressions can be used to determine the scenario that handles the
  * message.
+ * <br/> The payload is parsed once per message and the expressions are compiled when they are added. Paths not present
+ * in the payload evaluate to no match instead of raising an exception.
  */
 public class ContentBasedJsonPathScenarioMapper implements ScenarioMapper {
     private static final Logger LOG = LoggerFactory.getLogger(ContentBasedJsonPathScenarioMapper.class);
-    private final List<JsonPayloadMappingKeyExtractor> keyExtractors = new ArrayList<>();
+
+    /**
+     * Json path functions provided by Citrus, expressions using these are evaluated by the Citrus key extractor
+     */
+    private static final Pattern CITRUS_JSON_PATH_FUNCTION = Pattern.compile("\\.(keySet|values|size|exists|toString)\\(\\)$", Pattern.CASE_INSENSITIVE);
+
+    private static final ParseContext JSON_PARSER = JsonPath.using(Configuration.builder()
+            .options(Option.SUPPRESS_EXCEPTIONS)
+            .build());
+
+    private final List<JsonPathMappingExpression> expressions = new ArrayList<>();
     private Predicate<String> mappingKeyFilter = StringUtils::hasLength;
 
     /**
@@ -46,7 +65,7 @@ public class ContentBasedJsonPathScenarioMapper implements ScenarioMapper {
      * @return
      */
     public ContentBasedJsonPathScenarioMapper addJsonPathExpression(String jsonPathExpression) {
-        keyExtractors.add(createFromXPathExpression(jsonPathExpression));
+        expressions.add(JsonPathMappingExpression.of(jsonPathExpression));
         return this;
     }
 
@@ -62,31 +81,55 @@ public class ContentBasedJsonPathScenarioMapper implements ScenarioMapper {
         return this;
     }
 
+    @Override
+    public String extractMappingKey(Message request) {
+        final String payload = request.getPayload(String.class);
+        if (!StringUtils.hasText(payload)) {
+            return null;
+        }
+
+        DocumentContext document = null;
+        boolean parsed = false;
+        for (JsonPathMappingExpression expression : expressions) {
+            Optional<String> mappingKey;
+            if (expression.jsonPath() != null) {
+                if (!parsed) {
+                    document = parse(payload);
+                    parsed = true;
+                }
+                mappingKey = document != null ? lookupScenarioName(document, expression.jsonPath()) : Optional.empty();
+            } else {
+                mappingKey = lookupScenarioName(request, expression.keyExtractor());
+            }
+
+            LOG.debug("Scenario-name lookup returned: {}", mappingKey.orElse("<no-match>"));
+            if (mappingKey.filter(mappingKeyFilter).isPresent()) {
+                return mappingKey.get();
+            }
+        }
+
+        return null;
+    }
+
     /**
-     * Create proper json path mapping key extractor from given expression.
+     * Look up scenario name in the given parsed payload. Like the Citrus json path utilities, a single element matched
+     * by an indefinite path is returned as is instead of as a single element array.
      *
-     * @param jsonPathExpression
+     * @param document
+     * @param jsonPath
      * @return
      */
-    private JsonPayloadMappingKeyExtractor createFromXPathExpression(String jsonPathExpression) {
-        JsonPayloadMappingKeyExtractor mappingKeyExtractor = new JsonPayloadMappingKeyExtractor();
-        mappingKeyExtractor.setJsonPathExpression(jsonPathExpression);
-        return mappingKeyExtractor;
-    }
+    private Optional<String> lookupScenarioName(DocumentContext document, JsonPath jsonPath) {
+        Object result = document.read(jsonPath);
+        if (result instanceof Collection<?> collection && collection.isEmpty()) {
+            return Optional.empty();
+        }
 
-    @Override
-    public String extractMappingKey(Message request) {
-        if (!StringUtils.hasText(request.getPayload(String.class))) {
-            return null;
+        if (!jsonPath.isDefinite() && result instanceof List<?> list && list.size() == 1) {
+            result = list.get(0);
         }
 
-        Optional<String> v = keyExtractors.stream()
-                .map(keyExtractor -> lookupScenarioName(request, keyExtractor))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .filter(mappingKeyFilter)
-                .findFirst();
-        return v.orElse(null);
+        return Optional.ofNullable(result).map(String::valueOf);
     }
 
     /**
@@ -98,16 +141,42 @@ public class ContentBasedJsonPathScenarioMapper implements ScenarioMapper {
      */
     private Optional<String> lookupScenarioName(Message request, JsonPayloadMappingKeyExtractor keyExtractor) {
         try {
-            final String mappingKey = keyExtractor.getMappingKey(request);
-            LOG.debug("Scenario-name lookup returned: {}", mappingKey);
-            return Optional.of(mappingKey);
+            return Optional.of(keyExtractor.getMappingKey(request));
         } catch (RuntimeException e) {
             LOG.trace("Scenario-name lookup failed", e);
         }
 
-        LOG.debug("Scenario-name lookup returned: <no-match>");
         return Optional.empty();
     }
-}
 
+    private static DocumentContext parse(String payload) {
+        try {
+            return JSON_PARSER.parse(payload);
+        } catch (RuntimeException e) {
+            LOG.trace("Failed to parse payload", e);
+        }
 
+        return null;
+    }
+
+    /**
+     * Json path expression compiled upfront. Expressions using Citrus json path functions or failing to compile are
+     * evaluated by the Citrus key extractor instead.
+     */
+    private record JsonPathMappingExpression(JsonPath jsonPath, JsonPayloadMappingKeyExtractor keyExtractor) {
+
+        static JsonPathMappingExpression of(String jsonPathExpression) {
+            if (!CITRUS_JSON_PATH_FUNCTION.matcher(jsonPathExpression).find()) {
+                try {
+                    return new JsonPathMappingExpression(JsonPath.compile(jsonPathExpression), null);
+                } catch (RuntimeException e) {
+                    LOG.trace("Failed to compile json path expression '{}'", jsonPathExpression, e);
+                }
+            }
+
+            JsonPayloadMappingKeyExtractor keyExtractor = new JsonPayloadMappingKeyExtractor();
+            keyExtractor.setJsonPathExpression(jsonPathExpression);
+            return new JsonPathMappingExpression(null, keyExtractor);
+        }
+    }
+}
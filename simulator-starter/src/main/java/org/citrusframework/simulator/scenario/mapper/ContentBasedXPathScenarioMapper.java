@@ -16,17 +16,32 @@
 
 package org.citrusframework.simulator.scenario.mapper;
 
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
 
 import org.citrusframework.endpoint.adapter.mapping.XPathPayloadMappingKeyExtractor;
 import org.citrusframework.message.Message;
+import org.citrusframework.util.XMLUtils;
 import org.citrusframework.xml.namespace.NamespaceContextBuilder;
+import org.citrusframework.xml.xpath.XPathUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
+import org.springframework.util.xml.SimpleNamespaceContext;
+import org.w3c.dom.Document;
 
 /**
  * Mapper that can be used for examining incoming messages and based on the content of the message returns the name
@@ -34,14 +49,27 @@ import org.springframework.util.StringUtils;
  * <br/> This {@link ScenarioMapper} is similar to the {@link XPathPayloadMappingKeyExtractor} with the
  * added advantage that multiple xpath expressions can be used to determine the scenario that handles the
  * message.
+ * <br/> The payload is parsed once per message and the expressions are compiled upfront against the configured namespace
+ * mappings. The root element name expression {@code local-name(/*)} is answered by reading the payload up to the first
+ * start tag, without parsing the whole document.
  */
 public class ContentBasedXPathScenarioMapper implements ScenarioMapper {
     private static final Logger LOG = LoggerFactory.getLogger(ContentBasedXPathScenarioMapper.class);
 
-    private final List<XPathPayloadMappingKeyExtractor> keyExtractors = new ArrayList<>();
+    private static final String ROOT_ELEMENT_NAME_EXPRESSION = "local-name(/*)";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private final List<String> xpathExpressions = new ArrayList<>();
     private final NamespaceContextBuilder namespaceContextBuilder;
     private Predicate<String> mappingKeyFilter = StringUtils::hasLength;
 
+    /**
+     * Compiled xpath expressions, {@code null} for expressions that only resolve against the namespaces of the message.
+     * Compiled expressions are not thread-safe, so each thread compiles its own.
+     */
+    private volatile ThreadLocal<XPathExpression[]> compiledExpressions = ThreadLocal.withInitial(this::compileExpressions);
+
     /**
      * Default constructor.
      */
@@ -67,6 +95,7 @@ public class ContentBasedXPathScenarioMapper implements ScenarioMapper {
      */
     public ContentBasedXPathScenarioMapper addNamespaceMapping(String alias, String namespaceIdentifier) {
         namespaceContextBuilder.getNamespaceMappings().put(alias, namespaceIdentifier);
+        resetCompiledExpressions();
         return this;
     }
 
@@ -77,7 +106,8 @@ public class ContentBasedXPathScenarioMapper implements ScenarioMapper {
      * @return
      */
     public ContentBasedXPathScenarioMapper addXPathExpression(String xpathExpression) {
-        keyExtractors.add(createFromXPathExpression(xpathExpression));
+        xpathExpressions.add(xpathExpression);
+        resetCompiledExpressions();
         return this;
     }
 
@@ -93,51 +123,130 @@ public class ContentBasedXPathScenarioMapper implements ScenarioMapper {
         return this;
     }
 
+    @Override
+    public String extractMappingKey(Message request) {
+        final String payload = request.getPayload(String.class);
+        if (!StringUtils.hasText(payload)) {
+            return null;
+        }
+
+        final XPathExpression[] compiled = compiledExpressions.get();
+        Document document = null;
+        boolean parsed = false;
+        for (int i = 0; i < xpathExpressions.size(); i++) {
+            final String xpathExpression = xpathExpressions.get(i);
+
+            Optional<String> mappingKey;
+            if (ROOT_ELEMENT_NAME_EXPRESSION.equals(xpathExpression.trim())) {
+                mappingKey = lookupRootElementName(payload);
+            } else {
+                if (!parsed) {
+                    document = parse(payload);
+                    parsed = true;
+                }
+                mappingKey = document != null ? lookupScenarioName(request, document, xpathExpression, compiled[i]) : Optional.empty();
+            }
+
+            LOG.debug("Scenario-name lookup returned: {}", mappingKey.orElse("<no-match>"));
+            if (mappingKey.filter(mappingKeyFilter).isPresent()) {
+                return mappingKey.get();
+            }
+        }
+
+        return null;
+    }
+
     /**
-     * Create proper xpath mapping key extractor from given expression.
+     * Look up scenario name for given request document. Expressions that could not be compiled upfront are evaluated
+     * with the namespace context of the request.
      *
+     * @param request
+     * @param document
      * @param xpathExpression
+     * @param compiledExpression
      * @return
      */
-    private XPathPayloadMappingKeyExtractor createFromXPathExpression(String xpathExpression) {
-        XPathPayloadMappingKeyExtractor mappingKeyExtractor = new XPathPayloadMappingKeyExtractor();
-        mappingKeyExtractor.setNamespaceContextBuilder(namespaceContextBuilder);
-        mappingKeyExtractor.setXpathExpression(xpathExpression);
-        return mappingKeyExtractor;
-    }
+    private Optional<String> lookupScenarioName(Message request, Document document, String xpathExpression, XPathExpression compiledExpression) {
+        try {
+            if (compiledExpression != null) {
+                return Optional.of((String) compiledExpression.evaluate(document, XPathConstants.STRING));
+            }
 
-    @Override
-    public String extractMappingKey(Message request) {
-        if (!StringUtils.hasText(request.getPayload(String.class))) {
-            return null;
+            return Optional.of((String) XPathUtils.evaluateExpression(document, xpathExpression,
+                    namespaceContextBuilder.buildContext(request, Collections.emptyMap()), XPathConstants.STRING));
+        } catch (XPathExpressionException | RuntimeException e) {
+            LOG.trace("Scenario-name lookup failed", e);
         }
 
-        Optional<String> v = keyExtractors.stream()
-                .map(keyExtractor -> lookupScenarioName(request, keyExtractor))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .filter(mappingKeyFilter)
-                .findFirst();
-        return v.orElse(null);
+        return Optional.empty();
     }
 
     /**
-     * Look up scenario name for given request.
+     * Reads the local name of the root element, stopping at the first start tag.
      *
-     * @param request
-     * @param keyExtractor
+     * @param payload
      * @return
      */
-    private Optional<String> lookupScenarioName(Message request, XPathPayloadMappingKeyExtractor keyExtractor) {
+    private static Optional<String> lookupRootElementName(String payload) {
+        XMLStreamReader reader = null;
         try {
-            final String mappingKey = keyExtractor.getMappingKey(request);
-            LOG.debug("Scenario-name lookup returned: {}", mappingKey);
-            return Optional.of(mappingKey);
-        } catch (RuntimeException e) {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(payload));
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    return Optional.of(reader.getLocalName());
+                }
+            }
+        } catch (XMLStreamException e) {
             LOG.trace("Scenario-name lookup failed", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    LOG.trace("Failed to close payload reader", e);
+                }
+            }
         }
 
-        LOG.debug("Scenario-name lookup returned: <no-match>");
         return Optional.empty();
     }
+
+    private static Document parse(String payload) {
+        try {
+            return XMLUtils.parseMessagePayload(payload);
+        } catch (RuntimeException e) {
+            LOG.trace("Failed to parse payload", e);
+        }
+
+        return null;
+    }
+
+    private XPathExpression[] compileExpressions() {
+        SimpleNamespaceContext namespaceContext = new SimpleNamespaceContext();
+        namespaceContext.setBindings(namespaceContextBuilder.getNamespaceMappings());
+
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        xpath.setNamespaceContext(namespaceContext);
+
+        XPathExpression[] compiled = new XPathExpression[xpathExpressions.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            try {
+                compiled[i] = xpath.compile(xpathExpressions.get(i));
+            } catch (XPathExpressionException e) {
+                LOG.trace("XPath expression '{}' is evaluated with the namespace context of each message", xpathExpressions.get(i), e);
+            }
+        }
+        return compiled;
+    }
+
+    private void resetCompiledExpressions() {
+        compiledExpressions = ThreadLocal.withInitial(this::compileExpressions);
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
 }
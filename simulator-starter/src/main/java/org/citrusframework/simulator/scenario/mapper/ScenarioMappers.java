@@ -30,12 +30,14 @@ import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 /**
  * Scenario mapper chain goes through a list of mappers to find best match of extracted mapping keys. When no suitable
  * mapping key is found in the list of mappers a default mapping is used based on provided base class evaluation.
+ * <br/> Extracted mapping keys are validated against an index of the scenario names, built once per scenario list.
  *
  * @author Christoph Deppisch
  */
@@ -44,6 +46,11 @@ public class ScenarioMappers extends AbstractScenarioMapper implements ScenarioL
     @Autowired(required = false)
     private List<SimulatorScenario> scenarioList = new ArrayList<>();
 
+    /**
+     * Names of the scenarios in the scenario list
+     */
+    private volatile ScenarioNameIndex scenarioNameIndex;
+
     private final List<ScenarioMapper> scenarioMapperList;
 
     /**
@@ -52,6 +59,11 @@ public class ScenarioMappers extends AbstractScenarioMapper implements ScenarioL
      */
     private ScenarioMappers(ScenarioMapper... scenarioMapperList) {
         this.scenarioMapperList = Arrays.asList(scenarioMapperList);
+
+        this.scenarioMapperList.stream()
+                .filter(mapper -> mapper instanceof AbstractScenarioMapper)
+                .map(mapper -> (AbstractScenarioMapper) mapper)
+                .forEach(mapper -> mapper.setUseDefaultMapping(false));
     }
 
     /**
@@ -65,37 +77,34 @@ public class ScenarioMappers extends AbstractScenarioMapper implements ScenarioL
 
     @Override
     public String getMappingKey(Message message) {
-        return scenarioMapperList.stream()
-                .map(mapper -> {
-                    if (mapper instanceof AbstractScenarioMapper) {
-                        ((AbstractScenarioMapper) mapper).setUseDefaultMapping(false);
-                    }
-
-                    try {
-                        return Optional.ofNullable(mapper.extractMappingKey(message));
-                    } catch (Exception e) {
-                        return Optional.<String>empty();
-                    }
-                })
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .filter(StringUtils::hasLength)
-                .filter(key -> scenarioList.parallelStream()
-                        .anyMatch(scenario -> {
-                            if (scenario instanceof HttpOperationScenario) {
-                                return Optional.ofNullable(((HttpOperationScenario) scenario).getOperation())
-                                                .map(Operation::getOperationId)
-                                                .orElse("")
-                                                .equals(key);
-                            }
-
-                            return Optional.ofNullable(AnnotationUtils.findAnnotation(scenario.getClass(), Scenario.class))
-                                                                        .map(Scenario::value)
-                                                                        .orElse("")
-                                                                        .equals(key);
-                        }))
-                .findFirst()
-                .orElseGet(() -> super.getMappingKey(message));
+        Set<String> scenarioNames = getScenarioNameIndex().names();
+        for (ScenarioMapper mapper : scenarioMapperList) {
+            String key;
+            try {
+                key = mapper.extractMappingKey(message);
+            } catch (Exception e) {
+                continue;
+            }
+
+            if (StringUtils.hasLength(key) && scenarioNames.contains(key)) {
+                return key;
+            }
+        }
+
+        return super.getMappingKey(message);
+    }
+
+    /**
+     * Gets the scenario name index of the current scenario list, building it in case the list has been injected or
+     * replaced since the last request.
+     */
+    private ScenarioNameIndex getScenarioNameIndex() {
+        ScenarioNameIndex index = scenarioNameIndex;
+        if (index == null || index.scenarioList() != scenarioList) {
+            index = ScenarioNameIndex.of(scenarioList);
+            scenarioNameIndex = index;
+        }
+        return index;
     }
 
     @Override
@@ -109,10 +118,40 @@ public class ScenarioMappers extends AbstractScenarioMapper implements ScenarioL
                 .filter(mapper -> mapper instanceof SimulatorConfigurationPropertiesAware)
                 .map(mapper -> (SimulatorConfigurationPropertiesAware) mapper)
                 .forEach(mapper -> mapper.setSimulatorConfigurationProperties(getSimulatorConfigurationProperties()));
+
+        scenarioNameIndex = ScenarioNameIndex.of(scenarioList);
     }
 
     @Override
     public void setScenarioList(List<SimulatorScenario> scenarioList) {
         this.scenarioList = scenarioList;
+        this.scenarioNameIndex = ScenarioNameIndex.of(scenarioList);
+    }
+
+    /**
+     * Names of the given scenarios, the operation id for {@link HttpOperationScenario} and the {@link Scenario}
+     * annotation value for all other scenarios.
+     */
+    private record ScenarioNameIndex(List<SimulatorScenario> scenarioList, Set<String> names) {
+
+        static ScenarioNameIndex of(List<SimulatorScenario> scenarioList) {
+            Set<String> names = new HashSet<>();
+            for (SimulatorScenario scenario : scenarioList) {
+                String name;
+                if (scenario instanceof HttpOperationScenario operationScenario) {
+                    Operation operation = operationScenario.getOperation();
+                    name = operation != null ? operation.getOperationId() : null;
+                } else {
+                    Scenario annotation = AnnotationUtils.findAnnotation(scenario.getClass(), Scenario.class);
+                    name = annotation != null ? annotation.value() : null;
+                }
+
+                if (StringUtils.hasLength(name)) {
+                    names.add(name);
+                }
+            }
+
+            return new ScenarioNameIndex(scenarioList, Set.copyOf(names));
+        }
     }
 }
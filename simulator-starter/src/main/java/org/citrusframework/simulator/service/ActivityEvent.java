@@ -0,0 +1,52 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.ScenarioExecution;
+
+/**
+ * Audit event of a running scenario execution. The {@link ActivityService} applies events to the persisted
+ * {@link ScenarioExecution} right away or hands them to the {@link ActivityWriteBehindQueue}.
+ */
+sealed interface ActivityEvent {
+
+    Long executionId();
+
+    /**
+     * Test action has been finished, the end date is not set for actions still running when the execution finished.
+     */
+    record TestActionCompleted(Long executionId, String actionName, Instant startDate, Instant endDate) implements ActivityEvent {
+    }
+
+    /**
+     * Message has been sent or received by the scenario.
+     */
+    record MessageExchanged(Long executionId, Message.Direction direction, String payload, String citrusMessageId,
+                            Map<String, Object> headers) implements ActivityEvent {
+    }
+
+    /**
+     * Scenario execution has finished, the error message is only set for failed executions.
+     */
+    record ExecutionCompleted(Long executionId, ScenarioExecution.Status status, Instant endDate,
+                              String errorMessage) implements ActivityEvent {
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.citrusframework.simulator.model.ScenarioExecution;
+
+/**
+ * Binds the in-memory execution counters of the {@link ActivityService} to the actuator meter registry. The counters
+ * include executions that have not been persisted according to the persistence policy. Audit events dropped in
+ * write-behind mode are counted by reason.
+ */
+public class ActivityMetrics implements MeterBinder {
+
+    private final ActivityService activityService;
+
+    public ActivityMetrics(ActivityService activityService) {
+        this.activityService = activityService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ScenarioExecution.Status status : new ScenarioExecution.Status[] { ScenarioExecution.Status.SUCCESS, ScenarioExecution.Status.FAILED }) {
+            FunctionCounter.builder("citrus.simulator.scenario.executions.completed", activityService, service -> service.getCompletedExecutionCount(status))
+                    .description("Number of completed scenario executions")
+                    .tag("status", status.name().toLowerCase())
+                    .register(registry);
+        }
+
+        FunctionCounter.builder("citrus.simulator.scenario.executions.persisted", activityService, ActivityService::getPersistedExecutionCount)
+                .description("Number of scenario executions persisted according to the persistence policy")
+                .register(registry);
+
+        FunctionCounter.builder("citrus.simulator.activity.events.dropped", activityService, ActivityService::getOverflowEventCount)
+                .description("Number of audit events dropped by the write-behind queue")
+                .tag("reason", "overflow")
+                .register(registry);
+
+        FunctionCounter.builder("citrus.simulator.activity.events.dropped", activityService, ActivityService::getFailedEventCount)
+                .description("Number of audit events dropped by the write-behind queue")
+                .tag("reason", "write_failure")
+                .register(registry);
+    }
+}
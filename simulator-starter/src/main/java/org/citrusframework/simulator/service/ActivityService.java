@@ -16,6 +16,7 @@
 
 package org.citrusframework.simulator.service;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -24,15 +25,27 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.citrusframework.TestAction;
 import org.citrusframework.TestCase;
 import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties.PersistencePolicy;
+import org.citrusframework.simulator.model.KeysetCursor;
 import org.citrusframework.simulator.model.Message;
 import org.citrusframework.simulator.model.ScenarioAction;
 import org.citrusframework.simulator.model.ScenarioExecution;
@@ -40,15 +53,22 @@ import org.citrusframework.simulator.model.ScenarioExecution.Status;
 import org.citrusframework.simulator.model.ScenarioExecutionFilter;
 import org.citrusframework.simulator.model.ScenarioParameter;
 import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.dto.KeysetPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
- * Service for persisting and retrieving {@link ScenarioExecution} data.
+ * Service for persisting and retrieving {@link ScenarioExecution} data. Test actions of running executions are tracked
+ * in memory and written along with the execution result. Messages and execution results are written within the
+ * scenario thread, or by a background writer in batches when write-behind is enabled.
+ * The persistence policy decides which executions get persisted at all, completed executions are counted in memory
+ * regardless of the policy.
  */
 @Service
 @Transactional
@@ -56,20 +76,77 @@ public class ActivityService {
 
     private static final Logger logger = LoggerFactory.getLogger(ActivityService.class);
 
+    /**
+     * Maximum time in milliseconds to wait for queued audit events to be written on shutdown
+     */
+    private static final long WRITE_BEHIND_SHUTDOWN_TIMEOUT = 10000L;
+
     @Autowired
     private QueryFilterAdapterFactory queryFilterAdapterFactory;
 
     private final ScenarioExecutionRepository scenarioExecutionRepository;
     private final MessageService messageService;
 
+    /**
+     * Write-behind queue of audit events, {@code null} when events are written synchronously
+     */
+    private final ActivityWriteBehindQueue writeBehindQueue;
+
+    private final PersistencePolicy persistencePolicy;
+    private final int sampleRate;
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    /**
+     * Ids of executions that are not persisted count downwards from -1, so they never clash with persisted ids
+     */
+    private final AtomicLong unpersistedExecutionIds = new AtomicLong();
+
+    /**
+     * Executions kept in memory until they have finished or have been aborted, only used by the failures-only
+     * persistence policy
+     */
+    private final Map<Long, PendingExecution> pendingExecutions = new ConcurrentHashMap<>();
+
+    /**
+     * Running executions with recorded activity, keyed by execution id
+     */
+    private final Map<Long, LiveExecution> liveExecutions = new ConcurrentHashMap<>();
+
+    private final Map<Status, AtomicLong> completedExecutionCounts = new EnumMap<>(Status.class);
+    private final AtomicLong persistedExecutionCount = new AtomicLong();
+
     @Autowired
-    public ActivityService(ScenarioExecutionRepository scenarioExecutionRepository, MessageService messageService) {
+    public ActivityService(ScenarioExecutionRepository scenarioExecutionRepository, MessageService messageService,
+                           SimulatorPersistenceConfigurationProperties persistenceConfiguration, PlatformTransactionManager transactionManager) {
         this.scenarioExecutionRepository = scenarioExecutionRepository;
         this.messageService = messageService;
+        this.persistencePolicy = persistenceConfiguration.getPolicy();
+        this.sampleRate = Math.max(1, persistenceConfiguration.getSampleRate());
+
+        for (Status status : Status.values()) {
+            completedExecutionCounts.put(status, new AtomicLong());
+        }
+
+        if (persistenceConfiguration.isWriteBehind()) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            writeBehindQueue = new ActivityWriteBehindQueue(persistenceConfiguration,
+                    events -> transactionTemplate.executeWithoutResult(status -> writeEvents(events)));
+            writeBehindQueue.start();
+        } else {
+            writeBehindQueue = null;
+        }
+    }
+
+    @PreDestroy
+    public void stopWriteBehind() {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.stop(WRITE_BEHIND_SHUTDOWN_TIMEOUT);
+        }
     }
 
     /**
-     * Creates a new {@link ScenarioExecution}, persisting it within the database.
+     * Creates a new {@link ScenarioExecution}, persisting it within the database. Executions that are not persisted
+     * according to the persistence policy get a negative execution id.
      *
      * @param scenarioName       the name of the scenario
      * @param scenarioParameters the scenario's start parameters
@@ -88,7 +165,69 @@ public class ActivityService {
             }
         }
 
-        return scenarioExecutionRepository.save(scenarioExecution);
+        if (shouldPersist()) {
+            persistedExecutionCount.incrementAndGet();
+            scenarioExecution = scenarioExecutionRepository.save(scenarioExecution);
+            liveExecutions.put(scenarioExecution.getExecutionId(), new LiveExecution(scenarioExecution));
+            return scenarioExecution;
+        }
+
+        scenarioExecution.setExecutionId(unpersistedExecutionIds.decrementAndGet());
+        if (persistencePolicy == PersistencePolicy.FAILURES_ONLY) {
+            pendingExecutions.put(scenarioExecution.getExecutionId(), new PendingExecution(scenarioExecution));
+            liveExecutions.put(scenarioExecution.getExecutionId(), new LiveExecution(scenarioExecution));
+        }
+
+        return scenarioExecution;
+    }
+
+    /**
+     * Checks whether scenario actions and messages of the given execution are recorded. This is not the case for
+     * executions skipped by the persistence policy.
+     *
+     * @param executionId the scenario execution id
+     * @return
+     */
+    public boolean isRecording(Long executionId) {
+        return executionId >= 0 || pendingExecutions.containsKey(executionId);
+    }
+
+    /**
+     * Gets the number of executions completed with the given status since startup, including executions that have
+     * not been persisted.
+     *
+     * @param status
+     * @return
+     */
+    public long getCompletedExecutionCount(Status status) {
+        return completedExecutionCounts.get(status).get();
+    }
+
+    /**
+     * Gets the number of executions persisted since startup.
+     *
+     * @return
+     */
+    public long getPersistedExecutionCount() {
+        return persistedExecutionCount.get();
+    }
+
+    /**
+     * Gets the number of audit events dropped by the write-behind queue because it was full.
+     *
+     * @return
+     */
+    public long getOverflowEventCount() {
+        return writeBehindQueue != null ? writeBehindQueue.getDroppedCount() : 0L;
+    }
+
+    /**
+     * Gets the number of audit events dropped by the write-behind queue because they could not be written.
+     *
+     * @return
+     */
+    public long getFailedEventCount() {
+        return writeBehindQueue != null ? writeBehindQueue.getFailedCount() : 0L;
     }
 
     public void completeScenarioExecutionSuccess(TestCase testCase) {
@@ -99,6 +238,20 @@ public class ActivityService {
         completeScenarioExecution(Status.FAILED, testCase, cause);
     }
 
+    /**
+     * Completes an execution that has ended without its test case being finished, e.g. because the scenario could not
+     * be started or has been interrupted. The execution is marked as failed and its in-memory state is released.
+     * Executions that have already been completed are left untouched.
+     *
+     * @param executionId the scenario execution id
+     * @param cause       the reason the execution has ended, may be {@code null}
+     */
+    public void abortScenarioExecution(Long executionId, Throwable cause) {
+        if (liveExecutions.containsKey(executionId)) {
+            completeScenarioExecution(Status.FAILED, executionId, cause);
+        }
+    }
+
     public Collection<ScenarioExecution> getScenarioExecutionsByName(String testName) {
         return scenarioExecutionRepository.findByScenarioNameOrderByStartDateDesc(testName);
     }
@@ -107,10 +260,40 @@ public class ActivityService {
         return scenarioExecutionRepository.find(queryFilterAdapterFactory.getQueryAdapter(filter));
 	}
 
+    /**
+     * Gets a page of scenario executions matching the filter, latest first. The returned cursor continues with the
+     * next page when set on the filter, without the database skipping all previous executions.
+     *
+     * @param filter the execution filter, optionally holding the cursor of the previous page
+     * @return the executions along with the cursor of the next page
+     */
+    public KeysetPage<ScenarioExecution> getScenarioExecutionPage(ScenarioExecutionFilter filter) {
+        ScenarioExecutionFilter queryFilter = queryFilterAdapterFactory.getQueryAdapter(filter);
+        return KeysetPage.of(scenarioExecutionRepository.find(queryFilter), queryFilter.getPageSize(),
+                scenarioExecution -> new KeysetCursor(scenarioExecution.getStartDate(), scenarioExecution.getExecutionId()));
+    }
+
 	public Collection<ScenarioExecution> getScenarioExecutionsByStatus(ScenarioExecution.Status status) {
+        if (status == Status.RUNNING) {
+            return getRunningScenarioExecutions();
+        }
+
         return scenarioExecutionRepository.findByStatusOrderByStartDateDesc(status);
     }
 
+    /**
+     * Gets the persisted executions currently running from memory, without querying the database.
+     *
+     * @return detached snapshots of the running executions, latest first
+     */
+    public Collection<ScenarioExecution> getRunningScenarioExecutions() {
+        return liveExecutions.values().stream()
+                .filter(liveExecution -> liveExecution.getExecutionId() >= 0)
+                .map(LiveExecution::toScenarioExecution)
+                .sorted(Comparator.comparing(ScenarioExecution::getStartDate).reversed())
+                .toList();
+    }
+
     public ScenarioExecution getScenarioExecutionById(Long id) {
         return scenarioExecutionRepository.findById(id).orElseThrow(() -> new CitrusRuntimeException(String.format("Failed to find scenario execution for id %s", id)));
     }
@@ -118,34 +301,63 @@ public class ActivityService {
     /**
      * Persists the message along with the scenario execution details. With the help of the {@code citrusMessageId}
      * a check is made to determine whether the message has already been persisted. If it has then there's nothing
-     * to be done and the persisted message is simply returned.
+     * to be done and the persisted message is simply returned. Running executions remember the ids of their messages
+     * in memory, so the check neither loads the execution's messages nor queries the database.
      *
      * @param executionId     the scenario execution id
      * @param direction       the direction of the message
      * @param payload         the message content
      * @param citrusMessageId the internal citrus message id
      * @param headers         the message headers
-     * @return the already or newly persisted message
+     * @return the already or newly persisted message, {@code null} when the message is written behind or not persisted
      */
     public Message saveScenarioMessage(Long executionId, Message.Direction direction, String payload, String citrusMessageId, Map<String, Object> headers) {
-        final ScenarioExecution scenarioExecution = getScenarioExecutionById(executionId);
-        Collection<Message> messages = scenarioExecution.getScenarioMessages();
-        if (messages != null) {
-            Optional<Message> message = messages.stream()
-                    .filter(scenarioMessage -> scenarioMessage.getCitrusMessageId().equalsIgnoreCase(citrusMessageId))
-                    .findFirst();
-            if (message.isPresent()) {
-                // message is already persisted and attached to execution scenario
-                return message.get();
-            }
+        if (!isRecording(executionId)) {
+            return null;
+        }
+
+        if (isDuplicateMessage(executionId, citrusMessageId)) {
+            // message is already persisted and attached to execution scenario
+            return executionId >= 0 && writeBehindQueue == null ? messageService.findMessageByCitrusMessageId(citrusMessageId).orElse(null) : null;
+        }
+
+        if (executionId < 0 || writeBehindQueue != null) {
+            dispatch(new ActivityEvent.MessageExchanged(executionId, direction, payload, citrusMessageId,
+                    headers != null ? new HashMap<>(headers) : null));
+            return null;
+        }
+
+        return saveScenarioMessage(getScenarioExecutionById(executionId), direction, payload, citrusMessageId, headers);
+    }
+
+    /**
+     * Checks whether the message has already been reported for the execution. Running executions use their in-memory
+     * set of message ids, messages reported after the execution has finished are looked up in the database.
+     *
+     * @param executionId     the scenario execution id
+     * @param citrusMessageId the internal citrus message id
+     * @return
+     */
+    private boolean isDuplicateMessage(Long executionId, String citrusMessageId) {
+        LiveExecution liveExecution = liveExecutions.get(executionId);
+        if (liveExecution != null) {
+            return !liveExecution.addMessageId(citrusMessageId);
         }
-        final Message message = messageService.saveMessage(direction, payload, citrusMessageId, headers);
+
+        return executionId >= 0 && messageService.findMessageByCitrusMessageId(citrusMessageId).isPresent();
+    }
+
+    private Message saveScenarioMessage(ScenarioExecution scenarioExecution, Message.Direction direction, String payload, String citrusMessageId, Map<String, Object> headers) {
+        final Message message = writeBehindQueue != null || scenarioExecution.getExecutionId() == null
+                ? messageService.createMessage(direction, payload, citrusMessageId, headers)
+                : messageService.saveMessage(direction, payload, citrusMessageId, headers);
         scenarioExecution.addScenarioMessage(message);
         return message;
     }
 
     public void clearScenarioExecutions() {
-        scenarioExecutionRepository.deleteAll();
+        messageService.clearMessages();
+        scenarioExecutionRepository.deleteAllInBulk();
     }
 
     public Collection<ScenarioExecution> getScenarioExecutionsByStartDate(Instant fromDate, Instant toDate, Integer page, Integer size) {
@@ -174,32 +386,46 @@ public class ActivityService {
     }
 
     private void completeScenarioExecution(ScenarioExecution.Status status, TestCase testCase, Throwable cause) {
-        ScenarioExecution scenarioExecution = lookupScenarioExecution(testCase);
-        scenarioExecution.setEndDate(getTimeNow());
-        scenarioExecution.setStatus(status);
+        completeScenarioExecution(status, lookupScenarioExecutionId(testCase), cause);
+    }
+
+    private void completeScenarioExecution(ScenarioExecution.Status status, long executionId, Throwable cause) {
+        String errorMessage = null;
         if (cause != null) {
             StringWriter stringWriter = new StringWriter();
             PrintWriter printWriter = new PrintWriter(stringWriter);
             cause.printStackTrace(printWriter);
+            errorMessage = stringWriter.toString();
+        }
 
-            try {
-                scenarioExecution.setErrorMessage(stringWriter.toString());
-            } catch (ScenarioExecution.ErrorMessageTruncationException e) {
-                logger.error("Error completing scenario execution!", e);
-            }
+        completedExecutionCounts.get(status).incrementAndGet();
+
+        List<ActivityEvent> events = new ArrayList<>();
+        LiveExecution liveExecution = liveExecutions.remove(executionId);
+        if (liveExecution != null) {
+            events.addAll(liveExecution.getActions());
         }
+        events.add(new ActivityEvent.ExecutionCompleted(executionId, status, getTimeNow(), errorMessage));
+
+        dispatch(executionId, events);
     }
 
+    /**
+     * Opens the test action within the running execution, nested in the actions still open. Test actions are kept in
+     * memory and written when the execution has finished.
+     *
+     * @param testCase
+     * @param testAction
+     */
     public void createTestAction(TestCase testCase, TestAction testAction) {
         if (skipTestAction(testAction)) {
             return;
         }
 
-        ScenarioExecution scenarioExecution = lookupScenarioExecution(testCase);
-        ScenarioAction scenarioAction = new ScenarioAction();
-        scenarioAction.setName(StringUtils.isNotBlank(testAction.getName()) ? testAction.getName() : scenarioExecution.getScenarioName());
-        scenarioAction.setStartDate(getTimeNow());
-        scenarioExecution.addScenarioAction(scenarioAction);
+        LiveExecution liveExecution = liveExecutions.get(lookupScenarioExecutionId(testCase));
+        if (liveExecution != null) {
+            liveExecution.startAction(getActionName(liveExecution, testAction), getTimeNow());
+        }
     }
 
     public void completeTestAction(TestCase testCase, TestAction testAction) {
@@ -207,22 +433,123 @@ public class ActivityService {
             return;
         }
 
-        ScenarioExecution scenarioExecution = lookupScenarioExecution(testCase);
-        Iterator<ScenarioAction> scenarioActions = scenarioExecution.getScenarioActions().iterator();
-        ScenarioAction lastScenarioAction = null;
-        while (scenarioActions.hasNext()) {
-            lastScenarioAction = scenarioActions.next();
+        LiveExecution liveExecution = liveExecutions.get(lookupScenarioExecutionId(testCase));
+        if (liveExecution != null) {
+            liveExecution.completeAction(getActionName(liveExecution, testAction), getTimeNow());
+        }
+    }
+
+    private String getActionName(LiveExecution liveExecution, TestAction testAction) {
+        return StringUtils.isNotBlank(testAction.getName()) ? testAction.getName() : liveExecution.getScenarioName();
+    }
+
+    private void dispatch(ActivityEvent event) {
+        dispatch(event.executionId(), List.of(event));
+    }
+
+    private void dispatch(Long executionId, List<ActivityEvent> events) {
+        if (executionId < 0) {
+            events.forEach(this::recordPendingEvent);
+        } else if (writeBehindQueue != null) {
+            events.forEach(writeBehindQueue::submit);
+        } else {
+            ScenarioExecution scenarioExecution = lookupScenarioExecution(executionId);
+            events.forEach(event -> applyEvent(scenarioExecution, event));
+        }
+    }
+
+    private boolean shouldPersist() {
+        return switch (persistencePolicy) {
+            case FULL -> true;
+            case SAMPLING -> sampleSequence.getAndIncrement() % sampleRate == 0;
+            case FAILURES_ONLY, OFF -> false;
+        };
+    }
+
+    /**
+     * Keeps the audit event of a not yet persisted execution in memory. Once the execution has finished it gets
+     * persisted along with all of its events in case it has failed, otherwise the events are discarded.
+     *
+     * @param event
+     */
+    private void recordPendingEvent(ActivityEvent event) {
+        PendingExecution pendingExecution = pendingExecutions.get(event.executionId());
+        if (pendingExecution == null) {
+            return;
+        }
+
+        if (!(event instanceof ActivityEvent.ExecutionCompleted executionCompleted)) {
+            pendingExecution.events().add(event);
+            return;
         }
 
-        if (lastScenarioAction == null) {
-            throw new CitrusRuntimeException(String.format("No test action found with name' %s'", testAction.getName()));
+        pendingExecutions.remove(event.executionId());
+        if (executionCompleted.status() != Status.FAILED) {
+            return;
         }
-        if ((StringUtils.isNotBlank(testAction.getName()) && !lastScenarioAction.getName().equals(testAction.getName()))
-            || (StringUtils.isBlank(testAction.getName()) && !lastScenarioAction.getName().equals(scenarioExecution.getScenarioName()))) {
-            throw new CitrusRuntimeException(String.format("Expected to find last test action with name '%s' but got '%s'", testAction.getName(), lastScenarioAction.getName()));
+
+        ScenarioExecution scenarioExecution = pendingExecution.scenarioExecution();
+        scenarioExecution.setExecutionId(null);
+        for (ActivityEvent pendingEvent : pendingExecution.events()) {
+            try {
+                applyEvent(scenarioExecution, pendingEvent);
+            } catch (CitrusRuntimeException e) {
+                logger.error("Failed to write activity event {}", pendingEvent, e);
+            }
         }
+        applyEvent(scenarioExecution, executionCompleted);
 
-        lastScenarioAction.setEndDate(getTimeNow());
+        scenarioExecutionRepository.save(scenarioExecution);
+        persistedExecutionCount.incrementAndGet();
+    }
+
+    /**
+     * Writes a batch of audit events. Events are grouped by execution, so each execution is loaded once per batch.
+     * A failing event is logged and does not affect the other events of the batch.
+     *
+     * @param events
+     */
+    private void writeEvents(List<ActivityEvent> events) {
+        Map<Long, List<ActivityEvent>> eventsByExecution = events.stream()
+                .collect(Collectors.groupingBy(ActivityEvent::executionId, LinkedHashMap::new, Collectors.toList()));
+
+        eventsByExecution.forEach((executionId, executionEvents) -> {
+            Optional<ScenarioExecution> scenarioExecution = scenarioExecutionRepository.findById(executionId);
+            if (scenarioExecution.isEmpty()) {
+                logger.warn("Discarding {} activity events of unknown scenario execution {}", executionEvents.size(), executionId);
+                return;
+            }
+
+            for (ActivityEvent event : executionEvents) {
+                try {
+                    applyEvent(scenarioExecution.get(), event);
+                } catch (CitrusRuntimeException e) {
+                    logger.error("Failed to write activity event {}", event, e);
+                }
+            }
+        });
+    }
+
+    private void applyEvent(ScenarioExecution scenarioExecution, ActivityEvent event) {
+        if (event instanceof ActivityEvent.TestActionCompleted actionCompleted) {
+            ScenarioAction scenarioAction = new ScenarioAction();
+            scenarioAction.setName(actionCompleted.actionName());
+            scenarioAction.setStartDate(actionCompleted.startDate());
+            scenarioAction.setEndDate(actionCompleted.endDate());
+            scenarioExecution.addScenarioAction(scenarioAction);
+        } else if (event instanceof ActivityEvent.MessageExchanged message) {
+            saveScenarioMessage(scenarioExecution, message.direction(), message.payload(), message.citrusMessageId(), message.headers());
+        } else if (event instanceof ActivityEvent.ExecutionCompleted executionCompleted) {
+            scenarioExecution.setEndDate(executionCompleted.endDate());
+            scenarioExecution.setStatus(executionCompleted.status());
+            if (executionCompleted.errorMessage() != null) {
+                try {
+                    scenarioExecution.setErrorMessage(executionCompleted.errorMessage());
+                } catch (ScenarioExecution.ErrorMessageTruncationException e) {
+                    logger.error("Error completing scenario execution!", e);
+                }
+            }
+        }
     }
 
     private boolean skipTestAction(TestAction testAction) {
@@ -230,8 +557,8 @@ public class ActivityService {
         return ignoreList.contains(testAction.getName());
     }
 
-    private ScenarioExecution lookupScenarioExecution(TestCase testCase) {
-        return scenarioExecutionRepository.findById(lookupScenarioExecutionId(testCase)).orElseThrow(() -> new CitrusRuntimeException(String.format("Failed to look up scenario execution for test %s", testCase.getName())));
+    private ScenarioExecution lookupScenarioExecution(Long executionId) {
+        return scenarioExecutionRepository.findById(executionId).orElseThrow(() -> new CitrusRuntimeException(String.format("Failed to look up scenario execution %s", executionId)));
     }
 
     private long lookupScenarioExecutionId(TestCase testCase) {
@@ -241,4 +568,14 @@ public class ActivityService {
     private Instant getTimeNow() {
         return LocalDateTime.now().toInstant(ZoneOffset.UTC);
     }
+
+    /**
+     * Execution that is persisted only after it has finished, along with the audit events recorded so far.
+     */
+    private record PendingExecution(ScenarioExecution scenarioExecution, Queue<ActivityEvent> events) {
+
+        PendingExecution(ScenarioExecution scenarioExecution) {
+            this(scenarioExecution, new ConcurrentLinkedQueue<>());
+        }
+    }
 }
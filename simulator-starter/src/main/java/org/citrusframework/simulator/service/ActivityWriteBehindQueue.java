@@ -0,0 +1,202 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties.OverflowPolicy;
+import org.citrusframework.simulator.exception.SimulatorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded in-memory queue of {@link ActivityEvent}s with a single background writer. The writer collects events until
+ * either the batch size is reached or the flush interval has passed since the first event of the batch, then hands the
+ * batch to the given batch writer. A batch that fails to be written is split and written again, so a single bad event
+ * is dropped without taking the other events of its batch along.
+ */
+class ActivityWriteBehindQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityWriteBehindQueue.class);
+
+    private final BlockingQueue<ActivityEvent> queue;
+    private final Consumer<List<ActivityEvent>> batchWriter;
+
+    private final long flushInterval;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int overflowSampleRate;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    ActivityWriteBehindQueue(SimulatorPersistenceConfigurationProperties configuration, Consumer<List<ActivityEvent>> batchWriter) {
+        this.queue = new ArrayBlockingQueue<>(configuration.getQueueCapacity());
+        this.batchWriter = batchWriter;
+        this.flushInterval = configuration.getFlushInterval();
+        this.batchSize = Math.max(1, configuration.getBatchSize());
+        this.overflowPolicy = configuration.getOverflowPolicy();
+        this.overflowSampleRate = Math.max(1, configuration.getOverflowSampleRate());
+
+        this.writerThread = new Thread(this::writeEvents, "activity-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    void start() {
+        writerThread.start();
+    }
+
+    /**
+     * Stops accepting events and waits for the writer to write all queued events.
+     *
+     * @param timeout maximum time in milliseconds to wait for the writer
+     */
+    void stop(long timeout) {
+        running = false;
+        try {
+            writerThread.join(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!queue.isEmpty()) {
+            logger.warn("Discarding {} activity events that have not been written on shutdown", queue.size());
+        }
+    }
+
+    /**
+     * Adds the event to the queue, applying the overflow policy when the queue is full. Execution results are
+     * never dropped, so executions do not remain in running state.
+     *
+     * @param event
+     */
+    void submit(ActivityEvent event) {
+        if (!running) {
+            throw new SimulatorException("Activity write-behind queue has been stopped");
+        }
+
+        if (queue.offer(event)) {
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.BLOCK
+                || event instanceof ActivityEvent.ExecutionCompleted
+                || (overflowPolicy == OverflowPolicy.SAMPLE && event.executionId() % overflowSampleRate == 0)) {
+            try {
+                queue.put(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SimulatorException(e);
+            }
+        } else if (droppedCount.incrementAndGet() == 1) {
+            logger.warn("Activity write-behind queue is full - dropping audit events according to overflow policy {}", overflowPolicy);
+        }
+    }
+
+    /**
+     * Gets the number of events waiting to be written.
+     *
+     * @return
+     */
+    int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of events dropped because the queue was full.
+     *
+     * @return
+     */
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Gets the number of events dropped because they could not be written.
+     *
+     * @return
+     */
+    long getFailedCount() {
+        return failedCount.get();
+    }
+
+    private void writeEvents() {
+        while (running || !queue.isEmpty()) {
+            try {
+                ActivityEvent first = queue.poll(flushInterval, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<ActivityEvent> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                collectBatch(batch, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushInterval));
+
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void collectBatch(List<ActivityEvent> batch, long deadline) throws InterruptedException {
+        queue.drainTo(batch, batchSize - batch.size());
+        while (running && batch.size() < batchSize) {
+            ActivityEvent next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    /**
+     * Writes the batch, splitting it in halves on failure until the failing events are isolated. The batch writer
+     * writes each batch within its own transaction, so events of a failed batch have not been written yet.
+     *
+     * @param batch
+     */
+    private void writeBatch(List<ActivityEvent> batch) {
+        try {
+            batchWriter.accept(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failedCount.incrementAndGet();
+                logger.error("Failed to write activity event {}", batch.get(0), e);
+                return;
+            }
+
+            logger.warn("Failed to write {} activity events - writing them again in smaller batches", batch.size(), e);
+            int half = batch.size() / 2;
+            writeBatch(batch.subList(0, half));
+            writeBatch(batch.subList(half, batch.size()));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageFilter;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.model.ScenarioExecutionFilter;
+import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.repository.MessageRepository;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.criteria.TestResultCriteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for exporting {@link ScenarioExecution}, {@link Message} and {@link TestResult} entities as newline delimited
+ * JSON. Entities are streamed from the database and written in chunks, the persistence context is cleared after each
+ * chunk of entities. Memory usage therefore does not depend on the number of exported entities.
+ * <p>
+ * Exported associations are fetched along with the entities or once per chunk, so the number of queries does not
+ * depend on the number of exported entities either: messages are streamed with their payloads and executions and their
+ * headers are fetched per chunk, test results are read in chunks along with their parameters.
+ * <p>
+ * {@link ScenarioExecution} are exported with their own columns only. Serializing the lazy parameters, actions and
+ * messages would issue additional queries for every exported execution, the messages can be exported separately.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    private final ScenarioExecutionRepository scenarioExecutionRepository;
+    private final MessageRepository messageRepository;
+    private final TestResultQueryService testResultQueryService;
+    private final QueryFilterAdapterFactory queryFilterAdapterFactory;
+    private final EntityManager entityManager;
+
+    private final ObjectWriter objectWriter;
+    private final ObjectWriter scenarioExecutionWriter;
+    private final ObjectWriter messageWriter;
+    private final int fetchSize;
+
+    public ExportService(ScenarioExecutionRepository scenarioExecutionRepository, MessageRepository messageRepository,
+                         TestResultQueryService testResultQueryService, QueryFilterAdapterFactory queryFilterAdapterFactory,
+                         EntityManager entityManager, ObjectMapper objectMapper,
+                         SimulatorPersistenceConfigurationProperties persistenceConfiguration) {
+        this.scenarioExecutionRepository = scenarioExecutionRepository;
+        this.messageRepository = messageRepository;
+        this.testResultQueryService = testResultQueryService;
+        this.queryFilterAdapterFactory = queryFilterAdapterFactory;
+        this.entityManager = entityManager;
+        this.objectWriter = createWriter(objectMapper);
+        this.scenarioExecutionWriter = createWriter(objectMapper.copy()
+            .addMixIn(ScenarioExecution.class, ScenarioExecutionExportMixIn.class));
+        this.messageWriter = createWriter(objectMapper.copy()
+            .addMixIn(Message.class, MessageExportMixIn.class));
+        this.fetchSize = persistenceConfiguration.getExportFetchSize();
+    }
+
+    /**
+     * Writes all {@link ScenarioExecution} matching the given filter to the output stream, one JSON document per line.
+     *
+     * @param filter the filter, paging is ignored
+     * @param out    the output stream, not closed by this method
+     * @return the number of exported executions
+     * @throws IOException if writing to the output stream fails
+     */
+    public long exportScenarioExecutions(ScenarioExecutionFilter filter, OutputStream out) throws IOException {
+        logger.debug("Request to export scenario executions : {}", filter);
+        try (Stream<ScenarioExecution> scenarioExecutions = scenarioExecutionRepository.stream(queryFilterAdapterFactory.getQueryAdapter(filter), fetchSize)) {
+            return write(scenarioExecutions, scenarioExecutionWriter, chunk -> {}, out);
+        }
+    }
+
+    /**
+     * Writes all {@link Message} matching the given filter to the output stream, one JSON document per line.
+     *
+     * @param filter the filter, paging is ignored
+     * @param out    the output stream, not closed by this method
+     * @return the number of exported messages
+     * @throws IOException if writing to the output stream fails
+     */
+    public long exportMessages(MessageFilter filter, OutputStream out) throws IOException {
+        logger.debug("Request to export messages : {}", filter);
+        try (Stream<Message> messages = messageRepository.stream(queryFilterAdapterFactory.getQueryAdapter(filter), fetchSize)) {
+            return write(messages, messageWriter, messageRepository::fetchHeaders, out);
+        }
+    }
+
+    /**
+     * Writes all {@link TestResult} matching the given criteria to the output stream, one JSON document per line.
+     *
+     * @param criteria the criteria
+     * @param out      the output stream, not closed by this method
+     * @return the number of exported test results
+     * @throws IOException if writing to the output stream fails
+     */
+    public long exportTestResults(TestResultCriteria criteria, OutputStream out) throws IOException {
+        logger.debug("Request to export test results : {}", criteria);
+        try (Stream<TestResult> testResults = testResultQueryService.streamByCriteria(criteria, fetchSize)) {
+            return write(testResults, objectWriter, chunk -> {}, out);
+        }
+    }
+
+    private static ObjectWriter createWriter(ObjectMapper objectMapper) {
+        return objectMapper.writer()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("");
+    }
+
+    private <T> long write(Stream<T> entities, ObjectWriter writer, Consumer<List<T>> fetchAssociations, OutputStream out) throws IOException {
+        long count = 0;
+        List<T> chunk = new ArrayList<>(fetchSize);
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            Iterator<T> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                // the chunk is written before advancing the stream, the next entity is loaded after clearing
+                if (chunk.size() == fetchSize) {
+                    count += writeChunk(chunk, writer, fetchAssociations, generator);
+                }
+            }
+            count += writeChunk(chunk, writer, fetchAssociations, generator);
+        }
+        return count;
+    }
+
+    private <T> int writeChunk(List<T> chunk, ObjectWriter writer, Consumer<List<T>> fetchAssociations, JsonGenerator generator) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        fetchAssociations.accept(chunk);
+        for (T entity : chunk) {
+            writer.writeValue(generator, entity);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        entityManager.clear();
+
+        int written = chunk.size();
+        chunk.clear();
+        return written;
+    }
+
+    /**
+     * Excludes the lazy associations of {@link ScenarioExecution} from the export.
+     */
+    @JsonIgnoreProperties({"scenarioParameters", "scenarioActions", "scenarioMessages"})
+    private abstract static class ScenarioExecutionExportMixIn {
+    }
+
+    /**
+     * Includes the payload of {@link Message}, which is fetched along with the exported messages.
+     */
+    private abstract static class MessageExportMixIn {
+
+        @JsonIgnore(false)
+        @JsonProperty("payload")
+        abstract String getPayload();
+    }
+}
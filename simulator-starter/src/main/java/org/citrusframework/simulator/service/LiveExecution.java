@@ -0,0 +1,151 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.simulator.model.ScenarioAction;
+import org.citrusframework.simulator.model.ScenarioExecution;
+
+/**
+ * In-memory state of a running scenario execution. Test actions are tracked here while the execution is running and
+ * get written to the repository along with the execution result. Container actions are open while their nested
+ * actions run, so open actions are kept on a stack. Also remembers the ids of the messages reported so far in order to
+ * detect duplicates.
+ */
+class LiveExecution {
+
+    private final Long executionId;
+    private final String scenarioName;
+    private final Instant startDate;
+
+    private final Set<String> messageIds = ConcurrentHashMap.newKeySet();
+
+    /** Test actions in the order they have been started */
+    private final List<Action> actions = new ArrayList<>();
+
+    /** Open test actions, the innermost one on top */
+    private final Deque<Action> openActions = new ArrayDeque<>();
+
+    LiveExecution(ScenarioExecution scenarioExecution) {
+        this.executionId = scenarioExecution.getExecutionId();
+        this.scenarioName = scenarioExecution.getScenarioName();
+        this.startDate = scenarioExecution.getStartDate();
+    }
+
+    Long getExecutionId() {
+        return executionId;
+    }
+
+    String getScenarioName() {
+        return scenarioName;
+    }
+
+    synchronized void startAction(String actionName, Instant actionStartDate) {
+        Action action = new Action(actionName, actionStartDate);
+        actions.add(action);
+        openActions.push(action);
+    }
+
+    /**
+     * Completes the innermost open test action.
+     *
+     * @param actionName    the name of the action to complete
+     * @param actionEndDate the time the action has finished
+     * @throws CitrusRuntimeException if no action or an action with another name is open
+     */
+    synchronized void completeAction(String actionName, Instant actionEndDate) {
+        Action openAction = openActions.peek();
+        if (openAction == null) {
+            throw new CitrusRuntimeException(String.format("No test action found with name' %s'", actionName));
+        }
+        if (!openAction.name.equals(actionName)) {
+            throw new CitrusRuntimeException(String.format("Expected to find last test action with name '%s' but got '%s'", actionName, openAction.name));
+        }
+
+        openActions.pop();
+        openAction.endDate = actionEndDate;
+    }
+
+    /**
+     * Gets all test actions of this execution in the order they have been started, actions still open are included
+     * without end date.
+     *
+     * @return
+     */
+    synchronized List<ActivityEvent.TestActionCompleted> getActions() {
+        return actions.stream()
+                .map(action -> new ActivityEvent.TestActionCompleted(executionId, action.name, action.startDate, action.endDate))
+                .toList();
+    }
+
+    /**
+     * Remembers the message id.
+     *
+     * @param citrusMessageId the internal citrus message id
+     * @return {@code false} if the message has already been reported
+     */
+    boolean addMessageId(String citrusMessageId) {
+        return messageIds.add(citrusMessageId.toLowerCase());
+    }
+
+    /**
+     * Creates a detached snapshot of this execution in running state.
+     *
+     * @return
+     */
+    ScenarioExecution toScenarioExecution() {
+        ScenarioExecution scenarioExecution = new ScenarioExecution();
+        scenarioExecution.setExecutionId(executionId);
+        scenarioExecution.setScenarioName(scenarioName);
+        scenarioExecution.setStartDate(startDate);
+        scenarioExecution.setEndDate(startDate);
+        scenarioExecution.setStatus(ScenarioExecution.Status.RUNNING);
+
+        for (ActivityEvent.TestActionCompleted action : getActions()) {
+            ScenarioAction scenarioAction = new ScenarioAction();
+            scenarioAction.setName(action.actionName());
+            scenarioAction.setStartDate(action.startDate());
+            scenarioAction.setEndDate(action.endDate());
+            scenarioExecution.addScenarioAction(scenarioAction);
+        }
+
+        return scenarioExecution;
+    }
+
+    /**
+     * Test action started within this execution.
+     */
+    private static class Action {
+
+        private final String name;
+        private final Instant startDate;
+        private Instant endDate;
+
+        Action(String name, Instant startDate) {
+            this.name = name;
+            this.startDate = startDate;
+        }
+    }
+}
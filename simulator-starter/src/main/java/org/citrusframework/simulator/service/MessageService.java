@@ -19,16 +19,22 @@ package org.citrusframework.simulator.service;
 import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.StringUtils;
 import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
+import org.citrusframework.simulator.model.KeysetCursor;
 import org.citrusframework.simulator.model.Message;
 import org.citrusframework.simulator.model.MessageFilter;
 import org.citrusframework.simulator.model.MessageHeader;
+import org.citrusframework.simulator.model.MessagePayload;
 import org.citrusframework.simulator.repository.MessageRepository;
+import org.citrusframework.simulator.service.dto.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 
 /**
  * Service for persisting and retrieving {@link Message} data.
@@ -41,16 +47,39 @@ public class MessageService {
 
     private final MessageRepository messageRepository;
 
+    private final MessagePayload.Storage payloadStorage;
+    private final int payloadThreshold;
+    private final Path payloadDirectory;
+
     @Autowired
-    public MessageService(MessageRepository messageRepository, QueryFilterAdapterFactory queryFilterAdapterFactory) {
+    public MessageService(MessageRepository messageRepository, QueryFilterAdapterFactory queryFilterAdapterFactory,
+                          SimulatorPersistenceConfigurationProperties persistenceConfiguration) {
         this.messageRepository = messageRepository;
         this.queryFilterAdapterFactory = queryFilterAdapterFactory;
+        this.payloadStorage = persistenceConfiguration.getPayloadStorage();
+        this.payloadThreshold = persistenceConfiguration.getPayloadThreshold();
+        this.payloadDirectory = Path.of(persistenceConfiguration.getPayloadDirectory());
     }
 
     public Message saveMessage(Message.Direction direction, String payload, String citrusMessageId, Map<String, Object> headers) {
+        return messageRepository.save(createMessage(direction, payload, citrusMessageId, headers));
+    }
+
+    /**
+     * Creates a new message including its headers without persisting it. Headers without value are skipped and
+     * header values are abbreviated to the maximum column length. Payloads reaching the payload threshold are stored
+     * according to the configured payload storage.
+     *
+     * @param direction       the direction of the message
+     * @param payload         the message content
+     * @param citrusMessageId the internal citrus message id
+     * @param headers         the message headers
+     * @return the transient message
+     */
+    public Message createMessage(Message.Direction direction, String payload, String citrusMessageId, Map<String, Object> headers) {
         Message message = new Message();
         message.setDirection(direction);
-        message.setPayload(payload);
+        message.setMessagePayload(createPayload(payload));
         message.setCitrusMessageId(citrusMessageId);
         if (headers != null) {
             for (Entry<String, Object> headerEntry : headers.entrySet()) {
@@ -62,18 +91,67 @@ public class MessageService {
                 }
             }
         }
-        return messageRepository.save(message);
+        return message;
+    }
+
+    private MessagePayload createPayload(String payload) {
+        if (payload == null) {
+            return null;
+        } else if (payload.length() < payloadThreshold) {
+            return MessagePayload.inline(payload);
+        }
+
+        return switch (payloadStorage) {
+            case COMPRESSED -> MessagePayload.compressed(payload);
+            case EXTERNAL -> MessagePayload.external(payload, payloadDirectory);
+            default -> MessagePayload.inline(payload);
+        };
     }
 
     public Message getMessageById(Long id) {
         return messageRepository.findById(id).orElseThrow(() -> new CitrusRuntimeException(String.format("Failed to find message for id %s", id)));
     }
 
+    /**
+     * Loads the payload of a message. Payloads are not fetched along with the message, so this method reads the
+     * payload content within the transaction.
+     *
+     * @param id the message id
+     * @return the payload content, empty if there is no such message or the message has no payload
+     */
+    @Transactional
+    public Optional<String> findMessagePayload(Long id) {
+        return messageRepository.findById(id).map(Message::getPayload);
+    }
+
+    /**
+     * Looks up a message by its internal citrus message id using the unique index on that column.
+     *
+     * @param citrusMessageId the internal citrus message id
+     * @return the message or empty if it has not been persisted
+     */
+    public Optional<Message> findMessageByCitrusMessageId(String citrusMessageId) {
+        return messageRepository.findByCitrusMessageId(citrusMessageId);
+    }
+
 	public List<Message> getMessagesMatchingFilter(MessageFilter filter) {
 	    return messageRepository.find(queryFilterAdapterFactory.getQueryAdapter(filter));
 	}
 
+    /**
+     * Gets a page of messages matching the filter, latest first. The returned cursor continues with the next page
+     * when set on the filter, without the database skipping all previous messages.
+     *
+     * @param filter the message filter, optionally holding the cursor of the previous page
+     * @return the messages along with the cursor of the next page
+     */
+    public KeysetPage<Message> getMessagePage(MessageFilter filter) {
+        MessageFilter queryFilter = queryFilterAdapterFactory.getQueryAdapter(filter);
+        return KeysetPage.of(messageRepository.find(queryFilter), queryFilter.getPageSize(),
+                message -> new KeysetCursor(message.getCreatedDate(), message.getMessageId()));
+    }
+
     public void clearMessages() {
-        messageRepository.deleteAll();
+        messageRepository.deleteAllInBulk();
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the number of scenario executions and messages deleted by the {@link RetentionService} to the actuator meter
+ * registry.
+ */
+public class RetentionMetrics implements MeterBinder {
+
+    private final RetentionService retentionService;
+
+    public RetentionMetrics(RetentionService retentionService) {
+        this.retentionService = retentionService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("citrus.simulator.retention.executions.deleted", retentionService, RetentionService::getDeletedExecutionCount)
+                .description("Number of scenario executions deleted by the retention job")
+                .register(registry);
+
+        FunctionCounter.builder("citrus.simulator.retention.messages.deleted", retentionService, RetentionService::getDeletedMessageCount)
+                .description("Number of messages deleted by the retention job")
+                .register(registry);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
+import org.citrusframework.simulator.model.MessagePayload;
+import org.citrusframework.simulator.repository.MessageRepository;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes finished scenario executions along with their messages once they exceed the configured maximum age or
+ * maximum number of executions. Runs periodically in the background when at least one of these limits is set.
+ * Executions are deleted in chunks, one transaction per chunk, with bulk statements that do not load the entities.
+ * External payload files no longer referenced by any message are deleted after each chunk. Files skipped because they
+ * have been modified recently are retried on the following runs.
+ */
+@Service
+public class RetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetentionService.class);
+
+    private final ScenarioExecutionRepository scenarioExecutionRepository;
+    private final MessageRepository messageRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Long maxAge;
+    private final Integer maxRows;
+    private final long interval;
+    private final int chunkSize;
+    private final boolean externalPayloads;
+
+    private final AtomicLong deletedExecutionCount = new AtomicLong();
+    private final AtomicLong deletedMessageCount = new AtomicLong();
+
+    /** Unreferenced payload files not deleted yet, because they have been modified within the last retention interval */
+    private final Set<String> pendingPayloadLocations = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService scheduler;
+
+    public RetentionService(ScenarioExecutionRepository scenarioExecutionRepository, MessageRepository messageRepository,
+                            SimulatorPersistenceConfigurationProperties persistenceConfiguration, PlatformTransactionManager transactionManager) {
+        this.scenarioExecutionRepository = scenarioExecutionRepository;
+        this.messageRepository = messageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAge = persistenceConfiguration.getRetentionMaxAge();
+        this.maxRows = persistenceConfiguration.getRetentionMaxRows();
+        this.interval = persistenceConfiguration.getRetentionInterval();
+        this.chunkSize = Math.max(1, persistenceConfiguration.getRetentionChunkSize());
+        this.externalPayloads = persistenceConfiguration.getPayloadStorage() == MessagePayload.Storage.EXTERNAL;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (maxAge == null && maxRows == null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runRetention, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Deletes all finished executions exceeding the maximum age or the maximum number of executions.
+     *
+     * @return the number of deleted executions
+     */
+    public long purge() {
+        long deleted = 0;
+        if (maxAge != null) {
+            Instant startedBefore = Instant.now().minusMillis(maxAge);
+            deleted += purgeInChunks(() -> scenarioExecutionRepository.findFinishedExecutionIds(startedBefore, chunkSize));
+        }
+
+        if (maxRows != null) {
+            deleted += purgeInChunks(() -> {
+                long exceeding = scenarioExecutionRepository.count() - maxRows;
+                return exceeding > 0 ? scenarioExecutionRepository.findFinishedExecutionIds(null, (int) Math.min(exceeding, chunkSize)) : List.of();
+            });
+        }
+
+        return deleted;
+    }
+
+    /**
+     * Gets the number of executions deleted since startup.
+     *
+     * @return
+     */
+    public long getDeletedExecutionCount() {
+        return deletedExecutionCount.get();
+    }
+
+    /**
+     * Gets the number of messages deleted since startup.
+     *
+     * @return
+     */
+    public long getDeletedMessageCount() {
+        return deletedMessageCount.get();
+    }
+
+    private void runRetention() {
+        try {
+            long deleted = purge();
+            if (deleted > 0) {
+                logger.info("Deleted {} scenario executions exceeding the retention limits", deleted);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to delete scenario executions exceeding the retention limits", e);
+        }
+    }
+
+    private long purgeInChunks(Supplier<List<Long>> nextChunk) {
+        long deleted = 0;
+        int deletedInChunk;
+        do {
+            List<String> payloadLocations = new ArrayList<>();
+            deletedInChunk = transactionTemplate.execute(status -> deleteChunk(nextChunk.get(), payloadLocations));
+            deletePayloadFiles(payloadLocations);
+            deleted += deletedInChunk;
+        } while (deletedInChunk > 0);
+
+        return deleted;
+    }
+
+    private int deleteChunk(List<Long> executionIds, List<String> payloadLocations) {
+        if (executionIds.isEmpty()) {
+            return 0;
+        }
+
+        if (externalPayloads) {
+            payloadLocations.addAll(messageRepository.findPayloadLocationsByScenarioExecutionIds(executionIds));
+        }
+
+        int deletedMessages = messageRepository.deleteByScenarioExecutionIds(executionIds);
+        int deletedExecutions = scenarioExecutionRepository.deleteByExecutionIds(executionIds);
+
+        deletedMessageCount.addAndGet(deletedMessages);
+        deletedExecutionCount.addAndGet(deletedExecutions);
+        return deletedExecutions;
+    }
+
+    /**
+     * Deletes payload files that are no longer referenced. Payload files are shared by equal payloads, so files
+     * referenced by other messages are kept, as well as files that have been written or reused within the last retention
+     * interval, because payload files are written after the referencing message has been committed. The latter are kept
+     * as pending and checked again along with the payload files of the following chunks and runs.
+     */
+    private void deletePayloadFiles(List<String> payloadLocations) {
+        pendingPayloadLocations.addAll(payloadLocations);
+
+        long modifiedBefore = System.currentTimeMillis() - interval;
+        for (Iterator<String> locations = pendingPayloadLocations.iterator(); locations.hasNext(); ) {
+            String location = locations.next();
+            try {
+                Path file = Path.of(location);
+                if (messageRepository.existsByMessagePayloadLocation(location) || !Files.exists(file)) {
+                    locations.remove();
+                } else if (Files.getLastModifiedTime(file).toMillis() < modifiedBefore) {
+                    Files.delete(file);
+                    locations.remove();
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to delete message payload file {}", location, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds queue depth and active count of the {@link ScenarioExecutionService} executor to the actuator meter registry.
+ */
+public class ScenarioExecutionMetrics implements MeterBinder {
+
+    private final ScenarioExecutionService scenarioExecutionService;
+
+    public ScenarioExecutionMetrics(ScenarioExecutionService scenarioExecutionService) {
+        this.scenarioExecutionService = scenarioExecutionService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("citrus.simulator.scenario.executions.queued", scenarioExecutionService, ScenarioExecutionService::getQueuedCount)
+                .description("Number of scenario executions waiting for a thread")
+                .register(registry);
+
+        Gauge.builder("citrus.simulator.scenario.executions.active", scenarioExecutionService, ScenarioExecutionService::getActiveCount)
+                .description("Number of scenario executions currently running")
+                .register(registry);
+    }
+}
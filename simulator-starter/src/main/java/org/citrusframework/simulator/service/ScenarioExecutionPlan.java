@@ -0,0 +1,149 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.citrusframework.annotations.CitrusAnnotations;
+import org.citrusframework.simulator.SimulatorAutoConfiguration;
+import org.citrusframework.simulator.exception.SimulatorException;
+import org.citrusframework.simulator.scenario.ScenarioRunner;
+import org.citrusframework.simulator.scenario.SimulatorScenario;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Reflection results needed to execute a scenario class, resolved once per class: method handles for the scenario
+ * run methods taking a {@link ScenarioRunner} and the injection points processed by {@link CitrusAnnotations#injectAll}.
+ * <p>
+ * Injection points are the fields and methods as well as the classes in the scenario type hierarchy carrying any Citrus
+ * annotation, e.g. {@code @CitrusResource}, {@code @CitrusEndpoint}, {@code @BindToRegistry} or
+ * {@code @CitrusConfiguration}. Annotations of the simulator itself are not considered.
+ */
+public class ScenarioExecutionPlan {
+
+    private static final String CITRUS_PACKAGE_PREFIX = "org.citrusframework.";
+    private static final String SIMULATOR_PACKAGE_PREFIX = SimulatorAutoConfiguration.class.getPackageName() + ".";
+
+    private final List<MethodHandle> runMethods;
+
+    private final List<AnnotatedElement> injectionPoints;
+
+    private ScenarioExecutionPlan(List<MethodHandle> runMethods, List<AnnotatedElement> injectionPoints) {
+        this.runMethods = runMethods;
+        this.injectionPoints = injectionPoints;
+    }
+
+    /**
+     * Resolves the execution plan of the given scenario class.
+     *
+     * @param scenarioClass
+     * @return
+     * @throws SimulatorException if a scenario run method has an invalid signature
+     */
+    public static ScenarioExecutionPlan of(Class<?> scenarioClass) {
+        List<MethodHandle> runMethods = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        ReflectionUtils.doWithMethods(scenarioClass, m -> {
+            if (m.getDeclaringClass().equals(SimulatorScenario.class)) {
+                // no need to execute the default run implementations
+                return;
+            }
+
+            if (m.getParameterCount() != 1) {
+                throw new SimulatorException("Invalid scenario method signature - expect single method parameter but got: " + m.getParameterCount());
+            }
+
+            Class<?> parameterType = m.getParameterTypes()[0];
+            if (!parameterType.equals(ScenarioRunner.class)) {
+                throw new SimulatorException("Invalid scenario method parameter type: " + parameterType);
+            }
+
+            ReflectionUtils.makeAccessible(m);
+            runMethods.add(lookup.unreflect(m));
+        }, method -> method.getName().equals("run"));
+
+        List<AnnotatedElement> injectionPoints = new ArrayList<>();
+        for (Class<?> type = scenarioClass; type != null && !type.equals(Object.class); type = type.getSuperclass()) {
+            if (isInjectionPoint(type)) {
+                injectionPoints.add(type);
+            }
+        }
+        ReflectionUtils.doWithFields(scenarioClass, injectionPoints::add, ScenarioExecutionPlan::isInjectionPoint);
+        ReflectionUtils.doWithMethods(scenarioClass, injectionPoints::add, ScenarioExecutionPlan::isInjectionPoint);
+
+        return new ScenarioExecutionPlan(List.copyOf(runMethods), List.copyOf(injectionPoints));
+    }
+
+    private static boolean isInjectionPoint(AnnotatedElement element) {
+        return Arrays.stream(element.getDeclaredAnnotations())
+                .map(Annotation::annotationType)
+                .map(Class::getName)
+                .anyMatch(name -> name.startsWith(CITRUS_PACKAGE_PREFIX) && !name.startsWith(SIMULATOR_PACKAGE_PREFIX));
+    }
+
+    /**
+     * Gets the number of run methods to invoke.
+     *
+     * @return
+     */
+    public int getRunMethodCount() {
+        return runMethods.size();
+    }
+
+    /**
+     * Gets the classes, fields and methods carrying Citrus annotations.
+     *
+     * @return
+     */
+    public List<AnnotatedElement> getInjectionPoints() {
+        return injectionPoints;
+    }
+
+    /**
+     * Whether Citrus annotations have to be processed on the scenario before it runs.
+     *
+     * @return
+     */
+    public boolean isRequiresInjection() {
+        return !injectionPoints.isEmpty();
+    }
+
+    /**
+     * Invokes the run method at the given position with the scenario runner.
+     *
+     * @param index
+     * @param scenario
+     * @param runner
+     */
+    public void invokeRunMethod(int index, SimulatorScenario scenario, ScenarioRunner runner) {
+        try {
+            runMethods.get(index).invoke(scenario, runner);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+}
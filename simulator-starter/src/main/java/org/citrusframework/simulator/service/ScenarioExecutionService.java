@@ -17,29 +17,37 @@
 package org.citrusframework.simulator.service;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.citrusframework.Citrus;
 import org.citrusframework.annotations.CitrusAnnotations;
 import org.citrusframework.context.TestContext;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.exception.SimulatorException;
 import org.citrusframework.simulator.model.ScenarioExecution;
 import org.citrusframework.simulator.model.ScenarioParameter;
+import org.citrusframework.simulator.scenario.ScenarioEndpoint;
+import org.citrusframework.simulator.scenario.ScenarioEndpointConfiguration;
 import org.citrusframework.simulator.scenario.ScenarioRunner;
 import org.citrusframework.simulator.scenario.SimulatorScenario;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.stereotype.Service;
-import org.springframework.util.ReflectionUtils;
 
 /**
  * Service capable of executing test executables. The service takes care on setting up the executable before execution. Service
@@ -51,22 +59,74 @@ import org.springframework.util.ReflectionUtils;
 public class ScenarioExecutionService implements DisposableBean, ApplicationListener<ContextClosedEvent> {
     private static final Logger LOG = LoggerFactory.getLogger(ScenarioExecutionService.class);
 
+    /**
+     * Name of an optional executor bean that runs scenarios instead of the executor created by this service
+     */
+    public static final String SCENARIO_EXECUTOR_BEAN_NAME = "scenarioExecutor";
+
     private final ActivityService activityService;
     private final ApplicationContext applicationContext;
     private final Citrus citrus;
 
-    private final ThreadFactory threadFactory = new ThreadFactoryBuilder()
-            .setDaemon(true)
-            .setNameFormat("execution-svc-thread-%d")
-            .build();
+    private final Executor executor;
+
+    /**
+     * Executor service created and owned by this service, {@code null} when a custom executor bean is used
+     */
+    private final ExecutorService executorService;
 
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10, threadFactory);
+    /**
+     * Scenario executions submitted but not yet started
+     */
+    private final AtomicInteger queuedCount = new AtomicInteger();
+
+    /**
+     * Scenario executions currently running
+     */
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    /**
+     * Execution plans of scenario classes, resolved on first execution
+     */
+    private final ConcurrentMap<Class<?>, ScenarioExecutionPlan> executionPlans = new ConcurrentHashMap<>();
 
     @Autowired
-    public ScenarioExecutionService(ActivityService activityService, ApplicationContext applicationContext, Citrus citrus) {
+    public ScenarioExecutionService(ActivityService activityService, ApplicationContext applicationContext, Citrus citrus,
+                                    SimulatorConfigurationProperties configuration,
+                                    @Qualifier(SCENARIO_EXECUTOR_BEAN_NAME) ObjectProvider<Executor> scenarioExecutor) {
         this.activityService = activityService;
         this.applicationContext = applicationContext;
         this.citrus = citrus;
+
+        Executor customExecutor = scenarioExecutor.getIfAvailable();
+        if (customExecutor != null) {
+            LOG.info("Running scenarios on custom executor bean '{}'", SCENARIO_EXECUTOR_BEAN_NAME);
+            this.executorService = null;
+            this.executor = customExecutor;
+        } else {
+            this.executorService = createExecutorService(configuration);
+            this.executor = executorService;
+        }
+    }
+
+    private static ExecutorService createExecutorService(SimulatorConfigurationProperties configuration) {
+        if (configuration.getExecutorMode() == SimulatorConfigurationProperties.ExecutorMode.VIRTUAL) {
+            LOG.info("Running scenarios on virtual threads");
+            try {
+                // Virtual threads are only available on Java 21+, so look up the factory method reflectively
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new SimulatorException("Virtual thread scenario executor requires Java 21 or later", e);
+            }
+        }
+
+        LOG.info("Running scenarios on {} platform threads", configuration.getExecutorThreads());
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("execution-svc-thread-%d")
+                .build();
+
+        return Executors.newFixedThreadPool(configuration.getExecutorThreads(), threadFactory);
     }
 
     /**
@@ -87,58 +147,93 @@ public class ScenarioExecutionService implements DisposableBean, ApplicationList
      * @param scenarioParameters the list of parameters to pass to the scenario when starting
      */
     public final Long run(SimulatorScenario scenario, String name, List<ScenarioParameter> scenarioParameters) {
+        return run(scenario, name, scenarioParameters, createScenarioEndpoint(name));
+    }
+
+    /**
+     * Starts a new scenario instance using the collection of supplied parameters. The given scenario endpoint is
+     * bound to this execution only, so messages added to it are exclusively consumed by the new execution.
+     *
+     * @param scenario           the scenario to start
+     * @param name               the name of the scenario to start
+     * @param scenarioParameters the list of parameters to pass to the scenario when starting
+     * @param scenarioEndpoint   the endpoint serving as request/response mailbox of the new execution
+     */
+    public final Long run(SimulatorScenario scenario, String name, List<ScenarioParameter> scenarioParameters, ScenarioEndpoint scenarioEndpoint) {
         LOG.info(String.format("Starting scenario : %s", name));
 
         ScenarioExecution es = activityService.createExecutionScenario(name, scenarioParameters);
 
-        prepare(scenario);
-
-        startScenarioAsync(es.getExecutionId(), name, scenario, scenarioParameters);
+        try {
+            prepare(scenario);
+            startScenarioAsync(es.getExecutionId(), name, scenario, scenarioParameters, scenarioEndpoint);
+        } catch (RuntimeException e) {
+            activityService.abortScenarioExecution(es.getExecutionId(), e);
+            throw e;
+        }
 
         return es.getExecutionId();
     }
 
-    private Future<?> startScenarioAsync(Long executionId, String name, SimulatorScenario scenario, List<ScenarioParameter> scenarioParameters) {
-        return executorService.submit(() -> {
-            try {
-                TestContext context = citrus.getCitrusContext().createTestContext();
-                ReflectionUtils.doWithMethods(scenario.getClass(), m -> {
-                    if (m.getDeclaringClass().equals(SimulatorScenario.class)) {
-                        // no need to execute the default run implementations
-                        return;
-                    }
-
-                    if (m.getParameterCount() != 1) {
-                        throw new SimulatorException("Invalid scenario method signature - expect single method parameter but got: " + m.getParameterCount());
-                    }
-
-                    Class<?> parameterType = m.getParameterTypes()[0];
-                    if (parameterType.equals(ScenarioRunner.class)) {
-                        ScenarioRunner runner = new ScenarioRunner(scenario.getScenarioEndpoint(), applicationContext, context);
-                        if (scenarioParameters != null) {
-                            scenarioParameters.forEach(p -> runner.variable(p.getName(), p.getValue()));
-                        }
-
-                        runner.variable(ScenarioExecution.EXECUTION_ID, executionId);
-                        runner.name(String.format("Scenario(%s)", name));
-
-                        CitrusAnnotations.injectAll(scenario, citrus, context);
-
-                        try {
-                            runner.start();
-                            ReflectionUtils.invokeMethod(m, scenario, runner);
-                        } finally {
-                            runner.stop();
-                        }
-                    } else {
-                        throw new SimulatorException("Invalid scenario method parameter type: " + parameterType);
-                    }
-                }, method -> method.getName().equals("run"));
-                LOG.debug(String.format("Scenario completed: '%s'", name));
-            } catch (Exception e) {
-                LOG.error(String.format("Scenario completed with error: '%s'", name), e);
+    /**
+     * Creates a new scenario endpoint to be passed to {@link #run(SimulatorScenario, String, List, ScenarioEndpoint)}.
+     *
+     * @param name the name of the scenario
+     * @return
+     */
+    public ScenarioEndpoint createScenarioEndpoint(String name) {
+        ScenarioEndpoint scenarioEndpoint = new ScenarioEndpoint(new ScenarioEndpointConfiguration());
+        scenarioEndpoint.setName(name);
+        return scenarioEndpoint;
+    }
+
+    private void startScenarioAsync(Long executionId, String name, SimulatorScenario scenario, List<ScenarioParameter> scenarioParameters, ScenarioEndpoint scenarioEndpoint) {
+        queuedCount.incrementAndGet();
+        try {
+            executor.execute(new ScenarioTask(executionId, () -> runScenario(executionId, name, scenario, scenarioParameters, scenarioEndpoint)));
+        } catch (RejectedExecutionException e) {
+            queuedCount.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void runScenario(Long executionId, String name, SimulatorScenario scenario, List<ScenarioParameter> scenarioParameters, ScenarioEndpoint scenarioEndpoint) {
+        queuedCount.decrementAndGet();
+        activeCount.incrementAndGet();
+        Throwable failure = null;
+        try {
+            TestContext context = citrus.getCitrusContext().createTestContext();
+            ScenarioExecutionPlan executionPlan = executionPlans.computeIfAbsent(scenario.getClass(), ScenarioExecutionPlan::of);
+
+            for (int i = 0; i < executionPlan.getRunMethodCount(); i++) {
+                ScenarioRunner runner = new ScenarioRunner(scenarioEndpoint, applicationContext, context);
+                if (scenarioParameters != null) {
+                    scenarioParameters.forEach(p -> runner.variable(p.getName(), p.getValue()));
+                }
+
+                runner.variable(ScenarioExecution.EXECUTION_ID, executionId);
+                runner.name(String.format("Scenario(%s)", name));
+
+                if (executionPlan.isRequiresInjection()) {
+                    CitrusAnnotations.injectAll(scenario, citrus, context);
+                }
+
+                try {
+                    runner.start();
+                    executionPlan.invokeRunMethod(i, scenario, runner);
+                } finally {
+                    runner.stop();
+                }
             }
-        });
+            LOG.debug(String.format("Scenario completed: '%s'", name));
+        } catch (Exception e) {
+            failure = e;
+            LOG.error(String.format("Scenario completed with error: '%s'", name), e);
+        } finally {
+            // releases executions that failed before or without completing their test case
+            activityService.abortScenarioExecution(executionId, failure);
+            activeCount.decrementAndGet();
+        }
     }
 
     /**
@@ -149,13 +244,55 @@ public class ScenarioExecutionService implements DisposableBean, ApplicationList
     protected void prepare(SimulatorScenario scenario) {
     }
 
+    /**
+     * Gets the number of scenario executions waiting for a thread.
+     *
+     * @return
+     */
+    public int getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     * Gets the number of scenario executions currently running.
+     *
+     * @return
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
     @Override
     public void destroy() throws Exception {
-        executorService.shutdownNow();
+        shutdown();
     }
 
     @Override
     public void onApplicationEvent(ContextClosedEvent event) {
-        executorService.shutdownNow();
+        shutdown();
+    }
+
+    private void shutdown() {
+        // custom executor beans are managed by the application context
+        if (executorService != null) {
+            for (Runnable task : executorService.shutdownNow()) {
+                if (task instanceof ScenarioTask scenarioTask) {
+                    queuedCount.decrementAndGet();
+                    activityService.abortScenarioExecution(scenarioTask.executionId(), null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scenario execution submitted to the executor, remembers the execution id so that executions still queued on
+     * shutdown can be aborted.
+     */
+    private record ScenarioTask(Long executionId, Runnable execution) implements Runnable {
+
+        @Override
+        public void run() {
+            execution.run();
+        }
     }
 }
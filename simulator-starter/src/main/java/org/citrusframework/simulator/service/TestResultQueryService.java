@@ -1,11 +1,17 @@
 package org.citrusframework.simulator.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.citrusframework.simulator.model.TestParameter_;
 import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.model.TestResult_;
 import org.citrusframework.simulator.repository.TestResultRepository;
 import org.citrusframework.simulator.service.criteria.TestResultCriteria;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -14,7 +20,9 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Service for executing complex queries for {@link TestResult} entities in the database.
@@ -30,8 +38,11 @@ public class TestResultQueryService extends QueryService<TestResult> {
 
     private final TestResultRepository testResultRepository;
 
-    public TestResultQueryService(TestResultRepository testResultRepository) {
+    private final EntityManager entityManager;
+
+    public TestResultQueryService(TestResultRepository testResultRepository, EntityManager entityManager) {
         this.testResultRepository = testResultRepository;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -59,6 +70,59 @@ public class TestResultQueryService extends QueryService<TestResult> {
         return testResultRepository.findAll(specification, page);
     }
 
+    /**
+     * Return a {@link Stream} of {@link TestResult} which matches the criteria from the database. Test results are
+     * read in chunks of the given fetch size, ordered by id, while the stream is consumed, the stream must be consumed
+     * within the transaction. The eager test parameters are fetched once per chunk, instead of once per test result.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param fetchSize The number of test results read from the database per chunk.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Stream<TestResult> streamByCriteria(TestResultCriteria criteria, int fetchSize) {
+        logger.debug("stream by criteria : {}", criteria);
+        final Specification<TestResult> specification = createSpecification(criteria);
+
+        return Stream.iterate(findChunk(specification, null, fetchSize), chunk -> !chunk.isEmpty(),
+                chunk -> chunk.size() < fetchSize ? List.of() : findChunk(specification, chunk.get(chunk.size() - 1).getId(), fetchSize))
+            .flatMap(List::stream);
+    }
+
+    /**
+     * Finds the chunk of test results following the given id along with their parameters. The ids of the chunk are
+     * selected first, because limiting the rows of a query fetching a collection would apply to the joined rows.
+     */
+    private List<TestResult> findChunk(Specification<TestResult> specification, Long afterId, int fetchSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
+        Root<TestResult> root = criteriaQuery.from(TestResult.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = specification.toPredicate(root, criteriaQuery, criteriaBuilder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (afterId != null) {
+            predicates.add(criteriaBuilder.greaterThan(root.get(TestResult_.id), afterId));
+        }
+        criteriaQuery.select(root.get(TestResult_.id))
+            .distinct(true)
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(criteriaBuilder.asc(root.get(TestResult_.id)));
+
+        List<Long> ids = entityManager.createQuery(criteriaQuery)
+            .setMaxResults(fetchSize)
+            .getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return entityManager.createQuery("SELECT DISTINCT t FROM TestResult t LEFT JOIN FETCH t.testParameters WHERE t.id IN :ids ORDER BY t.id", TestResult.class)
+            .setParameter("ids", ids)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultList();
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -1,10 +1,12 @@
 package org.citrusframework.simulator.service;
 
 import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.service.dto.TestResultByScenario;
 import org.citrusframework.simulator.service.dto.TestResultByStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -51,4 +53,11 @@ public interface TestResultService {
      * @return the TestResult count.
      */
     TestResultByStatus countByStatus();
+
+    /**
+     * Count the total {@link TestResult} by their status for each scenario.
+     *
+     * @return the TestResult count per scenario.
+     */
+    List<TestResultByScenario> countByScenario();
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.repository.TestResultRepository;
+import org.citrusframework.simulator.service.dto.TestResultByScenario;
+import org.citrusframework.simulator.service.dto.TestResultByStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory counters of the persisted {@link TestResult} by status, in total and per scenario. The counters are seeded
+ * from the database once on startup and incremented with every saved test result afterwards, so the summary does not
+ * aggregate the whole test result table on every request.
+ */
+@Component
+public class TestResultStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestResultStatistics.class);
+
+    private final TestResultRepository testResultRepository;
+
+    private final StatusCounts total = new StatusCounts();
+    private final Map<String, StatusCounts> scenarios = new ConcurrentHashMap<>();
+
+    public TestResultStatistics(TestResultRepository testResultRepository) {
+        this.testResultRepository = testResultRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        List<TestResultByScenario> counts = testResultRepository.countByScenario();
+        for (TestResultByScenario count : counts) {
+            StatusCounts scenarioCounts = scenarios.computeIfAbsent(count.testName(), testName -> new StatusCounts());
+            scenarioCounts.add(count.successful(), count.failed());
+            total.add(count.successful(), count.failed());
+        }
+        logger.debug("Loaded test result statistics of {} scenarios", counts.size());
+    }
+
+    /**
+     * Counts the given persisted test result.
+     *
+     * @param testResult the test result
+     */
+    public void record(TestResult testResult) {
+        long successful = testResult.getStatus() == TestResult.Status.SUCCESS ? 1 : 0;
+        long failed = testResult.getStatus() == TestResult.Status.FAILURE ? 1 : 0;
+        if (successful + failed == 0) {
+            return;
+        }
+
+        scenarios.computeIfAbsent(testResult.getTestName(), testName -> new StatusCounts()).add(successful, failed);
+        total.add(successful, failed);
+    }
+
+    /**
+     * Gets the number of test results by status.
+     *
+     * @return the test result count
+     */
+    public TestResultByStatus getCountByStatus() {
+        return new TestResultByStatus(total.successful.sum(), total.failed.sum());
+    }
+
+    /**
+     * Gets the number of test results by status for each scenario, ordered by scenario name.
+     *
+     * @return the test result count per scenario
+     */
+    public List<TestResultByScenario> getCountByScenario() {
+        return scenarios.entrySet().stream()
+            .map(scenario -> new TestResultByScenario(scenario.getKey(), scenario.getValue().successful.sum(), scenario.getValue().failed.sum()))
+            .sorted(Comparator.comparing(TestResultByScenario::testName))
+            .toList();
+    }
+
+    private static final class StatusCounts {
+
+        private final LongAdder successful = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        void add(long successfulCount, long failedCount) {
+            successful.add(successfulCount);
+            failed.add(failedCount);
+        }
+    }
+}
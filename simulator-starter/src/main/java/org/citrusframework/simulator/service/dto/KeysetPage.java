@@ -0,0 +1,35 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import org.citrusframework.simulator.model.KeysetCursor;
+
+/**
+ * Page of entities browsed by cursor. The next cursor is set when the page is full and has to be passed with the
+ * filter of the following request to continue after the last entry of this page.
+ */
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+
+    public static <T> KeysetPage<T> of(List<T> content, int pageSize, Function<T, KeysetCursor> cursor) {
+        if (content.isEmpty() || content.size() < pageSize) {
+            return new KeysetPage<>(content, null);
+        }
+        return new KeysetPage<>(content, cursor.apply(content.get(content.size() - 1)).encode());
+    }
+}
@@ -3,6 +3,8 @@ package org.citrusframework.simulator.service.impl;
 import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.repository.TestResultRepository;
 import org.citrusframework.simulator.service.TestResultService;
+import org.citrusframework.simulator.service.TestResultStatistics;
+import org.citrusframework.simulator.service.dto.TestResultByScenario;
 import org.citrusframework.simulator.service.dto.TestResultByStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +12,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,8 +29,11 @@ public class TestResultServiceImpl implements TestResultService {
 
     private final TestResultRepository testResultRepository;
 
-    public TestResultServiceImpl(TestResultRepository testResultRepository) {
+    private final TestResultStatistics testResultStatistics;
+
+    public TestResultServiceImpl(TestResultRepository testResultRepository, TestResultStatistics testResultStatistics) {
         this.testResultRepository = testResultRepository;
+        this.testResultStatistics = testResultStatistics;
     }
 
     @Override
@@ -37,7 +45,9 @@ public class TestResultServiceImpl implements TestResultService {
     @Override
     public TestResult save(TestResult testResult) {
         logger.debug("Request to save TestResult : {}", testResult);
-        return testResultRepository.save(testResult);
+        TestResult savedTestResult = testResultRepository.save(testResult);
+        recordAfterCommit(savedTestResult);
+        return savedTestResult;
     }
 
     @Override
@@ -58,6 +68,31 @@ public class TestResultServiceImpl implements TestResultService {
     @Transactional(readOnly = true)
     public TestResultByStatus countByStatus() {
         logger.debug("count total by status");
-        return testResultRepository.countByStatus();
+        return testResultStatistics.getCountByStatus();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TestResultByScenario> countByScenario() {
+        logger.debug("count total by scenario");
+        return testResultStatistics.getCountByScenario();
+    }
+
+    /**
+     * Counts the test result once the surrounding transaction has committed, so rolled back test results are not
+     * counted.
+     */
+    private void recordAfterCommit(TestResult testResult) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            testResultStatistics.record(testResult);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                testResultStatistics.record(testResult);
+            }
+        });
     }
 }
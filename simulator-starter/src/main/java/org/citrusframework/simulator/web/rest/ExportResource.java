@@ -0,0 +1,123 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.web.rest;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.citrusframework.simulator.model.MessageFilter;
+import org.citrusframework.simulator.model.ScenarioExecutionFilter;
+import org.citrusframework.simulator.service.ExportService;
+import org.citrusframework.simulator.service.criteria.TestResultCriteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller for exporting {@link org.citrusframework.simulator.model.ScenarioExecution},
+ * {@link org.citrusframework.simulator.model.Message} and {@link org.citrusframework.simulator.model.TestResult} as
+ * newline delimited JSON. The entities are written to the response while they are read from the database.
+ */
+@RestController
+@RequestMapping("/api")
+public class ExportResource {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final Logger logger = LoggerFactory.getLogger(ExportResource.class);
+
+    private final ExportService exportService;
+
+    public ExportResource(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * {@code GET  /export/scenario-executions} : export all the scenarioExecutions.
+     *
+     * @param filter   the filter which the exported entities should match, paging is ignored.
+     * @param gzip     whether the response body should be gzip encoded.
+     * @param response the response the entities are written to.
+     * @throws IOException if writing the response fails.
+     */
+    @GetMapping(value = "/export/scenario-executions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportScenarioExecutions(ScenarioExecutionFilter filter, @RequestParam(defaultValue = "false") boolean gzip, HttpServletResponse response) throws IOException {
+        logger.debug("REST request to export ScenarioExecutions by filter: {}", filter);
+        export(response, "scenario-executions", gzip, out -> exportService.exportScenarioExecutions(filter, out));
+    }
+
+    /**
+     * {@code GET  /export/messages} : export all the messages.
+     *
+     * @param filter   the filter which the exported entities should match, paging is ignored.
+     * @param gzip     whether the response body should be gzip encoded.
+     * @param response the response the entities are written to.
+     * @throws IOException if writing the response fails.
+     */
+    @GetMapping(value = "/export/messages", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportMessages(MessageFilter filter, @RequestParam(defaultValue = "false") boolean gzip, HttpServletResponse response) throws IOException {
+        logger.debug("REST request to export Messages by filter: {}", filter);
+        export(response, "messages", gzip, out -> exportService.exportMessages(filter, out));
+    }
+
+    /**
+     * {@code GET  /export/test-results} : export all the testResults.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param gzip     whether the response body should be gzip encoded.
+     * @param response the response the entities are written to.
+     * @throws IOException if writing the response fails.
+     */
+    @GetMapping(value = "/export/test-results", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportTestResults(TestResultCriteria criteria, @RequestParam(defaultValue = "false") boolean gzip, HttpServletResponse response) throws IOException {
+        logger.debug("REST request to export TestResults by criteria: {}", criteria);
+        export(response, "test-results", gzip, out -> exportService.exportTestResults(criteria, out));
+    }
+
+    private void export(HttpServletResponse response, String name, boolean gzip, Export export) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(name + ".ndjson").build().toString());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE) : response.getOutputStream();
+        long count = export.writeTo(out);
+        if (out instanceof GZIPOutputStream gzipOutputStream) {
+            gzipOutputStream.finish();
+        }
+        out.flush();
+
+        logger.debug("Exported {} {}", count, name);
+    }
+
+    @FunctionalInterface
+    private interface Export {
+
+        long writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.web.rest;
+
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageFilter;
+import org.citrusframework.simulator.service.MessageService;
+import org.citrusframework.simulator.service.dto.KeysetPage;
+import org.citrusframework.simulator.service.dto.MessageSummary;
+import org.citrusframework.simulator.web.util.PaginationUtil;
+import org.citrusframework.simulator.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * REST controller for browsing {@link Message}.
+ */
+@RestController
+@RequestMapping("/api")
+public class MessageResource {
+
+    private final Logger logger = LoggerFactory.getLogger(MessageResource.class);
+
+    private final MessageService messageService;
+
+    public MessageResource(MessageService messageService) {
+        this.messageService = messageService;
+    }
+
+    /**
+     * {@code GET  /messages} : get a page of the messages, latest first.
+     *
+     * @param filter the filter which the requested entities should match, optionally holding the cursor of the
+     *               previous page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of messages in body, the cursor of
+     * the next page is returned in the {@value PaginationUtil#HEADER_X_NEXT_CURSOR} header.
+     */
+    @GetMapping("/messages")
+    public ResponseEntity<List<MessageSummary>> getMessages(MessageFilter filter) {
+        logger.debug("REST request to get Messages by filter: {}", filter);
+        PaginationUtil.validateCursor(filter.getCursor());
+
+        KeysetPage<Message> page = messageService.getMessagePage(filter);
+        HttpHeaders headers = PaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page.nextCursor());
+        return ResponseEntity.ok().headers(headers).body(page.content().stream().map(MessageSummary::of).toList());
+    }
+
+    /**
+     * {@code GET  /messages/:id/payload} : get the payload of the "id" message. Payloads are not part of the list
+     * response, they're loaded on demand through this endpoint instead.
+     *
+     * @param id the id of the message whose payload to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the payload in body, or with status
+     * {@code 404 (Not Found)} if there is no such message or the message has no payload.
+     */
+    @GetMapping(value = "/messages/{id}/payload", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getMessagePayload(@PathVariable Long id) {
+        logger.debug("REST request to get payload of Message : {}", id);
+        return ResponseUtil.wrapOrNotFound(messageService.findMessagePayload(id));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.web.rest;
+
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.model.ScenarioExecutionFilter;
+import org.citrusframework.simulator.service.ActivityService;
+import org.citrusframework.simulator.service.dto.KeysetPage;
+import org.citrusframework.simulator.service.dto.ScenarioExecutionSummary;
+import org.citrusframework.simulator.web.util.PaginationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * REST controller for browsing {@link ScenarioExecution}.
+ */
+@RestController
+@RequestMapping("/api")
+public class ScenarioExecutionResource {
+
+    private final Logger logger = LoggerFactory.getLogger(ScenarioExecutionResource.class);
+
+    private final ActivityService activityService;
+
+    public ScenarioExecutionResource(ActivityService activityService) {
+        this.activityService = activityService;
+    }
+
+    /**
+     * {@code GET  /scenario-executions} : get a page of the scenarioExecutions, latest first.
+     *
+     * @param filter the filter which the requested entities should match, optionally holding the cursor of the
+     *               previous page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of scenarioExecutions in body, the
+     * cursor of the next page is returned in the {@value PaginationUtil#HEADER_X_NEXT_CURSOR} header.
+     */
+    @GetMapping("/scenario-executions")
+    public ResponseEntity<List<ScenarioExecutionSummary>> getScenarioExecutions(ScenarioExecutionFilter filter) {
+        logger.debug("REST request to get ScenarioExecutions by filter: {}", filter);
+        PaginationUtil.validateCursor(filter.getCursor());
+
+        KeysetPage<ScenarioExecution> page = activityService.getScenarioExecutionPage(filter);
+        HttpHeaders headers = PaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page.nextCursor());
+        return ResponseEntity.ok().headers(headers).body(page.content().stream().map(ScenarioExecutionSummary::of).toList());
+    }
+}
@@ -4,6 +4,7 @@ import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.service.TestResultQueryService;
 import org.citrusframework.simulator.service.TestResultService;
 import org.citrusframework.simulator.service.criteria.TestResultCriteria;
+import org.citrusframework.simulator.service.dto.TestResultByScenario;
 import org.citrusframework.simulator.service.dto.TestResultByStatus;
 import org.citrusframework.simulator.web.util.PaginationUtil;
 import org.citrusframework.simulator.web.util.ResponseUtil;
@@ -82,6 +83,17 @@ public class TestResultResource {
         return ResponseEntity.ok().body(testResultService.countByStatus());
     }
 
+    /**
+     * {@code GET  /test-results/count-by-scenario} : count all the testResults by their status for each scenario.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the counts in body.
+     */
+    @GetMapping("/test-results/count-by-scenario")
+    public ResponseEntity<List<TestResultByScenario>> countTestResultsByScenario() {
+        logger.debug("REST request to count total TestResults by scenario");
+        return ResponseEntity.ok().body(testResultService.countByScenario());
+    }
+
     /**
      * {@code GET  /test-results/:id} : get the "id" testResult.
      *
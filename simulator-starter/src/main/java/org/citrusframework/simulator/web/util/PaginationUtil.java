@@ -1,7 +1,10 @@
 package org.citrusframework.simulator.web.util;
 
+import org.citrusframework.simulator.model.KeysetCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.text.MessageFormat;
@@ -17,6 +20,7 @@ import java.text.MessageFormat;
 public interface PaginationUtil {
 
      String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+     String HEADER_X_NEXT_CURSOR = "X-Next-Cursor";
      String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
 
     /**
@@ -48,6 +52,40 @@ public interface PaginationUtil {
         return headers;
     }
 
+    /**
+     * Generate pagination headers for a page browsed by cursor. The cursor of the next page is passed in the
+     * {@value #HEADER_X_NEXT_CURSOR} header and as {@code next} link, both are omitted on the last page.
+     *
+     * @param uriBuilder The URI builder.
+     * @param nextCursor The cursor of the next page, or {@code null} on the last page.
+     * @return http header.
+     */
+    static HttpHeaders generateCursorHttpHeaders(UriComponentsBuilder uriBuilder, String nextCursor) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            headers.add(HEADER_X_NEXT_CURSOR, nextCursor);
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT,
+                uriBuilder.replaceQueryParam("cursor", nextCursor).replaceQueryParam("pageNumber").toUriString(), "next"));
+        }
+        return headers;
+    }
+
+    /**
+     * Validates the cursor of a request browsing by cursor.
+     *
+     * @param cursor The cursor passed with the request, may be {@code null}.
+     * @throws ResponseStatusException with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    static void validateCursor(String cursor) {
+        if (cursor != null) {
+            try {
+                KeysetCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
+    }
+
     private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
         return MessageFormat.format(HEADER_LINK_FORMAT, preparePageUri(uriBuilder, pageNumber, pageSize), relType);
     }
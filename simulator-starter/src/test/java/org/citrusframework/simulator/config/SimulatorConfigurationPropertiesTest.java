@@ -0,0 +1,57 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SimulatorConfigurationPropertiesTest {
+
+    private MockEnvironment environment;
+
+    private SimulatorConfigurationProperties fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        environment = new MockEnvironment();
+
+        fixture = new SimulatorConfigurationProperties();
+        fixture.setEnvironment(environment);
+    }
+
+    @Test
+    void shouldLoadExecutorThreads() {
+        environment.setProperty("citrus.simulator.executor.threads", "4");
+
+        ReflectionTestUtils.invokeMethod(fixture, "loadProperties");
+
+        assertEquals(4, fixture.getExecutorThreads());
+    }
+
+    @Test
+    void shouldRejectExecutorThreadsLessThanOne() {
+        environment.setProperty("citrus.simulator.executor.threads", "0");
+
+        assertThrows(IllegalArgumentException.class, () -> ReflectionTestUtils.invokeMethod(fixture, "loadProperties"));
+        assertThrows(IllegalArgumentException.class, () -> fixture.setExecutorThreads(-1));
+    }
+}
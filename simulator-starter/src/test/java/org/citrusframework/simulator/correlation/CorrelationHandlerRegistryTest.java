@@ -0,0 +1,258 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.correlation;
+
+import org.citrusframework.context.TestContext;
+import org.citrusframework.context.TestContextFactory;
+import org.citrusframework.message.DefaultMessage;
+import org.citrusframework.message.Message;
+import org.citrusframework.simulator.scenario.ScenarioEndpoint;
+import org.citrusframework.simulator.scenario.ScenarioEndpointConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CorrelationHandlerRegistryTest {
+
+    private final ScenarioEndpoint scenarioEndpoint = new ScenarioEndpoint(new ScenarioEndpointConfiguration());
+
+    private TestContext context;
+
+    private CorrelationHandlerRegistry fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        context = TestContextFactory.newInstance().getObject();
+        fixture = new CorrelationHandlerRegistry();
+    }
+
+    @Test
+    void shouldFindHeaderMappingHandlerByResolvedValue() {
+        context.setVariable("correlationId", "1234");
+
+        HeaderMappingCorrelationHandler handler = new HeaderMappingCorrelationHandler(scenarioEndpoint, "x-correlationid", "${correlationId}");
+        HeaderMappingCorrelationHandler otherHandler = new HeaderMappingCorrelationHandler(scenarioEndpoint, "x-correlationid", "5678");
+        handler.resolve(context);
+        fixture.register(handler, context);
+        otherHandler.resolve(context);
+        fixture.register(otherHandler, context);
+
+        assertSame(handler, fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1234")));
+        assertSame(otherHandler, fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "5678")));
+        assertNull(fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "0000")));
+        assertNull(fixture.findHandlerFor(new DefaultMessage("")));
+    }
+
+    @Test
+    void shouldNotFindRemovedHandler() {
+        HeaderMappingCorrelationHandler handler = new HeaderMappingCorrelationHandler(scenarioEndpoint, "x-correlationid", "1234");
+        handler.resolve(context);
+        fixture.register(handler, context);
+
+        fixture.remove(handler);
+
+        assertNull(fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1234")));
+    }
+
+    @Test
+    void shouldFindXPathPayloadHandlerByResolvedValue() {
+        context.setVariable("orderId", "1234");
+
+        XPathPayloadCorrelationHandler handler = new XPathPayloadCorrelationHandler(scenarioEndpoint, "/Order/id", "${orderId}");
+        XPathPayloadCorrelationHandler otherHandler = new XPathPayloadCorrelationHandler(scenarioEndpoint, "/Order/id", "5678");
+        handler.resolve(context);
+        fixture.register(handler, context);
+        otherHandler.resolve(context);
+        fixture.register(otherHandler, context);
+
+        assertSame(handler, fixture.findHandlerFor(new DefaultMessage(order("1234"))));
+        assertSame(otherHandler, fixture.findHandlerFor(new DefaultMessage(order("5678"))));
+        assertNull(fixture.findHandlerFor(new DefaultMessage(order("0000"))));
+        assertNull(fixture.findHandlerFor(new DefaultMessage("<Invoice/>")));
+    }
+
+    @Test
+    void shouldNotFindRemovedXPathPayloadHandler() {
+        XPathPayloadCorrelationHandler handler = new XPathPayloadCorrelationHandler(scenarioEndpoint, "/Order/id", "1234");
+        handler.resolve(context);
+        fixture.register(handler, context);
+
+        fixture.remove(handler);
+
+        assertEquals(0, fixture.getActiveHandlerCount());
+        assertNull(fixture.findHandlerFor(new DefaultMessage(order("1234"))));
+    }
+
+    @Test
+    void shouldFindRemainingXPathPayloadHandlersAfterFirstHandlerOfExpressionIsRemoved() {
+        XPathPayloadCorrelationHandler first = new XPathPayloadCorrelationHandler(scenarioEndpoint, "/Order/id", "1");
+        XPathPayloadCorrelationHandler second = new XPathPayloadCorrelationHandler(scenarioEndpoint, "/Order/id", "2");
+        XPathPayloadCorrelationHandler third = new XPathPayloadCorrelationHandler(scenarioEndpoint, "/Order/id", "2");
+        first.resolve(context);
+        fixture.register(first, context);
+        second.resolve(context);
+        fixture.register(second, context);
+        third.resolve(context);
+        fixture.register(third, context);
+
+        // The first handler registered the expression, the others share its index bucket
+        fixture.remove(first);
+        fixture.remove(second);
+
+        assertNull(fixture.findHandlerFor(new DefaultMessage(order("1"))));
+        assertSame(third, fixture.findHandlerFor(new DefaultMessage(order("2"))));
+    }
+
+    @Test
+    void shouldFallBackToHandlerEvaluation() {
+        CorrelationHandler handler = new AbstractCorrelationHandler(scenarioEndpoint) {
+            @Override
+            public boolean isHandlerFor(Message message, TestContext context) {
+                return "match".equals(message.getPayload(String.class));
+            }
+        };
+        handler.resolve(context);
+        fixture.register(handler, context);
+
+        assertSame(handler, fixture.findHandlerFor(new DefaultMessage("match")));
+        assertNull(fixture.findHandlerFor(new DefaultMessage("no-match")));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedHandler() {
+        fixture.setQueueCapacity(2);
+
+        HeaderMappingCorrelationHandler first = new HeaderMappingCorrelationHandler(scenarioEndpoint, "x-correlationid", "1");
+        HeaderMappingCorrelationHandler second = new HeaderMappingCorrelationHandler(scenarioEndpoint, "x-correlationid", "2");
+        HeaderMappingCorrelationHandler third = new HeaderMappingCorrelationHandler(scenarioEndpoint, "x-correlationid", "3");
+        first.resolve(context);
+        fixture.register(first, context);
+        second.resolve(context);
+        fixture.register(second, context);
+
+        // Mark first handler as recently used, so second one is evicted
+        assertSame(first, fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1")));
+        third.resolve(context);
+        fixture.register(third, context);
+
+        assertEquals(2, fixture.getActiveHandlerCount());
+        assertEquals(1L, fixture.getEvictionCount());
+        assertSame(first, fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1")));
+        assertNull(fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "2")));
+        assertSame(third, fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "3")));
+    }
+
+    @Test
+    void shouldExpireHandlerAfterTimeToLive() {
+        Instant start = Instant.now();
+        fixture.setTimeToLive(1000L);
+        fixture.setClock(Clock.fixed(start, ZoneOffset.UTC));
+
+        HeaderMappingCorrelationHandler handler = new HeaderMappingCorrelationHandler(scenarioEndpoint, "x-correlationid", "1234");
+        handler.resolve(context);
+        fixture.register(handler, context);
+
+        fixture.setClock(Clock.fixed(start.plus(Duration.ofMillis(500)), ZoneOffset.UTC));
+        assertSame(handler, fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1234")));
+
+        fixture.setClock(Clock.fixed(start.plus(Duration.ofMillis(2000)), ZoneOffset.UTC));
+        assertNull(fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1234")));
+
+        assertEquals(0, fixture.getActiveHandlerCount());
+        assertEquals(1L, fixture.getExpirationCount());
+    }
+
+    @Test
+    void shouldKeepHandlerBeyondScenarioEndpointTimeoutByDefault() {
+        Instant start = Instant.now();
+        fixture.setClock(Clock.fixed(start, ZoneOffset.UTC));
+
+        HeaderMappingCorrelationHandler handler = new HeaderMappingCorrelationHandler(scenarioEndpoint, "x-correlationid", "1234");
+        handler.resolve(context);
+        fixture.register(handler, context);
+
+        long scenarioTimeout = scenarioEndpoint.getEndpointConfiguration().getTimeout();
+        fixture.setClock(Clock.fixed(start.plus(Duration.ofMillis(scenarioTimeout * 2)), ZoneOffset.UTC));
+        assertSame(handler, fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1234")));
+
+        fixture.setClock(Clock.fixed(start.plus(Duration.ofMillis(scenarioTimeout * 2 + CorrelationHandlerRegistry.DEFAULT_MIN_TIME_TO_LIVE + 1)), ZoneOffset.UTC));
+        assertNull(fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1234")));
+    }
+
+    @Test
+    void shouldRefreshTimeToLiveOnRepeatedRegistration() {
+        Instant start = Instant.now();
+        fixture.setTimeToLive(1000L);
+        fixture.setClock(Clock.fixed(start, ZoneOffset.UTC));
+
+        HeaderMappingCorrelationHandler handler = new HeaderMappingCorrelationHandler(scenarioEndpoint, "x-correlationid", "1234");
+        handler.resolve(context);
+        fixture.register(handler, context);
+
+        fixture.setClock(Clock.fixed(start.plus(Duration.ofMillis(800)), ZoneOffset.UTC));
+        fixture.register(handler, context);
+
+        fixture.setClock(Clock.fixed(start.plus(Duration.ofMillis(1500)), ZoneOffset.UTC));
+        assertSame(handler, fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1234")));
+
+        fixture.setClock(Clock.fixed(start.plus(Duration.ofMillis(2600)), ZoneOffset.UTC));
+        assertNull(fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1234")));
+        assertEquals(0, fixture.getActiveHandlerCount());
+        assertEquals(1L, fixture.getExpirationCount());
+    }
+
+    @Test
+    void shouldResolveCorrelationValueOnRegistration() {
+        context.setVariable("correlationId", "1234");
+
+        HeaderMappingCorrelationHandler handler = new HeaderMappingCorrelationHandler(scenarioEndpoint, "x-correlationid", "${correlationId}");
+        handler.resolve(context);
+        fixture.register(handler, context);
+
+        context.setVariable("correlationId", "5678");
+
+        assertSame(handler, fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1234")));
+        assertNull(fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "5678")));
+    }
+
+    @Test
+    void shouldResolveLateBoundCorrelationValueOnEveryMessage() {
+        context.setVariable("correlationId", "1234");
+
+        HeaderMappingCorrelationHandler handler = new HeaderMappingCorrelationHandler(scenarioEndpoint, "x-correlationid", "${correlationId}");
+        handler.setLateBinding(true);
+        handler.resolve(context);
+        fixture.register(handler, context);
+
+        context.setVariable("correlationId", "5678");
+
+        assertNull(fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "1234")));
+        assertSame(handler, fixture.findHandlerFor(new DefaultMessage("").setHeader("x-correlationid", "5678")));
+    }
+
+    private static String order(String id) {
+        return "<Order><id>" + id + "</id></Order>";
+    }
+}
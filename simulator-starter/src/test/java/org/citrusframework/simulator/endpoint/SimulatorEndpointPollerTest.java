@@ -0,0 +1,115 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.endpoint;
+
+import org.citrusframework.context.TestContext;
+import org.citrusframework.context.TestContextFactory;
+import org.citrusframework.endpoint.Endpoint;
+import org.citrusframework.endpoint.EndpointAdapter;
+import org.citrusframework.endpoint.EndpointConfiguration;
+import org.citrusframework.message.DefaultMessage;
+import org.citrusframework.messaging.Consumer;
+import org.citrusframework.simulator.exception.SimulatorException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SimulatorEndpointPollerTest {
+
+    @Mock
+    private TestContextFactory testContextFactoryMock;
+
+    @Mock
+    private Endpoint inboundEndpointMock;
+
+    @Mock
+    private EndpointConfiguration endpointConfigurationMock;
+
+    @Mock
+    private Consumer consumerMock;
+
+    @Mock
+    private EndpointAdapter endpointAdapterMock;
+
+    private SimulatorEndpointPoller fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = new SimulatorEndpointPoller();
+        fixture.setAutoStart(false);
+        fixture.setInboundEndpoint(inboundEndpointMock);
+        fixture.setEndpointAdapter(endpointAdapterMock);
+
+        ReflectionTestUtils.setField(fixture, "testContextFactory", testContextFactoryMock);
+    }
+
+    @Test
+    void shouldProcessMessagesConcurrently() throws InterruptedException {
+        int consumers = 3;
+        CountDownLatch inFlight = new CountDownLatch(consumers);
+        CountDownLatch release = new CountDownLatch(1);
+
+        lenient().when(inboundEndpointMock.getName()).thenReturn("inbound");
+        when(inboundEndpointMock.createConsumer()).thenReturn(consumerMock);
+        when(inboundEndpointMock.getEndpointConfiguration()).thenReturn(endpointConfigurationMock);
+        when(endpointConfigurationMock.getTimeout()).thenReturn(100L);
+        when(testContextFactoryMock.getObject()).thenReturn(new TestContext());
+        doReturn(new DefaultMessage("request")).when(consumerMock).receive(any(TestContext.class), anyLong());
+        when(endpointAdapterMock.handleMessage(any())).thenAnswer(invocation -> {
+            inFlight.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        fixture.setConsumers(consumers);
+        fixture.start();
+
+        try {
+            assertTrue(inFlight.await(5, TimeUnit.SECONDS), "Expected all consumers to handle a request at the same time");
+        } finally {
+            release.countDown();
+            fixture.stop();
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidNumberOfConsumers() {
+        assertThrows(SimulatorException.class, () -> fixture.setConsumers(0));
+        assertEquals(1, fixture.getConsumers());
+    }
+
+    @Test
+    void shouldStopWithoutStart() {
+        fixture.stop();
+    }
+}
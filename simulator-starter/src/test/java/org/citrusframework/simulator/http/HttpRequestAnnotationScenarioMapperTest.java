@@ -64,6 +64,34 @@ class HttpRequestAnnotationScenarioMapperTest {
         assertThrows(CitrusRuntimeException.class, () -> fixture.getMappingKey(null));
     }
 
+    @Test
+    void testGetMappingKeyPrefersExactPathOverPatterns() {
+        fixture.setScenarioList(Arrays.asList(new AnyIssueScenario(),
+                                                    new IssueScenario(),
+                                                    new OtherScenario(),
+                                                    new FilteredIssuesScenario()));
+
+        assertEquals("OtherScenario", fixture.getMappingKey(new HttpMessage().path("/issues/other").method(HttpMethod.GET)));
+        assertEquals("AnyIssueScenario", fixture.getMappingKey(new HttpMessage().path("/issues/bar").method(HttpMethod.GET)));
+        assertEquals("AnyIssueScenario", fixture.getMappingKey(new HttpMessage().path("/issues/bar/comments").method(HttpMethod.GET)));
+        assertEquals("FilteredIssuesScenario", fixture.getMappingKey(new HttpMessage().path("/issues").method(HttpMethod.GET).queryParam("state", "open")));
+        assertEquals("AnyIssueScenario", fixture.getMappingKey(new HttpMessage().path("/issues").method(HttpMethod.GET)));
+        assertEquals("default", fixture.getMappingKey(new HttpMessage().path("/issues").method(HttpMethod.GET).queryParam("state", "open").queryParam("draft", "true")));
+        assertEquals("default", fixture.getMappingKey(new HttpMessage().path("/users").method(HttpMethod.GET)));
+    }
+
+    @Test
+    void testGetMappingKeyWithoutRequestPath() {
+        fixture.setScenarioList(Arrays.asList(new AnyIssueScenario(),
+                                                    new OtherScenario(),
+                                                    new AnyPathScenario()));
+
+        assertEquals("OtherScenario", fixture.getMappingKey(new HttpMessage().path("/issues/other").method(HttpMethod.GET)));
+        assertEquals("AnyPathScenario", fixture.getMappingKey(new HttpMessage().path("/issues/bar").method(HttpMethod.GET)));
+        assertEquals("AnyPathScenario", fixture.getMappingKey(new HttpMessage().path("/users").method(HttpMethod.GET)));
+        assertEquals("default", fixture.getMappingKey(new HttpMessage().path("/users").method(HttpMethod.POST)));
+    }
+
     @Scenario("FooScenario")
     @RequestMapping(value = "/issues/foo", method = RequestMethod.POST)
     private class FooScenario extends AbstractSimulatorScenario {
@@ -88,4 +116,19 @@ class HttpRequestAnnotationScenarioMapperTest {
     @RequestMapping("/issues/other")
     private class OtherScenario extends AbstractSimulatorScenario {
     }
+
+    @Scenario("AnyIssueScenario")
+    @RequestMapping(value = "/issues/**", method = RequestMethod.GET, params = "!state")
+    private class AnyIssueScenario extends AbstractSimulatorScenario {
+    }
+
+    @Scenario("FilteredIssuesScenario")
+    @RequestMapping(value = "/issues", method = RequestMethod.GET, params = { "state", "!draft" })
+    private class FilteredIssuesScenario extends AbstractSimulatorScenario {
+    }
+
+    @Scenario("AnyPathScenario")
+    @RequestMapping(method = RequestMethod.GET)
+    private class AnyPathScenario extends AbstractSimulatorScenario {
+    }
 }
@@ -79,4 +79,23 @@ class HttpRequestPathScenarioMapperTest {
         assertThrows(CitrusRuntimeException.class, () -> fixture.getMappingKey(new HttpMessage().method(HttpMethod.GET).path("/issues")));
     }
 
+    @Test
+    void testGetMappingKeyPrefersMostSpecificPattern() {
+        fixture.setScenarioList(Arrays.asList(new HttpOperationScenario("/issues/**", RequestMethod.GET, operation("anyIssueScenario"), Collections.emptyMap()),
+                                                        new HttpOperationScenario("/issues/{type}/{id}", RequestMethod.GET, operation("issueScenario"), Collections.emptyMap()),
+                                                        new HttpOperationScenario("/issues/foo/{id}", RequestMethod.GET, operation("fooScenario"), Collections.emptyMap()),
+                                                        new HttpOperationScenario("/issues/foo/{id}.json", RequestMethod.GET, operation("fooJsonScenario"), Collections.emptyMap())));
+
+        assertEquals(fixture.getMappingKey(new HttpMessage().method(HttpMethod.GET).path("/issues/foo/1")), "fooScenario");
+        assertEquals(fixture.getMappingKey(new HttpMessage().method(HttpMethod.GET).path("/issues/foo/1.json")), "fooJsonScenario");
+        assertEquals(fixture.getMappingKey(new HttpMessage().method(HttpMethod.GET).path("/issues/bar/1")), "issueScenario");
+        assertEquals(fixture.getMappingKey(new HttpMessage().method(HttpMethod.GET).path("/issues/bar/1/comments")), "anyIssueScenario");
+        assertEquals(fixture.getMappingKey(new HttpMessage().method(HttpMethod.POST).path("/issues/foo/1")), "default");
+    }
+
+    private static Operation operation(String operationId) {
+        Operation operation = new Operation();
+        operation.setOperationId(operationId);
+        return operation;
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.http;
+
+import org.citrusframework.simulator.IntegrationTest;
+import org.citrusframework.simulator.listener.SimulatorMessageListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.ServletInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Integration tests for the {@link InterceptorHttp} with the message listeners of the simulator application context.
+ */
+@IntegrationTest
+class InterceptorHttpIT {
+
+    @Autowired
+    @Qualifier("httpInterceptor")
+    private HandlerInterceptor httpInterceptor;
+
+    @Autowired
+    private SimulatorMessageListener simulatorMessageListener;
+
+    @Test
+    void shouldNotCapturePayloadsWithDebugLoggingDisabled() throws Exception {
+        assertFalse(simulatorMessageListener.isEnabled());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/services/rest/foo") {
+            @Override
+            public ServletInputStream getInputStream() {
+                throw new AssertionError("Request body must not be read");
+            }
+        };
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        SimulatorAsyncHttpMessageController handler = mock(SimulatorAsyncHttpMessageController.class);
+
+        assertTrue(httpInterceptor.preHandle(request, response, handler));
+        httpInterceptor.postHandle(request, response, handler, null);
+
+        verify(handler, never()).getResponseCache(any());
+    }
+}
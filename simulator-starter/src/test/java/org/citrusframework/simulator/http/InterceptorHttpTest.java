@@ -0,0 +1,182 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.http;
+
+import org.citrusframework.message.Message;
+import org.citrusframework.report.LoggingReporter;
+import org.citrusframework.report.MessageListener;
+import org.citrusframework.report.MessageListeners;
+import org.citrusframework.simulator.listener.SimulatorMessageListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InterceptorHttpTest {
+
+    @Mock
+    private CustomMessageListener messageListenerMock;
+
+    @Mock
+    private SimulatorMessageListener simulatorMessageListenerMock;
+
+    @Mock
+    private SimulatorAsyncHttpMessageController asyncHttpMessageControllerMock;
+
+    @Test
+    void testPayloadNotCapturedWithoutEnabledListener() throws Exception {
+        MessageListeners messageListeners = new MessageListeners();
+        messageListeners.addMessageListener(simulatorMessageListenerMock);
+        when(simulatorMessageListenerMock.isEnabled()).thenReturn(false);
+
+        InterceptorHttp fixture = new InterceptorHttp(messageListeners);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/services/rest/foo");
+        request.setContent("<foo/>".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(fixture.preHandle(request, response, asyncHttpMessageControllerMock));
+        fixture.postHandle(request, response, asyncHttpMessageControllerMock, null);
+
+        verify(simulatorMessageListenerMock, never()).onInboundMessage(any(), any());
+        verify(simulatorMessageListenerMock, never()).onOutboundMessage(any(), any());
+        assertEquals("<foo/>", new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testPayloadNotCapturedForCitrusListeners() throws Exception {
+        MessageListeners messageListeners = new MessageListeners();
+        messageListeners.addMessageListener(new LoggingReporter());
+        messageListeners.addMessageListener(simulatorMessageListenerMock);
+        when(simulatorMessageListenerMock.isEnabled()).thenReturn(false);
+
+        InterceptorHttp fixture = new InterceptorHttp(messageListeners);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/services/rest/foo");
+        request.setContent("<foo/>".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(fixture.preHandle(request, response, asyncHttpMessageControllerMock));
+        fixture.postHandle(request, response, asyncHttpMessageControllerMock, null);
+
+        verify(asyncHttpMessageControllerMock, never()).getResponseCache(any());
+        assertEquals("<foo/>", new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testPayloadNotTruncatedByDefault() throws Exception {
+        MessageListeners messageListeners = new MessageListeners();
+        messageListeners.addMessageListener(messageListenerMock);
+
+        InterceptorHttp fixture = new InterceptorHttp(messageListeners);
+
+        String payload = "<foo>" + "a".repeat(10000) + "</foo>";
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/services/rest/foo");
+        request.setContent(payload.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(asyncHttpMessageControllerMock.getResponseCache(request)).thenAnswer(invocation -> ResponseEntity.ok(payload));
+
+        fixture.preHandle(request, response, asyncHttpMessageControllerMock);
+        fixture.postHandle(request, response, asyncHttpMessageControllerMock, null);
+
+        ArgumentCaptor<Message> inbound = ArgumentCaptor.forClass(Message.class);
+        verify(messageListenerMock).onInboundMessage(inbound.capture(), isNull());
+        assertEquals(payload, inbound.getValue().getPayload(String.class));
+
+        ArgumentCaptor<Message> outbound = ArgumentCaptor.forClass(Message.class);
+        verify(messageListenerMock).onOutboundMessage(outbound.capture(), isNull());
+        assertEquals(payload, outbound.getValue().getPayload(String.class));
+    }
+
+    @Test
+    void testPayloadTruncatedToLimit() throws Exception {
+        MessageListeners messageListeners = new MessageListeners();
+        messageListeners.addMessageListener(messageListenerMock);
+
+        InterceptorHttp fixture = new InterceptorHttp(messageListeners, 4);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/services/rest/foo");
+        request.setContent("<foo/>".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(asyncHttpMessageControllerMock.getResponseCache(request)).thenAnswer(invocation -> ResponseEntity.ok("<bar/>"));
+
+        fixture.preHandle(request, response, asyncHttpMessageControllerMock);
+        fixture.postHandle(request, response, asyncHttpMessageControllerMock, null);
+
+        ArgumentCaptor<Message> inbound = ArgumentCaptor.forClass(Message.class);
+        verify(messageListenerMock).onInboundMessage(inbound.capture(), isNull());
+        assertEquals("<foo...", inbound.getValue().getPayload(String.class));
+
+        ArgumentCaptor<Message> outbound = ArgumentCaptor.forClass(Message.class);
+        verify(messageListenerMock).onOutboundMessage(outbound.capture(), isNull());
+        assertEquals("<bar...", outbound.getValue().getPayload(String.class));
+    }
+
+    @Test
+    void testPayloadTruncatedOnCharacterBoundary() throws Exception {
+        MessageListeners messageListeners = new MessageListeners();
+        messageListeners.addMessageListener(messageListenerMock);
+
+        InterceptorHttp fixture = new InterceptorHttp(messageListeners, 3);
+
+        // 'ä' takes two bytes, the limit cuts off the second one
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/services/rest/foo");
+        request.setContent("<fä/>".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(asyncHttpMessageControllerMock.getResponseCache(request)).thenAnswer(invocation -> ResponseEntity.ok("<bä/>".getBytes(StandardCharsets.UTF_8)));
+
+        fixture.preHandle(request, response, asyncHttpMessageControllerMock);
+        fixture.postHandle(request, response, asyncHttpMessageControllerMock, null);
+
+        ArgumentCaptor<Message> inbound = ArgumentCaptor.forClass(Message.class);
+        verify(messageListenerMock).onInboundMessage(inbound.capture(), isNull());
+        assertEquals("<f...", inbound.getValue().getPayload(String.class));
+
+        ArgumentCaptor<Message> outbound = ArgumentCaptor.forClass(Message.class);
+        verify(messageListenerMock).onOutboundMessage(outbound.capture(), isNull());
+        assertEquals("<b...", outbound.getValue().getPayload(String.class));
+    }
+
+    @Test
+    void testNegativePayloadLimitRejected() {
+        MessageListeners messageListeners = new MessageListeners();
+
+        assertThrows(IllegalArgumentException.class, () -> new InterceptorHttp(messageListeners, -1));
+    }
+
+    /**
+     * Message listener supplied by the simulator application.
+     */
+    abstract static class CustomMessageListener implements MessageListener {
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.http;
+
+import jakarta.servlet.AsyncListener;
+import org.citrusframework.endpoint.EndpointAdapter;
+import org.citrusframework.http.message.HttpMessage;
+import org.citrusframework.message.Message;
+import org.citrusframework.simulator.endpoint.SimulatorEndpointAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class SimulatorAsyncHttpMessageControllerTest {
+
+    @Mock
+    private SimulatorEndpointAdapter endpointAdapterMock;
+
+    private SimulatorAsyncHttpMessageController fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = new SimulatorAsyncHttpMessageController();
+        fixture.setEndpointAdapter(endpointAdapterMock);
+    }
+
+    @Test
+    void shouldCompleteDeferredResultWhenScenarioResponds() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("POST", "/services/rest/foo");
+        servletRequest.setQueryString("a=1&b=2");
+
+        CompletableFuture<Message> responseFuture = new CompletableFuture<>();
+        ArgumentCaptor<Message> requestCaptor = ArgumentCaptor.forClass(Message.class);
+        when(endpointAdapterMock.handleMessageAsync(requestCaptor.capture())).thenReturn(responseFuture);
+
+        DeferredResult<ResponseEntity<?>> result = fixture.handleRequest(new HttpEntity<>("<foo/>"), servletRequest, new MockHttpServletResponse());
+
+        HttpMessage request = (HttpMessage) requestCaptor.getValue();
+        assertEquals(RequestMethod.POST, request.getRequestMethod());
+        assertEquals("/services/rest/foo", request.getPath());
+        assertEquals("a=1,b=2", request.getQueryParamString());
+        assertFalse(result.hasResult());
+
+        responseFuture.complete(new HttpMessage("<bar/>").status(HttpStatus.CREATED));
+
+        assertTrue(result.hasResult());
+        ResponseEntity<?> responseEntity = (ResponseEntity<?>) result.getResult();
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        assertEquals("<bar/>", responseEntity.getBody());
+        assertSame(responseEntity, fixture.getResponseCache(servletRequest));
+    }
+
+    @Test
+    void shouldUseDefaultStatusWithoutResponse() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/services/rest/foo");
+
+        when(endpointAdapterMock.handleMessageAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        DeferredResult<ResponseEntity<?>> result = fixture.handleRequest(new HttpEntity<>(""), servletRequest, new MockHttpServletResponse());
+
+        assertEquals(HttpStatus.OK, ((ResponseEntity<?>) result.getResult()).getStatusCode());
+    }
+
+    @Test
+    void shouldDispatchResponseAsynchronously() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(fixture).build();
+
+        CompletableFuture<Message> responseFuture = new CompletableFuture<>();
+        when(endpointAdapterMock.handleMessageAsync(any())).thenReturn(responseFuture);
+
+        MvcResult mvcResult = mockMvc.perform(post("/services/rest/foo").contentType(MediaType.APPLICATION_XML).content("<foo/>"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        responseFuture.complete(new HttpMessage("<bar/>").status(HttpStatus.CREATED));
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isCreated())
+            .andExpect(content().string("<bar/>"));
+    }
+
+    @Test
+    void shouldRespondWithFallbackOnTimeout() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(fixture).build();
+        fixture.setTimeout(1000L);
+
+        EndpointAdapter fallbackEndpointAdapterMock = mock(EndpointAdapter.class);
+        when(endpointAdapterMock.handleMessageAsync(any())).thenReturn(new CompletableFuture<>());
+        when(endpointAdapterMock.getFallbackEndpointAdapter()).thenReturn(fallbackEndpointAdapterMock);
+        when(fallbackEndpointAdapterMock.handleMessage(any())).thenReturn(new HttpMessage("").status(HttpStatus.SERVICE_UNAVAILABLE));
+
+        MvcResult mvcResult = mockMvc.perform(get("/services/rest/foo"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // MockMvc never times out on its own, so signal the timeout the servlet container would raise
+        MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(null);
+        }
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isServiceUnavailable());
+    }
+}
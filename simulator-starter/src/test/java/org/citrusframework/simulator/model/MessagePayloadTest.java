@@ -0,0 +1,104 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessagePayloadTest {
+
+    private static final String CONTENT = "{\"greeting\": \"" + "Hello".repeat(100) + "\"}";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldCompressContent() {
+        MessagePayload fixture = MessagePayload.compressed(CONTENT);
+
+        assertEquals(MessagePayload.Storage.COMPRESSED, fixture.getStorage());
+        assertEquals(CONTENT.length(), fixture.getSize());
+        assertNull(fixture.getLocation());
+        assertEquals(CONTENT, fixture.getContent());
+    }
+
+    @Test
+    void shouldShareFileOfEqualExternalContent() throws IOException {
+        MessagePayload first = MessagePayload.external(CONTENT, directory);
+        MessagePayload second = MessagePayload.external(CONTENT, directory);
+        assertEquals(first.getLocation(), second.getLocation());
+
+        first.writeExternalContent();
+        second.writeExternalContent();
+
+        try (var files = Files.walk(directory)) {
+            assertEquals(1L, files.filter(Files::isRegularFile).count());
+        }
+        assertTrue(Files.size(Path.of(first.getLocation())) < CONTENT.length());
+        assertEquals(CONTENT, second.getContent());
+    }
+
+    @Test
+    void shouldWriteExternalContentAfterCommit() {
+        MessagePayload fixture = MessagePayload.external(CONTENT, directory);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            fixture.writeExternalContent();
+
+            assertFalse(Files.exists(Path.of(fixture.getLocation())));
+            assertEquals(CONTENT, fixture.getContent());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(Files.exists(Path.of(fixture.getLocation())));
+        assertEquals(CONTENT, fixture.getContent());
+    }
+
+    @Test
+    void shouldNotWriteExternalContentOnRollback() throws IOException {
+        MessagePayload fixture = MessagePayload.external(CONTENT, directory);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            fixture.writeExternalContent();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        try (var files = Files.walk(directory)) {
+            assertEquals(0L, files.filter(Files::isRegularFile).count());
+        }
+    }
+}
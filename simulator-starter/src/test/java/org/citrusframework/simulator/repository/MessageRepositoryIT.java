@@ -0,0 +1,158 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.citrusframework.simulator.IntegrationTest;
+import org.citrusframework.simulator.model.KeysetCursor;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageFilter;
+import org.citrusframework.simulator.model.MessageHeader;
+import org.citrusframework.simulator.model.MessagePayload;
+import org.citrusframework.simulator.service.MessageService;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testing that {@link MessageRepository} persists messages along with their headers in batched statements and loads
+ * message payloads lazily.
+ */
+@IntegrationTest
+class MessageRepositoryIT {
+
+    private static final int HEADER_COUNT = 15;
+
+    /**
+     * Insert statements for message, payload and headers and the calls to their pooled sequences
+     */
+    private static final int MAX_BATCHED_STATEMENTS = 3 + 4;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Message message;
+
+    private final List<Message> pagedMessages = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEachSetup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void shouldBatchMessageAndHeaderInserts() {
+        message = new Message();
+        message.setDirection(Message.Direction.INBOUND);
+        message.setPayload("<Hello/>");
+        message.setCitrusMessageId("batched-message");
+        for (int i = 0; i < HEADER_COUNT; i++) {
+            message.addHeader(new MessageHeader("header-" + i, "value-" + i));
+        }
+
+        message = messageRepository.save(message);
+
+        // the message, its payload and the headers
+        assertEquals(HEADER_COUNT + 2, statistics.getEntityInsertCount());
+        // one batched insert statement per table plus at most one sequence call per sequence, two for the headers
+        // crossing an allocation boundary; unbatched inserts or sequence calls per entity need at least a statement per header
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_BATCHED_STATEMENTS,
+            "Expected at most " + MAX_BATCHED_STATEMENTS + " prepared statements, but got " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldLoadCompressedPayloadLazily() {
+        String payload = "<Hello>" + "World".repeat(1000) + "</Hello>";
+
+        message = new Message();
+        message.setDirection(Message.Direction.OUTBOUND);
+        message.setMessagePayload(MessagePayload.compressed(payload));
+        message.setCitrusMessageId("compressed-message");
+        message = messageRepository.save(message);
+
+        Message loaded = messageRepository.findById(message.getMessageId()).orElseThrow();
+        assertFalse(Hibernate.isInitialized(loaded.getMessagePayload()));
+
+        assertEquals(Optional.of(payload), messageService.findMessagePayload(message.getMessageId()));
+    }
+
+    @Test
+    void shouldBrowseMessagesByCursor() {
+        Instant date = Instant.parse("2000-01-01T00:00:00Z");
+        pagedMessages.add(saveMessage("paged-1", date));
+        pagedMessages.add(saveMessage("paged-2", date.plusSeconds(1)));
+        pagedMessages.add(saveMessage("paged-3", date.plusSeconds(1)));
+
+        MessageFilter filter = new MessageFilter();
+        filter.setFromDate(date);
+        filter.setToDate(date.plusSeconds(60));
+        filter.setDirectionInbound(true);
+        filter.setDirectionOutbound(true);
+        filter.setPageNumber(0);
+        filter.setPageSize(2);
+
+        List<Message> firstPage = messageRepository.find(filter);
+        assertEquals(List.of("paged-3", "paged-2"), firstPage.stream().map(Message::getCitrusMessageId).toList());
+
+        Message last = firstPage.get(firstPage.size() - 1);
+        filter.setCursor(new KeysetCursor(last.getCreatedDate(), last.getMessageId()).encode());
+
+        List<Message> secondPage = messageRepository.find(filter);
+        assertEquals(List.of("paged-1"), secondPage.stream().map(Message::getCitrusMessageId).toList());
+    }
+
+    private Message saveMessage(String citrusMessageId, Instant createdDate) {
+        Message pagedMessage = new Message();
+        pagedMessage.setDirection(Message.Direction.INBOUND);
+        pagedMessage.setPayload(citrusMessageId);
+        pagedMessage.setCitrusMessageId(citrusMessageId);
+        pagedMessage.setCreatedDate(createdDate);
+        return messageRepository.save(pagedMessage);
+    }
+
+    @AfterEach
+    void afterEachTeardown() {
+        statistics.setStatisticsEnabled(false);
+        messageRepository.deleteAll(pagedMessages);
+        if (message != null) {
+            messageRepository.delete(message);
+        }
+    }
+}
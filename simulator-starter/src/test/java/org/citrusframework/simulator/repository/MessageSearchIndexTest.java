@@ -0,0 +1,150 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.repository;
+
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class MessageSearchIndexTest {
+
+    private MessageSearchIndex fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = createIndex(new SimulatorPersistenceConfigurationProperties());
+
+        fixture.add(1L, "<Order><Id>4711</Id><Status>Shipped</Status></Order>");
+        fixture.add(2L, "{\"order\": {\"id\": 4712, \"status\": \"open\"}}");
+        fixture.add(3L, "Hello World");
+    }
+
+    @Test
+    void shouldFindCandidatesContainingAllWords() {
+        assertEquals(Optional.of(Set.of(1L, 2L)), fixture.find("<order>%"));
+        assertEquals(Optional.of(Set.of(1L)), fixture.find("%<ORDER>%<status>shipped%"));
+        assertEquals(Optional.of(Set.of(2L)), fixture.find("%\"status\": \"open\"%"));
+        assertEquals(Optional.of(Set.of()), fixture.find("<order>%<world>%"));
+    }
+
+    @Test
+    void shouldFindCandidatesByWordPrefix() {
+        assertEquals(Optional.of(Set.of(1L, 2L)), fixture.find("%<id>471%"));
+        assertEquals(Optional.of(Set.of(3L)), fixture.find("Hel%"));
+    }
+
+    @Test
+    void shouldFindCandidatesMatchingWithinWords() {
+        assertEquals(Optional.of(Set.of(3L)), fixture.find("%ello%"));
+        assertEquals(Optional.of(Set.of(1L, 2L)), fixture.find("%order%"));
+        assertEquals(Optional.of(Set.of(1L, 2L)), fixture.find("%RDER%TATU%"));
+        assertEquals(Optional.of(Set.of(3L)), fixture.find("_ello%"));
+        assertEquals(Optional.of(Set.of()), fixture.find("%rders%"));
+    }
+
+    @Test
+    void shouldFindCandidatesMatchingWithinTruncatedWords() {
+        String word = "a".repeat(100) + "needle";
+        fixture.add(4L, word);
+
+        assertEquals(Optional.of(Set.of(4L)), fixture.find("%needle%"));
+        assertEquals(Optional.of(Set.of(4L)), fixture.find(word + "%"));
+    }
+
+    @Test
+    void shouldNotAnswerSearchesWithoutIndexableWords() {
+        assertEquals(Optional.empty(), fixture.find("%"));
+        assertEquals(Optional.empty(), fixture.find("%<a>%"));
+        assertEquals(Optional.empty(), fixture.find("<order>%<a>%"));
+        assertEquals(Optional.empty(), fixture.find("H_llo%"));
+    }
+
+    @Test
+    void shouldRemoveMessages() {
+        fixture.remove(List.of(1L));
+        assertEquals(Optional.of(Set.of(2L)), fixture.find("%{\"order\"%"));
+
+        fixture.clear();
+        assertEquals(Optional.of(Set.of()), fixture.find("%{\"order\"%"));
+    }
+
+    @Test
+    void shouldRemoveMessagesOnceTransactionHasBeenCommitted() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            fixture.remove(List.of(1L));
+            fixture.clear();
+            assertEquals(Optional.of(Set.of(1L, 2L)), fixture.find("%order%"));
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.get(0).afterCommit();
+            assertEquals(Optional.of(Set.of(2L)), fixture.find("%order%"));
+
+            synchronizations.get(1).afterCommit();
+            assertEquals(Optional.of(Set.of()), fixture.find("%order%"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldNotAnswerSearchesWithTooManyCandidates() {
+        SimulatorPersistenceConfigurationProperties persistenceConfiguration = new SimulatorPersistenceConfigurationProperties();
+        persistenceConfiguration.setSearchIndexMaxCandidates(1);
+        MessageSearchIndex limited = createIndex(persistenceConfiguration);
+        limited.add(1L, "<order>open</order>");
+        limited.add(2L, "<order>shipped</order>");
+
+        assertEquals(Optional.empty(), limited.find("<order>%"));
+        assertEquals(Optional.of(Set.of(2L)), limited.find("<order>shipped%"));
+    }
+
+    @Test
+    void shouldDropIndexExceedingMaxPostings() {
+        SimulatorPersistenceConfigurationProperties persistenceConfiguration = new SimulatorPersistenceConfigurationProperties();
+        persistenceConfiguration.setSearchIndexMaxPostings(3);
+        MessageSearchIndex limited = createIndex(persistenceConfiguration);
+        limited.add(1L, "<order>open</order>");
+        limited.add(2L, "<order>shipped</order>");
+
+        assertFalse(limited.isReady());
+        assertEquals(Optional.empty(), limited.find("<order>%"));
+    }
+
+    @Test
+    void shouldNotAnswerSearchesWhenNotReady() {
+        MessageSearchIndex notReady = new MessageSearchIndex(null, new SimulatorPersistenceConfigurationProperties());
+        notReady.add(1L, "<order/>");
+
+        assertEquals(Optional.empty(), notReady.find("<order/>"));
+    }
+
+    private static MessageSearchIndex createIndex(SimulatorPersistenceConfigurationProperties persistenceConfiguration) {
+        MessageSearchIndex index = new MessageSearchIndex(null, persistenceConfiguration);
+        index.markReady();
+        return index;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.repository;
+
+import org.citrusframework.simulator.IntegrationTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testing that the queries of the repositories are answered by the indexes of the Liquibase managed schema.
+ */
+@IntegrationTest
+class SchemaIndexIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "SELECT execution_id FROM scenario_execution WHERE scenario_name = 'Default' ORDER BY start_date DESC | ix_scenario_execution_scenario_name",
+        "SELECT execution_id FROM scenario_execution WHERE status = 1 ORDER BY start_date DESC | ix_scenario_execution_status",
+        "SELECT execution_id FROM scenario_execution WHERE start_date >= TIMESTAMP WITH TIME ZONE '2023-01-01 00:00:00Z' | ix_scenario_execution_start_date",
+        "SELECT message_id FROM message WHERE created_date >= TIMESTAMP WITH TIME ZONE '2023-01-01 00:00:00Z' | ix_message_created_date",
+        "SELECT message_id FROM message WHERE scenario_execution_execution_id = 1 | ix_message_execution",
+        "SELECT header_id FROM message_header WHERE name = 'Content-Type' AND header_value = 'application/json' | ix_message_header_name_value",
+        "SELECT payload_id FROM message_payload WHERE location = '/tmp/payload' | ix_message_payload_location",
+        "SELECT COUNT(*) FROM test_result WHERE status = 1 | ix_test_result_status",
+        "SELECT id FROM test_result WHERE test_name = 'Test-1' | ix_test_result_test_name",
+        "SELECT id FROM test_result WHERE created_date >= TIMESTAMP WITH TIME ZONE '2023-01-01 00:00:00Z' | ix_test_result_created_date",
+    })
+    void shouldUseIndex(String query, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(index), "Expected query to use index " + index + ", but plan was: " + plan);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.repository;
+
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Testing that the Liquibase change log takes over a database whose schema has not been created by Liquibase, e.g.
+ * one generated by Hibernate, and adds the missing indexes.
+ */
+class SchemaUpgradeIT {
+
+    private static final String CHANGE_LOG = "config/liquibase/master.xml";
+
+    @Test
+    void shouldTakeOverExistingSchemaAndCreateMissingIndexes() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:schema-upgrade;DB_CLOSE_DELAY=-1", "sa", "")) {
+            update(connection);
+
+            // existing schema without change log and without the query indexes
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE databasechangelog");
+                statement.execute("DROP INDEX ix_message_created_date");
+                statement.execute("DROP INDEX ix_test_result_status");
+            }
+
+            update(connection);
+
+            assertEquals(1, countIndexes(connection, "IX_MESSAGE_CREATED_DATE"));
+            assertEquals(1, countIndexes(connection, "IX_TEST_RESULT_STATUS"));
+            assertEquals(1, countIndexes(connection, "IX_SCENARIO_EXECUTION_START_DATE"));
+        }
+    }
+
+    private static void update(Connection connection) throws Exception {
+        new Liquibase(CHANGE_LOG, new ClassLoaderResourceAccessor(), new JdbcConnection(connection)).update(new Contexts());
+    }
+
+    private static int countIndexes(Connection connection, String indexName) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = '" + indexName + "'")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.citrusframework.simulator.repository;
 
 import org.citrusframework.simulator.IntegrationTest;
 import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.service.dto.TestResultByScenario;
 import org.citrusframework.simulator.service.dto.TestResultByStatus;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -49,6 +50,15 @@ class TestResultRepositoryIT {
         assertEquals(1, testResultByStatus.failed());
     }
 
+    @Test
+    @Transactional
+    void countByScenario(){
+        List<TestResultByScenario> testResultsByScenario = testResultRepository.countByScenario();
+
+        assertEquals(new TestResultByScenario("Test-1", 1L, 0L), testResultsByScenario.stream().filter(count -> count.testName().equals("Test-1")).findFirst().orElseThrow());
+        assertEquals(new TestResultByScenario("Test-2", 0L, 1L), testResultsByScenario.stream().filter(count -> count.testName().equals("Test-2")).findFirst().orElseThrow());
+    }
+
     @AfterEach
     void afterEachTeardown(){
         testResultRepository.deleteAll(testResults);
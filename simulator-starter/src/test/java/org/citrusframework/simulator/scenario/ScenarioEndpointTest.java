@@ -0,0 +1,90 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.scenario;
+
+import org.citrusframework.context.TestContext;
+import org.citrusframework.message.DefaultMessage;
+import org.citrusframework.message.Message;
+import org.citrusframework.spi.ReferenceResolver;
+import org.citrusframework.simulator.endpoint.EndpointMessageHandler;
+import org.citrusframework.simulator.exception.SimulatorException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioEndpointTest {
+
+    @Mock
+    private TestContext testContextMock;
+
+    @Mock
+    private ReferenceResolver referenceResolverMock;
+
+    @Mock
+    private EndpointMessageHandler endpointMessageHandlerMock;
+
+    private ScenarioEndpoint fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = new ScenarioEndpoint(new ScenarioEndpointConfiguration());
+    }
+
+    @Test
+    void shouldCompleteResponseFuturesInRequestOrder() {
+        doReturn(referenceResolverMock).when(testContextMock).getReferenceResolver();
+        doReturn(endpointMessageHandlerMock).when(referenceResolverMock).resolve(EndpointMessageHandler.class);
+
+        CompletableFuture<Message> firstFuture = new CompletableFuture<>();
+        CompletableFuture<Message> secondFuture = new CompletableFuture<>();
+
+        fixture.add(new DefaultMessage("first"), firstFuture);
+        fixture.add(new DefaultMessage("second"), secondFuture);
+
+        assertEquals("first", fixture.receive(testContextMock, 100L).getPayload(String.class));
+        Message firstResponse = new DefaultMessage("first-response");
+        fixture.send(firstResponse, testContextMock);
+
+        assertEquals(firstResponse, firstFuture.getNow(null));
+        assertFalse(secondFuture.isDone());
+
+        assertEquals("second", fixture.receive(testContextMock, 100L).getPayload(String.class));
+        Message secondResponse = new DefaultMessage("second-response");
+        fixture.send(secondResponse, testContextMock);
+
+        assertEquals(secondResponse, secondFuture.getNow(null));
+    }
+
+    @Test
+    void shouldFailToSendWithoutPendingRequest() {
+        doReturn(referenceResolverMock).when(testContextMock).getReferenceResolver();
+        doReturn(endpointMessageHandlerMock).when(referenceResolverMock).resolve(EndpointMessageHandler.class);
+
+        DefaultMessage response = new DefaultMessage("response");
+        assertThrows(SimulatorException.class, () -> fixture.send(response, testContextMock));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citrusframework.simulator.scenario.mapper;
+
+import org.citrusframework.message.DefaultMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ContentBasedJsonPathScenarioMapperTest {
+
+    @Test
+    void testFirstMatchingExpression() {
+        ContentBasedJsonPathScenarioMapper fixture = new ContentBasedJsonPathScenarioMapper()
+                .addJsonPathExpression("$.foo.name")
+                .addJsonPathExpression("$.bar.name")
+                .addJsonPathExpression("$.items[*].name");
+
+        assertEquals("FooScenario", fixture.extractMappingKey(new DefaultMessage("{ \"foo\": { \"name\": \"FooScenario\" } }")));
+        assertEquals("BarScenario", fixture.extractMappingKey(new DefaultMessage("{ \"bar\": { \"name\": \"BarScenario\" } }")));
+        assertNull(fixture.extractMappingKey(new DefaultMessage("{ \"items\": [] }")));
+        assertNull(fixture.extractMappingKey(new DefaultMessage("{ \"other\": \"FooScenario\" }")));
+    }
+
+    @Test
+    void testIndefinitePathMatchingSingleElement() {
+        ContentBasedJsonPathScenarioMapper fixture = new ContentBasedJsonPathScenarioMapper()
+                .addJsonPathExpression("$..scenario")
+                .addJsonPathExpression("$.items[?(@.type == 'foo')].name");
+
+        assertEquals("FooScenario", fixture.extractMappingKey(new DefaultMessage("{ \"request\": { \"scenario\": \"FooScenario\" } }")));
+        assertEquals("BarScenario", fixture.extractMappingKey(new DefaultMessage("{ \"items\": [ { \"type\": \"bar\", \"name\": \"Other\" }, { \"type\": \"foo\", \"name\": \"BarScenario\" } ] }")));
+        assertEquals("[\"Foo\",\"Bar\"]", fixture.extractMappingKey(new DefaultMessage("{ \"a\": { \"scenario\": \"Foo\" }, \"b\": { \"scenario\": \"Bar\" } }")));
+    }
+
+    @Test
+    void testNonJsonPayload() {
+        ContentBasedJsonPathScenarioMapper fixture = new ContentBasedJsonPathScenarioMapper()
+                .addJsonPathExpression("$.foo");
+
+        assertNull(fixture.extractMappingKey(new DefaultMessage("<foo>FooScenario</foo>")));
+        assertNull(fixture.extractMappingKey(new DefaultMessage("{ \"foo\": ")));
+        assertNull(fixture.extractMappingKey(new DefaultMessage("")));
+    }
+
+    @Test
+    void testCitrusJsonPathFunction() {
+        ContentBasedJsonPathScenarioMapper fixture = new ContentBasedJsonPathScenarioMapper()
+                .addJsonPathExpression("$.foo.size()");
+
+        assertEquals("2", fixture.extractMappingKey(new DefaultMessage("{ \"foo\": [ \"bar\", \"baz\" ] }")));
+    }
+
+    @Test
+    void testMappingKeyFilter() {
+        ContentBasedJsonPathScenarioMapper fixture = new ContentBasedJsonPathScenarioMapper()
+                .addJsonPathExpression("$.type")
+                .addJsonPathExpression("$.scenario")
+                .addMappingKeyFilter(key -> key.endsWith("Scenario"));
+
+        assertEquals("FooScenario", fixture.extractMappingKey(new DefaultMessage("{ \"type\": \"foo\", \"scenario\": \"FooScenario\" }")));
+        assertNull(fixture.extractMappingKey(new DefaultMessage("{ \"type\": \"foo\" }")));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citrusframework.simulator.scenario.mapper;
+
+import org.citrusframework.message.DefaultMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ContentBasedXPathScenarioMapperTest {
+
+    @Test
+    void testRootElementName() {
+        ContentBasedXPathScenarioMapper fixture = new ContentBasedXPathScenarioMapper()
+                .addXPathExpression("local-name(/*)");
+
+        assertEquals("FooRequest", fixture.extractMappingKey(new DefaultMessage("<?xml version=\"1.0\"?><!-- comment --><ns:FooRequest xmlns:ns=\"http://citrusframework.org/foo\"><name>bar</name></ns:FooRequest>")));
+        assertNull(fixture.extractMappingKey(new DefaultMessage("{ \"foo\": \"bar\" }")));
+        assertNull(fixture.extractMappingKey(new DefaultMessage("")));
+    }
+
+    @Test
+    void testNamespaceMapping() {
+        ContentBasedXPathScenarioMapper fixture = new ContentBasedXPathScenarioMapper()
+                .addNamespaceMapping("foo", "http://citrusframework.org/foo")
+                .addXPathExpression("/foo:FooRequest/foo:name");
+
+        assertEquals("bar", fixture.extractMappingKey(new DefaultMessage("<FooRequest xmlns=\"http://citrusframework.org/foo\"><name>bar</name></FooRequest>")));
+        assertNull(fixture.extractMappingKey(new DefaultMessage("<FooRequest xmlns=\"http://citrusframework.org/other\"><name>bar</name></FooRequest>")));
+    }
+
+    @Test
+    void testNamespaceDeclaredInMessageOnly() {
+        // the prefix is not mapped, so the expression is evaluated with the namespaces declared in the message
+        ContentBasedXPathScenarioMapper fixture = new ContentBasedXPathScenarioMapper()
+                .addXPathExpression("/msg:FooRequest/msg:name");
+
+        assertEquals("bar", fixture.extractMappingKey(new DefaultMessage("<msg:FooRequest xmlns:msg=\"http://citrusframework.org/foo\"><msg:name>bar</msg:name></msg:FooRequest>")));
+        assertNull(fixture.extractMappingKey(new DefaultMessage("<FooRequest><name>bar</name></FooRequest>")));
+    }
+
+    @Test
+    void testFirstMatchingExpression() {
+        ContentBasedXPathScenarioMapper fixture = new ContentBasedXPathScenarioMapper()
+                .addXPathExpression("/foo/name")
+                .addXPathExpression("/bar/name")
+                .addXPathExpression("local-name(/*)");
+
+        assertEquals("FooScenario", fixture.extractMappingKey(new DefaultMessage("<foo><name>FooScenario</name></foo>")));
+        assertEquals("BarScenario", fixture.extractMappingKey(new DefaultMessage("<bar><name>BarScenario</name></bar>")));
+        assertEquals("other", fixture.extractMappingKey(new DefaultMessage("<other><name>OtherScenario</name></other>")));
+    }
+
+    @Test
+    void testMappingKeyFilter() {
+        ContentBasedXPathScenarioMapper fixture = new ContentBasedXPathScenarioMapper()
+                .addXPathExpression("local-name(/*)")
+                .addXPathExpression("/foo/name")
+                .addMappingKeyFilter(key -> key.endsWith("Scenario"));
+
+        assertEquals("FooScenario", fixture.extractMappingKey(new DefaultMessage("<foo><name>FooScenario</name></foo>")));
+        assertNull(fixture.extractMappingKey(new DefaultMessage("<foo><name>bar</name></foo>")));
+    }
+}
@@ -103,6 +103,26 @@ class ScenarioMappersTest {
         assertThrows(CitrusRuntimeException.class, () -> mapperChain.getMappingKey(new DefaultMessage()));
     }
 
+    @Test
+    void testScenarioListReplaced() throws Exception {
+        ScenarioMappers mapperChain = ScenarioMappers.of(new HeaderMapper("foo"));
+
+        SimulatorConfigurationProperties configurationProperties = new SimulatorConfigurationProperties();
+        configurationProperties.setDefaultScenario(DEFAULT_SCENARIO);
+        mapperChain.setSimulatorConfigurationProperties(configurationProperties);
+
+        mapperChain.setScenarioList(Arrays.asList(new FooScenario()));
+        mapperChain.afterPropertiesSet();
+
+        assertEquals(mapperChain.getMappingKey(new DefaultMessage().setHeader("foo", FooScenario.SCENARIO_NAME)), FooScenario.SCENARIO_NAME);
+        assertEquals(mapperChain.getMappingKey(new DefaultMessage().setHeader("foo", BarScenario.SCENARIO_NAME)), DEFAULT_SCENARIO);
+
+        mapperChain.setScenarioList(Arrays.asList(new BarScenario()));
+
+        assertEquals(mapperChain.getMappingKey(new DefaultMessage().setHeader("foo", FooScenario.SCENARIO_NAME)), DEFAULT_SCENARIO);
+        assertEquals(mapperChain.getMappingKey(new DefaultMessage().setHeader("foo", BarScenario.SCENARIO_NAME)), BarScenario.SCENARIO_NAME);
+    }
+
     private class HeaderMapper implements ScenarioMapper {
 
         private final String name;
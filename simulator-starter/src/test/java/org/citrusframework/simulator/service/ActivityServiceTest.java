@@ -0,0 +1,283 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import org.citrusframework.TestAction;
+import org.citrusframework.TestCase;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties.PersistencePolicy;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.ScenarioAction;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityServiceTest {
+
+    @Mock
+    private ScenarioExecutionRepository scenarioExecutionRepositoryMock;
+
+    @Mock
+    private MessageService messageServiceMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+
+    @Mock
+    private TestCase testCaseMock;
+
+    @Mock
+    private TestAction testActionMock;
+
+    @Test
+    void shouldPersistAllExecutionsByDefault() {
+        ActivityService fixture = createFixture(PersistencePolicy.FULL);
+        doAnswer(invocation -> withId(invocation.getArgument(0), 1L)).when(scenarioExecutionRepositoryMock).save(any(ScenarioExecution.class));
+
+        ScenarioExecution scenarioExecution = fixture.createExecutionScenario("test", Collections.emptyList());
+
+        assertEquals(1L, scenarioExecution.getExecutionId());
+        assertTrue(fixture.isRecording(scenarioExecution.getExecutionId()));
+        assertEquals(1L, fixture.getPersistedExecutionCount());
+    }
+
+    @Test
+    void shouldWriteTestActionsWhenExecutionCompletes() {
+        ActivityService fixture = createFixture(PersistencePolicy.FULL);
+        doAnswer(invocation -> withId(invocation.getArgument(0), 1L)).when(scenarioExecutionRepositoryMock).save(any(ScenarioExecution.class));
+
+        ScenarioExecution scenarioExecution = fixture.createExecutionScenario("test", Collections.emptyList());
+
+        doReturn(Map.of(ScenarioExecution.EXECUTION_ID, 1L)).when(testCaseMock).getVariableDefinitions();
+        doReturn("receive").when(testActionMock).getName();
+
+        fixture.createTestAction(testCaseMock, testActionMock);
+        fixture.completeTestAction(testCaseMock, testActionMock);
+        fixture.createTestAction(testCaseMock, testActionMock);
+
+        ScenarioExecution running = fixture.getScenarioExecutionsByStatus(ScenarioExecution.Status.RUNNING).iterator().next();
+        assertEquals(1L, running.getExecutionId());
+        assertEquals(2, running.getScenarioActions().size());
+        verify(scenarioExecutionRepositoryMock, never()).findById(any());
+
+        doReturn(Optional.of(scenarioExecution)).when(scenarioExecutionRepositoryMock).findById(1L);
+        fixture.completeScenarioExecutionFailure(testCaseMock, new IllegalStateException());
+
+        verify(scenarioExecutionRepositoryMock).findById(1L);
+        assertEquals(ScenarioExecution.Status.FAILED, scenarioExecution.getStatus());
+        assertEquals(2, scenarioExecution.getScenarioActions().size());
+        assertNull(scenarioExecution.getScenarioActions().stream().skip(1).findFirst().orElseThrow().getEndDate());
+        assertTrue(fixture.getScenarioExecutionsByStatus(ScenarioExecution.Status.RUNNING).isEmpty());
+    }
+
+    @Test
+    void shouldTrackNestedTestActions() {
+        ActivityService fixture = createFixture(PersistencePolicy.FULL);
+        doAnswer(invocation -> withId(invocation.getArgument(0), 1L)).when(scenarioExecutionRepositoryMock).save(any(ScenarioExecution.class));
+
+        fixture.createExecutionScenario("test", Collections.emptyList());
+
+        TestAction sequentialActionMock = mock(TestAction.class);
+        doReturn(Map.of(ScenarioExecution.EXECUTION_ID, 1L)).when(testCaseMock).getVariableDefinitions();
+        doReturn("sequential").when(sequentialActionMock).getName();
+        doReturn("receive").when(testActionMock).getName();
+
+        fixture.createTestAction(testCaseMock, sequentialActionMock);
+        fixture.createTestAction(testCaseMock, testActionMock);
+        fixture.completeTestAction(testCaseMock, testActionMock);
+        fixture.createTestAction(testCaseMock, testActionMock);
+
+        List<ScenarioAction> running = List.copyOf(fixture.getRunningScenarioExecutions().iterator().next().getScenarioActions());
+        assertEquals(List.of("sequential", "receive", "receive"), running.stream().map(ScenarioAction::getName).toList());
+        assertNull(running.get(0).getEndDate());
+        assertNotNull(running.get(1).getEndDate());
+        assertNull(running.get(2).getEndDate());
+
+        fixture.completeTestAction(testCaseMock, testActionMock);
+        fixture.completeTestAction(testCaseMock, sequentialActionMock);
+
+        running = List.copyOf(fixture.getRunningScenarioExecutions().iterator().next().getScenarioActions());
+        assertTrue(running.stream().allMatch(action -> action.getEndDate() != null));
+    }
+
+    @Test
+    void shouldAbortExecutionThatHasNotCompleted() {
+        ActivityService fixture = createFixture(PersistencePolicy.FULL);
+        ScenarioExecution scenarioExecution = withId(new ScenarioExecution(), 1L);
+        doAnswer(invocation -> withId(invocation.getArgument(0), 1L)).when(scenarioExecutionRepositoryMock).save(any(ScenarioExecution.class));
+        doReturn(Optional.of(scenarioExecution)).when(scenarioExecutionRepositoryMock).findById(1L);
+
+        fixture.createExecutionScenario("test", Collections.emptyList());
+        fixture.abortScenarioExecution(1L, new RejectedExecutionException());
+        fixture.abortScenarioExecution(1L, new RejectedExecutionException());
+
+        assertEquals(ScenarioExecution.Status.FAILED, scenarioExecution.getStatus());
+        assertTrue(fixture.getRunningScenarioExecutions().isEmpty());
+        assertEquals(1L, fixture.getCompletedExecutionCount(ScenarioExecution.Status.FAILED));
+    }
+
+    @Test
+    void shouldDetectDuplicateMessagesOfRunningExecution() {
+        ActivityService fixture = createFixture(PersistencePolicy.FULL);
+        doAnswer(invocation -> withId(invocation.getArgument(0), 1L)).when(scenarioExecutionRepositoryMock).save(any(ScenarioExecution.class));
+
+        ScenarioExecution scenarioExecution = fixture.createExecutionScenario("test", Collections.emptyList());
+
+        Message message = new Message();
+        doReturn(Optional.of(scenarioExecution)).when(scenarioExecutionRepositoryMock).findById(1L);
+        doReturn(message).when(messageServiceMock).saveMessage(Message.Direction.INBOUND, "payload", "id", Collections.emptyMap());
+        doReturn(Optional.of(message)).when(messageServiceMock).findMessageByCitrusMessageId("ID");
+
+        assertSame(message, fixture.saveScenarioMessage(1L, Message.Direction.INBOUND, "payload", "id", Collections.emptyMap()));
+        assertSame(message, fixture.saveScenarioMessage(1L, Message.Direction.INBOUND, "payload", "ID", Collections.emptyMap()));
+
+        verify(messageServiceMock).saveMessage(Message.Direction.INBOUND, "payload", "id", Collections.emptyMap());
+        verify(scenarioExecutionRepositoryMock).findById(1L);
+    }
+
+    @Test
+    void shouldNotPersistExecutionsWhenOff() {
+        ActivityService fixture = createFixture(PersistencePolicy.OFF);
+
+        ScenarioExecution scenarioExecution = fixture.createExecutionScenario("test", Collections.emptyList());
+        assertTrue(scenarioExecution.getExecutionId() < 0);
+        assertFalse(fixture.isRecording(scenarioExecution.getExecutionId()));
+
+        doReturn(Map.of(ScenarioExecution.EXECUTION_ID, scenarioExecution.getExecutionId())).when(testCaseMock).getVariableDefinitions();
+        doReturn("receive").when(testActionMock).getName();
+
+        fixture.createTestAction(testCaseMock, testActionMock);
+        assertNull(fixture.saveScenarioMessage(scenarioExecution.getExecutionId(), Message.Direction.INBOUND, "payload", "id", Collections.emptyMap()));
+        fixture.completeScenarioExecutionFailure(testCaseMock, new IllegalStateException());
+
+        verifyNoInteractions(scenarioExecutionRepositoryMock, messageServiceMock);
+        assertEquals(1L, fixture.getCompletedExecutionCount(ScenarioExecution.Status.FAILED));
+        assertEquals(0L, fixture.getPersistedExecutionCount());
+    }
+
+    @Test
+    void shouldPersistSampledExecutions() {
+        ActivityService fixture = createFixture(PersistencePolicy.SAMPLING);
+        doAnswer(invocation -> withId(invocation.getArgument(0), 1L)).when(scenarioExecutionRepositoryMock).save(any(ScenarioExecution.class));
+
+        assertEquals(1L, fixture.createExecutionScenario("test", Collections.emptyList()).getExecutionId());
+        assertTrue(fixture.createExecutionScenario("test", Collections.emptyList()).getExecutionId() < 0);
+        assertEquals(1L, fixture.createExecutionScenario("test", Collections.emptyList()).getExecutionId());
+
+        assertEquals(2L, fixture.getPersistedExecutionCount());
+    }
+
+    @Test
+    void shouldDiscardSuccessfulExecutionsWithFailuresOnly() {
+        ActivityService fixture = createFixture(PersistencePolicy.FAILURES_ONLY);
+
+        ScenarioExecution scenarioExecution = fixture.createExecutionScenario("test", Collections.emptyList());
+        assertTrue(fixture.isRecording(scenarioExecution.getExecutionId()));
+
+        doReturn(Map.of(ScenarioExecution.EXECUTION_ID, scenarioExecution.getExecutionId())).when(testCaseMock).getVariableDefinitions();
+        fixture.completeScenarioExecutionSuccess(testCaseMock);
+
+        assertFalse(fixture.isRecording(scenarioExecution.getExecutionId()));
+        verify(scenarioExecutionRepositoryMock, never()).save(any(ScenarioExecution.class));
+        assertEquals(1L, fixture.getCompletedExecutionCount(ScenarioExecution.Status.SUCCESS));
+    }
+
+    @Test
+    void shouldPersistFailedExecutionsWithFailuresOnly() {
+        ActivityService fixture = createFixture(PersistencePolicy.FAILURES_ONLY);
+
+        ScenarioExecution scenarioExecution = fixture.createExecutionScenario("test", Collections.emptyList());
+        Long executionId = scenarioExecution.getExecutionId();
+
+        doReturn(Map.of(ScenarioExecution.EXECUTION_ID, executionId)).when(testCaseMock).getVariableDefinitions();
+        doReturn("receive").when(testActionMock).getName();
+        doAnswer(invocation -> new Message()).when(messageServiceMock).createMessage(Message.Direction.INBOUND, "payload", "id", Collections.emptyMap());
+
+        fixture.createTestAction(testCaseMock, testActionMock);
+        fixture.saveScenarioMessage(executionId, Message.Direction.INBOUND, "payload", "id", Collections.emptyMap());
+        fixture.completeTestAction(testCaseMock, testActionMock);
+        fixture.completeScenarioExecutionFailure(testCaseMock, new IllegalStateException());
+
+        ArgumentCaptor<ScenarioExecution> scenarioExecutionCaptor = ArgumentCaptor.forClass(ScenarioExecution.class);
+        verify(scenarioExecutionRepositoryMock).save(scenarioExecutionCaptor.capture());
+
+        ScenarioExecution persisted = scenarioExecutionCaptor.getValue();
+        assertNull(persisted.getExecutionId());
+        assertEquals(ScenarioExecution.Status.FAILED, persisted.getStatus());
+        assertEquals(1, persisted.getScenarioActions().size());
+        assertEquals(1, persisted.getScenarioMessages().size());
+        assertEquals(1L, fixture.getPersistedExecutionCount());
+    }
+
+    @Test
+    void shouldReleaseAbortedExecutionWithFailuresOnly() {
+        ActivityService fixture = createFixture(PersistencePolicy.FAILURES_ONLY);
+
+        ScenarioExecution scenarioExecution = fixture.createExecutionScenario("test", Collections.emptyList());
+        Long executionId = scenarioExecution.getExecutionId();
+        doAnswer(invocation -> new Message()).when(messageServiceMock).createMessage(Message.Direction.INBOUND, "payload", "id", Collections.emptyMap());
+        fixture.saveScenarioMessage(executionId, Message.Direction.INBOUND, "payload", "id", Collections.emptyMap());
+
+        fixture.abortScenarioExecution(executionId, new RejectedExecutionException());
+
+        assertFalse(fixture.isRecording(executionId));
+        assertNull(fixture.saveScenarioMessage(executionId, Message.Direction.INBOUND, "payload", "other", Collections.emptyMap()));
+
+        ArgumentCaptor<ScenarioExecution> scenarioExecutionCaptor = ArgumentCaptor.forClass(ScenarioExecution.class);
+        verify(scenarioExecutionRepositoryMock).save(scenarioExecutionCaptor.capture());
+        assertEquals(ScenarioExecution.Status.FAILED, scenarioExecutionCaptor.getValue().getStatus());
+        assertEquals(1, scenarioExecutionCaptor.getValue().getScenarioMessages().size());
+    }
+
+    private ActivityService createFixture(PersistencePolicy policy) {
+        SimulatorPersistenceConfigurationProperties persistenceConfiguration = new SimulatorPersistenceConfigurationProperties();
+        persistenceConfiguration.setPolicy(policy);
+        persistenceConfiguration.setSampleRate(2);
+        return new ActivityService(scenarioExecutionRepositoryMock, messageServiceMock, persistenceConfiguration, transactionManagerMock);
+    }
+
+    private static ScenarioExecution withId(ScenarioExecution scenarioExecution, Long executionId) {
+        scenarioExecution.setExecutionId(executionId);
+        return scenarioExecution;
+    }
+}
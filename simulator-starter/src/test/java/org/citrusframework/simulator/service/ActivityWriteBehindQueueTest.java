@@ -0,0 +1,167 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties.OverflowPolicy;
+import org.citrusframework.simulator.exception.SimulatorException;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActivityWriteBehindQueueTest {
+
+    private SimulatorPersistenceConfigurationProperties configuration;
+
+    private final List<List<ActivityEvent>> batches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void beforeEachSetup() {
+        configuration = new SimulatorPersistenceConfigurationProperties();
+        configuration.setWriteBehind(true);
+        configuration.setFlushInterval(50L);
+        configuration.setBatchSize(10);
+        configuration.setQueueCapacity(100);
+    }
+
+    @Test
+    void shouldWriteQueuedEventsInBatches() {
+        ActivityWriteBehindQueue fixture = new ActivityWriteBehindQueue(configuration, batches::add);
+        fixture.start();
+
+        for (long i = 0; i < 25; i++) {
+            fixture.submit(actionCompleted(i));
+        }
+
+        fixture.stop(5000L);
+
+        assertEquals(25, batches.stream().mapToInt(List::size).sum());
+        batches.forEach(batch -> assertTrue(batch.size() <= 10));
+        assertEquals(0, fixture.getQueuedCount());
+    }
+
+    @Test
+    void shouldDropEventsWhenQueueIsFull() throws InterruptedException {
+        configuration.setQueueCapacity(1);
+        configuration.setOverflowPolicy(OverflowPolicy.DROP);
+
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ActivityWriteBehindQueue fixture = new ActivityWriteBehindQueue(configuration, batch -> {
+            writing.countDown();
+            awaitQuietly(release);
+            batches.add(batch);
+        });
+        fixture.start();
+
+        fixture.submit(actionCompleted(1L));
+        writing.await();
+
+        fixture.submit(actionCompleted(2L));
+        fixture.submit(actionCompleted(3L));
+        assertEquals(1L, fixture.getDroppedCount());
+
+        release.countDown();
+        fixture.stop(5000L);
+
+        assertEquals(2, batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void shouldNeverDropExecutionResults() throws InterruptedException {
+        configuration.setQueueCapacity(1);
+        configuration.setOverflowPolicy(OverflowPolicy.DROP);
+
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ActivityWriteBehindQueue fixture = new ActivityWriteBehindQueue(configuration, batch -> {
+            writing.countDown();
+            awaitQuietly(release);
+            batches.add(batch);
+        });
+        fixture.start();
+
+        fixture.submit(actionCompleted(1L));
+        writing.await();
+        fixture.submit(actionCompleted(2L));
+
+        Thread submitter = new Thread(() -> fixture.submit(new ActivityEvent.ExecutionCompleted(2L, ScenarioExecution.Status.SUCCESS, Instant.now(), null)));
+        submitter.start();
+
+        release.countDown();
+        submitter.join(5000L);
+        fixture.stop(5000L);
+
+        assertEquals(0L, fixture.getDroppedCount());
+        assertEquals(3, batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void shouldDropOnlyFailingEventOfBatch() {
+        ActivityEvent failing = actionCompleted(3L);
+        ActivityWriteBehindQueue fixture = new ActivityWriteBehindQueue(configuration, batch -> {
+            if (batch.contains(failing)) {
+                throw new IllegalStateException("Duplicate citrus message id");
+            }
+            batches.add(batch);
+        });
+
+        // events are queued before the writer starts, so they end up in a single batch
+        for (long i = 0; i < 5; i++) {
+            fixture.submit(i == 3L ? failing : actionCompleted(i));
+        }
+        fixture.start();
+        fixture.stop(5000L);
+
+        List<ActivityEvent> written = batches.stream().flatMap(List::stream).toList();
+        assertEquals(4, written.size());
+        assertFalse(written.contains(failing));
+        assertEquals(1L, fixture.getFailedCount());
+        assertEquals(0L, fixture.getDroppedCount());
+    }
+
+    @Test
+    void shouldRejectEventsAfterStop() {
+        ActivityWriteBehindQueue fixture = new ActivityWriteBehindQueue(configuration, batches::add);
+        fixture.start();
+        fixture.stop(5000L);
+
+        assertThrows(SimulatorException.class, () -> fixture.submit(actionCompleted(1L)));
+    }
+
+    private static ActivityEvent actionCompleted(Long executionId) {
+        return new ActivityEvent.TestActionCompleted(executionId, "receive", Instant.now(), Instant.now());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.citrusframework.simulator.service;
 
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
 import org.citrusframework.simulator.model.Message;
 import org.citrusframework.simulator.model.MessageFilter;
 import org.citrusframework.simulator.repository.MessageRepository;
@@ -49,7 +50,7 @@ class MessageServiceTest {
     @BeforeEach
     void beforeEachSetup() {
         messageFilterCaptor = ArgumentCaptor.forClass(MessageFilter.class);
-        fixture = new MessageService(messageRepositoryMock, queryFilterAdapterFactory);
+        fixture = new MessageService(messageRepositoryMock, queryFilterAdapterFactory, new SimulatorPersistenceConfigurationProperties());
     }
 
     @Test
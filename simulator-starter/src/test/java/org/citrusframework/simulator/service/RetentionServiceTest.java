@@ -0,0 +1,148 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import org.citrusframework.simulator.config.SimulatorPersistenceConfigurationProperties;
+import org.citrusframework.simulator.model.MessagePayload;
+import org.citrusframework.simulator.repository.MessageRepository;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RetentionServiceTest {
+
+    @Mock
+    private ScenarioExecutionRepository scenarioExecutionRepositoryMock;
+
+    @Mock
+    private MessageRepository messageRepositoryMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+
+    private SimulatorPersistenceConfigurationProperties persistenceConfiguration;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        persistenceConfiguration = new SimulatorPersistenceConfigurationProperties();
+        persistenceConfiguration.setRetentionChunkSize(2);
+    }
+
+    @Test
+    void shouldDeleteExecutionsExceedingMaxAgeInChunks() {
+        persistenceConfiguration.setRetentionMaxAge(60000L);
+        RetentionService fixture = new RetentionService(scenarioExecutionRepositoryMock, messageRepositoryMock, persistenceConfiguration, transactionManagerMock);
+
+        doReturn(List.of(1L, 2L), List.of(3L), List.of()).when(scenarioExecutionRepositoryMock).findFinishedExecutionIds(any(Instant.class), eq(2));
+        doReturn(4).when(messageRepositoryMock).deleteByScenarioExecutionIds(List.of(1L, 2L));
+        doReturn(1).when(messageRepositoryMock).deleteByScenarioExecutionIds(List.of(3L));
+        doReturn(2).when(scenarioExecutionRepositoryMock).deleteByExecutionIds(List.of(1L, 2L));
+        doReturn(1).when(scenarioExecutionRepositoryMock).deleteByExecutionIds(List.of(3L));
+
+        assertEquals(3L, fixture.purge());
+        assertEquals(3L, fixture.getDeletedExecutionCount());
+        assertEquals(5L, fixture.getDeletedMessageCount());
+    }
+
+    @Test
+    void shouldDeleteOldestExecutionsExceedingMaxRows() {
+        persistenceConfiguration.setRetentionMaxRows(10);
+        RetentionService fixture = new RetentionService(scenarioExecutionRepositoryMock, messageRepositoryMock, persistenceConfiguration, transactionManagerMock);
+
+        doReturn(11L, 10L).when(scenarioExecutionRepositoryMock).count();
+        doReturn(List.of(1L)).when(scenarioExecutionRepositoryMock).findFinishedExecutionIds(isNull(), eq(1));
+        doReturn(1).when(scenarioExecutionRepositoryMock).deleteByExecutionIds(List.of(1L));
+
+        assertEquals(1L, fixture.purge());
+        verify(scenarioExecutionRepositoryMock, never()).findFinishedExecutionIds(any(Instant.class), eq(2));
+    }
+
+    @Test
+    void shouldDeleteUnreferencedPayloadFiles(@TempDir Path directory) throws IOException {
+        persistenceConfiguration.setRetentionMaxAge(60000L);
+        persistenceConfiguration.setPayloadStorage(MessagePayload.Storage.EXTERNAL);
+        RetentionService fixture = new RetentionService(scenarioExecutionRepositoryMock, messageRepositoryMock, persistenceConfiguration, transactionManagerMock);
+
+        Path unreferenced = Files.writeString(directory.resolve("unreferenced"), "payload");
+        Path referenced = Files.writeString(directory.resolve("referenced"), "payload");
+        Files.setLastModifiedTime(unreferenced, FileTime.fromMillis(0L));
+        Files.setLastModifiedTime(referenced, FileTime.fromMillis(0L));
+
+        doReturn(List.of(1L), List.of()).when(scenarioExecutionRepositoryMock).findFinishedExecutionIds(any(Instant.class), eq(2));
+        doReturn(List.of(unreferenced.toString(), referenced.toString())).when(messageRepositoryMock).findPayloadLocationsByScenarioExecutionIds(List.of(1L));
+        doReturn(1).when(scenarioExecutionRepositoryMock).deleteByExecutionIds(List.of(1L));
+        doReturn(false).when(messageRepositoryMock).existsByMessagePayloadLocation(unreferenced.toString());
+        doReturn(true).when(messageRepositoryMock).existsByMessagePayloadLocation(referenced.toString());
+
+        assertEquals(1L, fixture.purge());
+        assertFalse(Files.exists(unreferenced));
+        assertTrue(Files.exists(referenced));
+    }
+
+    @Test
+    void shouldDeleteRecentlyModifiedPayloadFilesOnLaterRun(@TempDir Path directory) throws IOException {
+        persistenceConfiguration.setRetentionMaxAge(60000L);
+        persistenceConfiguration.setPayloadStorage(MessagePayload.Storage.EXTERNAL);
+        RetentionService fixture = new RetentionService(scenarioExecutionRepositoryMock, messageRepositoryMock, persistenceConfiguration, transactionManagerMock);
+
+        Path recent = Files.writeString(directory.resolve("recent"), "payload");
+
+        doReturn(List.of(1L), List.of()).when(scenarioExecutionRepositoryMock).findFinishedExecutionIds(any(Instant.class), eq(2));
+        doReturn(List.of(recent.toString())).when(messageRepositoryMock).findPayloadLocationsByScenarioExecutionIds(List.of(1L));
+        doReturn(1).when(scenarioExecutionRepositoryMock).deleteByExecutionIds(List.of(1L));
+        doReturn(false).when(messageRepositoryMock).existsByMessagePayloadLocation(recent.toString());
+
+        assertEquals(1L, fixture.purge());
+        assertTrue(Files.exists(recent));
+
+        Files.setLastModifiedTime(recent, FileTime.fromMillis(0L));
+
+        assertEquals(0L, fixture.purge());
+        assertFalse(Files.exists(recent));
+    }
+
+    @Test
+    void shouldNotDeleteWithoutRetentionLimits() {
+        RetentionService fixture = new RetentionService(scenarioExecutionRepositoryMock, messageRepositoryMock, persistenceConfiguration, transactionManagerMock);
+
+        assertEquals(0L, fixture.purge());
+        verify(scenarioExecutionRepositoryMock, never()).deleteByExecutionIds(any());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import org.citrusframework.annotations.CitrusResource;
+import org.citrusframework.context.TestContext;
+import org.citrusframework.simulator.exception.SimulatorException;
+import org.citrusframework.simulator.scenario.AbstractSimulatorScenario;
+import org.citrusframework.simulator.scenario.Scenario;
+import org.citrusframework.simulator.scenario.ScenarioRunner;
+import org.citrusframework.spi.BindToRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ScenarioExecutionPlanTest {
+
+    @Test
+    void shouldResolveRunMethod() {
+        ScenarioExecutionPlan executionPlan = ScenarioExecutionPlan.of(RunnerScenario.class);
+
+        assertEquals(1, executionPlan.getRunMethodCount());
+        assertFalse(executionPlan.isRequiresInjection());
+
+        RunnerScenario scenario = new RunnerScenario();
+        ScenarioRunner runner = mock(ScenarioRunner.class);
+        executionPlan.invokeRunMethod(0, scenario, runner);
+
+        assertSame(runner, scenario.runner);
+    }
+
+    @Test
+    void shouldDetectInjectionPoints() {
+        ScenarioExecutionPlan executionPlan = ScenarioExecutionPlan.of(InjectedScenario.class);
+
+        assertTrue(executionPlan.isRequiresInjection());
+    }
+
+    @Test
+    void shouldDetectRegistryBindings() {
+        ScenarioExecutionPlan executionPlan = ScenarioExecutionPlan.of(RegistryScenario.class);
+
+        assertTrue(executionPlan.isRequiresInjection());
+        assertEquals(2, executionPlan.getInjectionPoints().size());
+    }
+
+    @Test
+    void shouldIgnoreSimulatorAnnotations() {
+        ScenarioExecutionPlan executionPlan = ScenarioExecutionPlan.of(NamedScenario.class);
+
+        assertFalse(executionPlan.isRequiresInjection());
+    }
+
+    @Test
+    void shouldRejectInvalidRunMethod() {
+        assertThrows(SimulatorException.class, () -> ScenarioExecutionPlan.of(InvalidScenario.class));
+    }
+
+    @Test
+    void shouldPropagateRuntimeExceptions() {
+        ScenarioExecutionPlan executionPlan = ScenarioExecutionPlan.of(FailingScenario.class);
+        FailingScenario scenario = new FailingScenario();
+        ScenarioRunner runner = mock(ScenarioRunner.class);
+
+        assertThrows(IllegalStateException.class, () -> executionPlan.invokeRunMethod(0, scenario, runner));
+    }
+
+    private static class RunnerScenario extends AbstractSimulatorScenario {
+
+        private ScenarioRunner runner;
+
+        @Override
+        public void run(ScenarioRunner runner) {
+            this.runner = runner;
+        }
+    }
+
+    private static class InjectedScenario extends RunnerScenario {
+
+        @CitrusResource
+        private TestContext context;
+    }
+
+    private static class RegistryScenario extends RunnerScenario {
+
+        @BindToRegistry
+        private final String greeting = "Hello";
+
+        @BindToRegistry(name = "farewell")
+        public String farewell() {
+            return "Goodbye";
+        }
+    }
+
+    @Scenario("NamedScenario")
+    private static class NamedScenario extends RunnerScenario {
+    }
+
+    private static class InvalidScenario extends AbstractSimulatorScenario {
+
+        public void run(ScenarioRunner runner, String name) {
+        }
+    }
+
+    private static class FailingScenario extends AbstractSimulatorScenario {
+
+        @Override
+        public void run(ScenarioRunner runner) {
+            throw new IllegalStateException("Scenario failed");
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import org.citrusframework.Citrus;
+import org.citrusframework.CitrusContext;
+import org.citrusframework.context.TestContext;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.exception.SimulatorException;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.scenario.AbstractSimulatorScenario;
+import org.citrusframework.simulator.scenario.ScenarioRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioExecutionServiceTest {
+
+    private static final Long EXECUTION_ID = 1L;
+
+    @Mock
+    private ActivityService activityServiceMock;
+
+    @Mock
+    private ApplicationContext applicationContextMock;
+
+    @Mock
+    private Citrus citrusMock;
+
+    @Mock
+    private CitrusContext citrusContextMock;
+
+    @Mock
+    private ObjectProvider<Executor> scenarioExecutorMock;
+
+    @Test
+    void shouldAbortExecutionRejectedByExecutor() {
+        Executor rejectingExecutor = command -> {
+            throw new RejectedExecutionException("Scenario executor is saturated");
+        };
+        mockScenarioExecution();
+        ScenarioExecutionService fixture = createFixture(rejectingExecutor);
+
+        RejectedExecutionException exception = assertThrows(RejectedExecutionException.class,
+                () -> fixture.run(new InvalidScenario(), "test", Collections.emptyList()));
+
+        verify(activityServiceMock).abortScenarioExecution(EXECUTION_ID, exception);
+        assertEquals(0, fixture.getQueuedCount());
+        assertEquals(0, fixture.getActiveCount());
+    }
+
+    @Test
+    void shouldAbortExecutionFailingBeforeTestCaseStarts() {
+        mockScenarioExecution();
+        doReturn(citrusContextMock).when(citrusMock).getCitrusContext();
+        doReturn(new TestContext()).when(citrusContextMock).createTestContext();
+        ScenarioExecutionService fixture = createFixture(Runnable::run);
+
+        assertSame(EXECUTION_ID, fixture.run(new InvalidScenario(), "test", Collections.emptyList()));
+
+        ArgumentCaptor<Throwable> cause = ArgumentCaptor.forClass(Throwable.class);
+        verify(activityServiceMock).abortScenarioExecution(eq(EXECUTION_ID), cause.capture());
+        assertInstanceOf(SimulatorException.class, cause.getValue());
+        assertEquals(0, fixture.getQueuedCount());
+        assertEquals(0, fixture.getActiveCount());
+    }
+
+    @Test
+    void shouldCountQueuedAndActiveExecutions() {
+        mockScenarioExecution();
+        List<Runnable> tasks = new ArrayList<>();
+        ScenarioExecutionService fixture = createFixture(tasks::add);
+
+        AtomicInteger queuedDuringExecution = new AtomicInteger(-1);
+        AtomicInteger activeDuringExecution = new AtomicInteger(-1);
+        doReturn(citrusContextMock).when(citrusMock).getCitrusContext();
+        doAnswer(invocation -> {
+            queuedDuringExecution.set(fixture.getQueuedCount());
+            activeDuringExecution.set(fixture.getActiveCount());
+            return new TestContext();
+        }).when(citrusContextMock).createTestContext();
+
+        fixture.run(new InvalidScenario(), "test", Collections.emptyList());
+
+        assertEquals(1, tasks.size());
+        assertEquals(1, fixture.getQueuedCount());
+        assertEquals(0, fixture.getActiveCount());
+
+        tasks.get(0).run();
+
+        assertEquals(0, queuedDuringExecution.get());
+        assertEquals(1, activeDuringExecution.get());
+        assertEquals(0, fixture.getQueuedCount());
+        assertEquals(0, fixture.getActiveCount());
+    }
+
+    @Test
+    void shouldRunScenariosOnCustomExecutorWithoutShuttingItDown() throws Exception {
+        mockScenarioExecution();
+        ExecutorService customExecutorMock = mock(ExecutorService.class);
+        ScenarioExecutionService fixture = createFixture(customExecutorMock);
+
+        fixture.run(new InvalidScenario(), "test", Collections.emptyList());
+        fixture.destroy();
+
+        verify(customExecutorMock).execute(any(Runnable.class));
+        verify(customExecutorMock, never()).shutdown();
+        verify(customExecutorMock, never()).shutdownNow();
+        verify(activityServiceMock, never()).abortScenarioExecution(eq(EXECUTION_ID), any());
+    }
+
+    @Test
+    void shouldShutdownOwnedExecutor() throws Exception {
+        mockScenarioExecution();
+        ScenarioExecutionService fixture = createFixture(null);
+
+        fixture.destroy();
+
+        RejectedExecutionException exception = assertThrows(RejectedExecutionException.class,
+                () -> fixture.run(new InvalidScenario(), "test", Collections.emptyList()));
+        verify(activityServiceMock).abortScenarioExecution(EXECUTION_ID, exception);
+    }
+
+    @Test
+    void shouldRejectVirtualThreadsBeforeJava21() {
+        assumeTrue(Runtime.version().feature() < 21, "Virtual threads are available on this Java version");
+
+        SimulatorConfigurationProperties configuration = new SimulatorConfigurationProperties();
+        configuration.setExecutorMode(SimulatorConfigurationProperties.ExecutorMode.VIRTUAL);
+
+        SimulatorException exception = assertThrows(SimulatorException.class, () -> createFixture(null, configuration));
+        assertInstanceOf(NoSuchMethodException.class, exception.getCause());
+    }
+
+    private void mockScenarioExecution() {
+        ScenarioExecution scenarioExecution = new ScenarioExecution();
+        scenarioExecution.setExecutionId(EXECUTION_ID);
+        doReturn(scenarioExecution).when(activityServiceMock).createExecutionScenario("test", Collections.emptyList());
+    }
+
+    private ScenarioExecutionService createFixture(Executor executor) {
+        return createFixture(executor, new SimulatorConfigurationProperties());
+    }
+
+    private ScenarioExecutionService createFixture(Executor executor, SimulatorConfigurationProperties configuration) {
+        doReturn(executor).when(scenarioExecutorMock).getIfAvailable();
+        return new ScenarioExecutionService(activityServiceMock, applicationContextMock, citrusMock,
+                configuration, scenarioExecutorMock);
+    }
+
+    private static class InvalidScenario extends AbstractSimulatorScenario {
+
+        public void run(ScenarioRunner runner, String name) {
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.service;
+
+import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.repository.TestResultRepository;
+import org.citrusframework.simulator.service.dto.TestResultByScenario;
+import org.citrusframework.simulator.service.dto.TestResultByStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+
+@ExtendWith(MockitoExtension.class)
+class TestResultStatisticsTest {
+
+    @Mock
+    private TestResultRepository testResultRepositoryMock;
+
+    private TestResultStatistics fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = new TestResultStatistics(testResultRepositoryMock);
+
+        doReturn(List.of(new TestResultByScenario("Test-1", 2L, 1L), new TestResultByScenario("Test-2", 0L, 3L)))
+            .when(testResultRepositoryMock).countByScenario();
+        fixture.load();
+    }
+
+    @Test
+    void shouldSeedCountsFromDatabase() {
+        assertEquals(new TestResultByStatus(2L, 4L), fixture.getCountByStatus());
+        assertEquals(List.of(new TestResultByScenario("Test-1", 2L, 1L), new TestResultByScenario("Test-2", 0L, 3L)),
+            fixture.getCountByScenario());
+    }
+
+    @Test
+    void shouldIncrementCountsOfRecordedTestResults() {
+        fixture.record(createTestResult("Test-1", TestResult.Status.SUCCESS));
+        fixture.record(createTestResult("Test-3", TestResult.Status.FAILURE));
+        fixture.record(createTestResult("Test-3", TestResult.Status.SKIP));
+
+        assertEquals(new TestResultByStatus(3L, 5L), fixture.getCountByStatus());
+        assertEquals(List.of(new TestResultByScenario("Test-1", 3L, 1L), new TestResultByScenario("Test-2", 0L, 3L), new TestResultByScenario("Test-3", 0L, 1L)),
+            fixture.getCountByScenario());
+    }
+
+    private static TestResult createTestResult(String testName, TestResult.Status status) {
+        return TestResult.builder()
+            .testName(testName)
+            .className(TestResultStatisticsTest.class.getSimpleName())
+            .status(status.getId())
+            .build();
+    }
+}
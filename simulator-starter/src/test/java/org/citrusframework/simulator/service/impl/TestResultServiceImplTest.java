@@ -2,6 +2,8 @@ package org.citrusframework.simulator.service.impl;
 
 import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.repository.TestResultRepository;
+import org.citrusframework.simulator.service.TestResultStatistics;
+import org.citrusframework.simulator.service.dto.TestResultByScenario;
 import org.citrusframework.simulator.service.dto.TestResultByStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -18,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class TestResultServiceImplTest {
@@ -25,11 +30,14 @@ class TestResultServiceImplTest {
     @Mock
     private TestResultRepository testResultRepository;
 
+    @Mock
+    private TestResultStatistics testResultStatistics;
+
     private TestResultServiceImpl fixture;
 
     @BeforeEach
     void beforeEachSetup() {
-        fixture = new TestResultServiceImpl(testResultRepository);
+        fixture = new TestResultServiceImpl(testResultRepository, testResultStatistics);
     }
 
     @Test
@@ -52,6 +60,7 @@ class TestResultServiceImplTest {
         TestResult result = fixture.save(testResult);
 
         assertEquals(testResult, result);
+        verify(testResultStatistics).record(testResult);
     }
 
     @Test
@@ -82,9 +91,19 @@ class TestResultServiceImplTest {
     @Test
     void testCountByStatus() {
         TestResultByStatus testResultByStatus = new TestResultByStatus(1L, 1L);
-        doReturn(testResultByStatus).when(testResultRepository).countByStatus();
+        doReturn(testResultByStatus).when(testResultStatistics).getCountByStatus();
 
         TestResultByStatus result = fixture.countByStatus();
         assertEquals(testResultByStatus, result);
+        verifyNoInteractions(testResultRepository);
+    }
+
+    @Test
+    void testCountByScenario() {
+        List<TestResultByScenario> testResultsByScenario = List.of(new TestResultByScenario("Test-1", 1L, 1L));
+        doReturn(testResultsByScenario).when(testResultStatistics).getCountByScenario();
+
+        List<TestResultByScenario> result = fixture.countByScenario();
+        assertEquals(testResultsByScenario, result);
     }
 }
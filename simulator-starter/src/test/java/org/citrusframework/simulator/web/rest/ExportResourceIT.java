@@ -0,0 +1,243 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.web.rest;
+
+import org.citrusframework.simulator.IntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageHeader;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.model.TestParameter;
+import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.repository.MessageRepository;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.repository.TestParameterRepository;
+import org.citrusframework.simulator.repository.TestResultRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link ExportResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ExportResourceIT {
+
+    private static final String EXPORTED_TEST_NAME = "exported-test";
+    private static final String EXPORTED_SCENARIO_NAME = "exported-scenario";
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ScenarioExecutionRepository scenarioExecutionRepository;
+
+    @Autowired
+    private TestParameterRepository testParameterRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restExportMockMvc;
+
+    @Test
+    @Transactional
+    void exportTestResultsMatchingCriteria() throws Exception {
+        TestResult first = testResultRepository.saveAndFlush(createTestResult(EXPORTED_TEST_NAME));
+        TestResult second = testResultRepository.saveAndFlush(createTestResult(EXPORTED_TEST_NAME));
+        testResultRepository.saveAndFlush(createTestResult("other-test"));
+
+        MvcResult result = restExportMockMvc
+            .perform(get("/api/export/test-results?testName.equals=" + EXPORTED_TEST_NAME))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn();
+
+        List<String> lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"id\":" + first.getId() + ","), lines.get(0));
+        assertTrue(lines.get(1).contains("\"id\":" + second.getId() + ","), lines.get(1));
+    }
+
+    @Test
+    @Transactional
+    void exportScenarioExecutionsWithoutAssociations() throws Exception {
+        ScenarioExecution scenarioExecution = new ScenarioExecution();
+        scenarioExecution.setScenarioName(EXPORTED_SCENARIO_NAME);
+        scenarioExecution.setStartDate(Instant.now());
+        scenarioExecution.setStatus(ScenarioExecution.Status.SUCCESS);
+        Message message = new Message();
+        message.setDirection(Message.Direction.INBOUND);
+        message.setPayload("<Export/>");
+        message.setCitrusMessageId("exported-scenario-message");
+        scenarioExecution.addScenarioMessage(message);
+        scenarioExecutionRepository.saveAndFlush(scenarioExecution);
+
+        MvcResult result = restExportMockMvc
+            .perform(get("/api/export/scenario-executions?scenarioName=" + EXPORTED_SCENARIO_NAME))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn();
+
+        List<String> lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"executionId\":" + scenarioExecution.getExecutionId() + ","), lines.get(0));
+        assertTrue(lines.get(0).contains("\"scenarioName\":\"" + EXPORTED_SCENARIO_NAME + "\""), lines.get(0));
+        assertFalse(lines.get(0).contains("scenarioMessages"), lines.get(0));
+        assertFalse(lines.get(0).contains("scenarioParameters"), lines.get(0));
+        assertFalse(lines.get(0).contains("scenarioActions"), lines.get(0));
+    }
+
+    @Test
+    @Transactional
+    void exportMessagesMatchingFilterGzipEncoded() throws Exception {
+        Instant createdDate = Instant.parse("2001-01-01T00:00:00Z");
+        Message message = new Message();
+        message.setDirection(Message.Direction.INBOUND);
+        message.setPayload("<Export/>");
+        message.setCitrusMessageId("exported-message");
+        message.setCreatedDate(createdDate);
+        messageRepository.saveAndFlush(message);
+
+        MvcResult result = restExportMockMvc
+            .perform(get("/api/export/messages?gzip=true&fromDate=" + createdDate + "&toDate=" + createdDate.plusSeconds(60)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+
+        List<String> lines = gunzip(result.getResponse().getContentAsByteArray()).lines().toList();
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"citrusMessageId\":\"exported-message\""), lines.get(0));
+        assertTrue(lines.get(0).contains("\"payload\":\"<Export/>\""), lines.get(0));
+    }
+
+    @Test
+    @Transactional
+    void exportMessagesWithoutQueryPerMessage() throws Exception {
+        Instant createdDate = Instant.parse("2003-03-03T00:00:00Z");
+        String exportUri = "/api/export/messages?fromDate=" + createdDate + "&toDate=" + createdDate.plusSeconds(60);
+
+        saveMessageWithHeaderAndExecution(createdDate);
+        long statementsForOneMessage = countStatements(exportUri, 1);
+
+        for (int i = 0; i < 4; i++) {
+            saveMessageWithHeaderAndExecution(createdDate);
+        }
+        long statementsForFiveMessages = countStatements(exportUri, 5);
+
+        assertEquals(statementsForOneMessage, statementsForFiveMessages);
+    }
+
+    @Test
+    @Transactional
+    void exportTestResultsWithoutQueryPerTestResult() throws Exception {
+        String exportUri = "/api/export/test-results?testName.equals=" + EXPORTED_TEST_NAME;
+
+        saveTestResultWithParameter();
+        long statementsForOneTestResult = countStatements(exportUri, 1);
+
+        for (int i = 0; i < 4; i++) {
+            saveTestResultWithParameter();
+        }
+        long statementsForFiveTestResults = countStatements(exportUri, 5);
+
+        assertEquals(statementsForOneTestResult, statementsForFiveTestResults);
+    }
+
+    private void saveMessageWithHeaderAndExecution(Instant createdDate) {
+        ScenarioExecution scenarioExecution = new ScenarioExecution();
+        scenarioExecution.setScenarioName(EXPORTED_SCENARIO_NAME);
+        scenarioExecution.setStartDate(createdDate);
+        scenarioExecution.setStatus(ScenarioExecution.Status.SUCCESS);
+        Message message = new Message();
+        message.setDirection(Message.Direction.INBOUND);
+        message.setPayload("<Export/>");
+        message.setCitrusMessageId("exported-message");
+        message.setCreatedDate(createdDate);
+        message.addHeader(new MessageHeader("operation", "export"));
+        scenarioExecution.addScenarioMessage(message);
+        scenarioExecutionRepository.saveAndFlush(scenarioExecution);
+    }
+
+    private void saveTestResultWithParameter() {
+        TestResult testResult = testResultRepository.saveAndFlush(createTestResult(EXPORTED_TEST_NAME));
+        testParameterRepository.saveAndFlush(new TestParameter("key", "value", testResult));
+    }
+
+    /**
+     * Exports the given entities from an empty persistence context and counts the prepared JDBC statements.
+     */
+    private long countStatements(String exportUri, int expectedLines) throws Exception {
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MvcResult result = restExportMockMvc
+            .perform(get(exportUri))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        List<String> lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(expectedLines, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.contains("\"headers\":[{") || line.contains("\"testParameters\":[{")), lines.toString());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static TestResult createTestResult(String testName) {
+        return TestResult.builder()
+            .status(TestResult.Status.SUCCESS.getId())
+            .testName(testName)
+            .className("ExportResourceIT")
+            .build();
+    }
+
+    private static String gunzip(byte[] content) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
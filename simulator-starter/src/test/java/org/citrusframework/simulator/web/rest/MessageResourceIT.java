@@ -0,0 +1,131 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.web.rest;
+
+import org.citrusframework.simulator.IntegrationTest;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.repository.MessageRepository;
+import org.citrusframework.simulator.web.util.PaginationUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link MessageResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+class MessageResourceIT {
+
+    private static final Instant FROM_DATE = Instant.parse("2002-02-02T00:00:00Z");
+
+    private static final String ENTITY_API_URL = "/api/messages?fromDate=" + FROM_DATE + "&toDate=" + FROM_DATE.plusSeconds(60);
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MockMvc restMessageMockMvc;
+
+    private Message first;
+    private Message second;
+    private Message third;
+
+    @BeforeEach
+    void initTest() {
+        first = createMessage("first", FROM_DATE);
+        second = createMessage("second", FROM_DATE.plusSeconds(1));
+        third = createMessage("third", FROM_DATE.plusSeconds(2));
+    }
+
+    @Test
+    @Transactional
+    void getMessagesByCursor() throws Exception {
+        messageRepository.saveAndFlush(first);
+        messageRepository.saveAndFlush(second);
+        messageRepository.saveAndFlush(third);
+
+        String nextCursor = restMessageMockMvc
+            .perform(get(ENTITY_API_URL + "&pageSize=2"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[0].messageId").value(third.getMessageId().intValue()))
+            .andExpect(jsonPath("$[0].citrusMessageId").value("third"))
+            .andExpect(jsonPath("$[0].payload").doesNotExist())
+            .andExpect(jsonPath("$[1].messageId").value(second.getMessageId().intValue()))
+            .andExpect(header().exists(PaginationUtil.HEADER_X_NEXT_CURSOR))
+            .andReturn()
+            .getResponse()
+            .getHeader(PaginationUtil.HEADER_X_NEXT_CURSOR);
+
+        restMessageMockMvc
+            .perform(get(ENTITY_API_URL + "&pageSize=2&cursor=" + nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].messageId").value(first.getMessageId().intValue()))
+            .andExpect(header().doesNotExist(PaginationUtil.HEADER_X_NEXT_CURSOR));
+    }
+
+    @Test
+    void getMessagesWithInvalidCursor() throws Exception {
+        restMessageMockMvc
+            .perform(get(ENTITY_API_URL + "&cursor=invalid"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getMessagePayload() throws Exception {
+        messageRepository.saveAndFlush(first);
+
+        restMessageMockMvc
+            .perform(get("/api/messages/{id}/payload", first.getMessageId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+            .andExpect(content().string("<Message/>"));
+    }
+
+    @Test
+    void getNonExistingMessagePayload() throws Exception {
+        restMessageMockMvc
+            .perform(get("/api/messages/{id}/payload", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    private static Message createMessage(String citrusMessageId, Instant createdDate) {
+        Message message = new Message();
+        message.setDirection(Message.Direction.INBOUND);
+        message.setPayload("<Message/>");
+        message.setCitrusMessageId(citrusMessageId);
+        message.setCreatedDate(createdDate);
+        return message;
+    }
+}
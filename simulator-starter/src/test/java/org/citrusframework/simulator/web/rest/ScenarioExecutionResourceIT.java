@@ -0,0 +1,104 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.web.rest;
+
+import org.citrusframework.simulator.IntegrationTest;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.web.util.PaginationUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link ScenarioExecutionResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+class ScenarioExecutionResourceIT {
+
+    private static final String SCENARIO_NAME = "browsed-scenario";
+
+    private static final Instant START_DATE = Instant.parse("2002-02-02T00:00:00Z");
+
+    private static final String ENTITY_API_URL = "/api/scenario-executions?scenarioName=" + SCENARIO_NAME
+        + "&fromDate=" + START_DATE + "&toDate=" + START_DATE.plusSeconds(60);
+
+    @Autowired
+    private ScenarioExecutionRepository scenarioExecutionRepository;
+
+    @Autowired
+    private MockMvc restScenarioExecutionMockMvc;
+
+    @Test
+    @Transactional
+    void getScenarioExecutionsByCursor() throws Exception {
+        // Executions starting at the same time are ordered by id
+        ScenarioExecution first = scenarioExecutionRepository.saveAndFlush(createScenarioExecution(START_DATE));
+        ScenarioExecution second = scenarioExecutionRepository.saveAndFlush(createScenarioExecution(START_DATE));
+        ScenarioExecution third = scenarioExecutionRepository.saveAndFlush(createScenarioExecution(START_DATE.plusSeconds(1)));
+
+        String nextCursor = restScenarioExecutionMockMvc
+            .perform(get(ENTITY_API_URL + "&pageSize=2"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[0].executionId").value(third.getExecutionId().intValue()))
+            .andExpect(jsonPath("$[0].scenarioName").value(SCENARIO_NAME))
+            .andExpect(jsonPath("$[0].status").value(ScenarioExecution.Status.SUCCESS.toString()))
+            .andExpect(jsonPath("$[0].scenarioMessages").doesNotExist())
+            .andExpect(jsonPath("$[1].executionId").value(second.getExecutionId().intValue()))
+            .andExpect(header().exists(PaginationUtil.HEADER_X_NEXT_CURSOR))
+            .andReturn()
+            .getResponse()
+            .getHeader(PaginationUtil.HEADER_X_NEXT_CURSOR);
+
+        restScenarioExecutionMockMvc
+            .perform(get(ENTITY_API_URL + "&pageSize=2&cursor=" + nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].executionId").value(first.getExecutionId().intValue()))
+            .andExpect(header().doesNotExist(PaginationUtil.HEADER_X_NEXT_CURSOR));
+    }
+
+    @Test
+    void getScenarioExecutionsWithInvalidCursor() throws Exception {
+        restScenarioExecutionMockMvc
+            .perform(get(ENTITY_API_URL + "&cursor=invalid"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static ScenarioExecution createScenarioExecution(Instant startDate) {
+        ScenarioExecution scenarioExecution = new ScenarioExecution();
+        scenarioExecution.setScenarioName(SCENARIO_NAME);
+        scenarioExecution.setStartDate(startDate);
+        scenarioExecution.setStatus(ScenarioExecution.Status.SUCCESS);
+        return scenarioExecution;
+    }
+}
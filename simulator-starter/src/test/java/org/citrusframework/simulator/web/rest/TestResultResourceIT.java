@@ -5,6 +5,7 @@ import org.citrusframework.simulator.IntegrationTest;
 import org.citrusframework.simulator.model.TestParameter;
 import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.repository.TestResultRepository;
+import org.citrusframework.simulator.service.TestResultService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +18,7 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import static org.citrusframework.simulator.web.rest.TestUtil.sameInstant;
 import static org.hamcrest.Matchers.hasItem;
@@ -64,6 +66,9 @@ class TestResultResourceIT {
     @Autowired
     private TestResultRepository testResultRepository;
 
+    @Autowired
+    private TestResultService testResultService;
+
     @Autowired
     private EntityManager em;
 
@@ -772,6 +777,35 @@ class TestResultResourceIT {
             .andExpect(content().string("0"));
     }
 
+    @Test
+    void countTestResultsByScenario() throws Exception {
+        // Test results are counted once their transaction has committed
+        TestResult successful = testResultService.save(createScenarioEntity(DEFAULT_STATUS));
+        TestResult failed = testResultService.save(createScenarioEntity(UPDATED_STATUS));
+
+        try {
+            restTestResultMockMvc
+                .perform(get(ENTITY_API_URL + "/count-by-scenario"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$[?(@.testName == 'count-by-scenario')].successful").value(hasItem(1)))
+                .andExpect(jsonPath("$[?(@.testName == 'count-by-scenario')].failed").value(hasItem(1)))
+                .andExpect(jsonPath("$[?(@.testName == 'count-by-scenario')].total").value(hasItem(2)));
+        } finally {
+            testResultRepository.deleteAll(List.of(successful, failed));
+        }
+    }
+
+    private static TestResult createScenarioEntity(TestResult.Status status) {
+        return TestResult.builder()
+            .status(status.getId())
+            .testName("count-by-scenario")
+            .className(DEFAULT_CLASS_NAME)
+            .createdDate(DEFAULT_CREATED_DATE)
+            .lastModifiedDate(DEFAULT_LAST_MODIFIED_DATE)
+            .build();
+    }
+
     @Test
     @Transactional
     void getNonExistingTestResult() throws Exception {